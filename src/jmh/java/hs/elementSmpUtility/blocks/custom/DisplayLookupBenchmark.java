@@ -0,0 +1,107 @@
+package hs.elementSmpUtility.blocks.custom;
+
+import hs.elementSmpUtility.testutil.Fakes;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.Entity;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Finding a pedestal's display on right-click when the pedestal shares an entity section with a mob farm.
+ * The old lookup asked the world for entities within 0.8 blocks of the display spot; here that query is a
+ * bounding-box test over the section's entity positions into a fresh list, a lower bound for the server's.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DisplayLookupBenchmark {
+
+    @Param({"0", "200", "2000"})
+    private int mobs;
+
+    private Location pedestal;
+    private DisplayRegistry registry;
+
+    private Entity[] entities;
+    private double[] xs;
+    private double[] ys;
+    private double[] zs;
+    private UUID displayId;
+
+    @Setup
+    public void spawn() {
+        World world = Fakes.world("world");
+        pedestal = new Location(world, 8, 64, 8);
+        Map<UUID, Entity> server = new HashMap<>();
+        registry = new DisplayRegistry(server::get);
+
+        SplittableRandom random = new SplittableRandom(10);
+        entities = new Entity[mobs + 1];
+        xs = new double[mobs + 1];
+        ys = new double[mobs + 1];
+        zs = new double[mobs + 1];
+        for (int i = 0; i < mobs; i++) {
+            entities[i] = Fakes.entity(new UUID(random.nextLong(), random.nextLong()));
+            xs[i] = random.nextDouble(0, 16);
+            ys[i] = random.nextDouble(64, 80);
+            zs[i] = random.nextDouble(0, 16);
+            server.put(entities[i].getUniqueId(), entities[i]);
+        }
+
+        // The display floats above the block centre
+        displayId = new UUID(random.nextLong(), random.nextLong());
+        Entity display = Fakes.entity(displayId);
+        entities[mobs] = display;
+        xs[mobs] = 8.5;
+        ys[mobs] = 65.2;
+        zs[mobs] = 8.5;
+        server.put(displayId, display);
+        registry.register(pedestal, display);
+    }
+
+    @Benchmark
+    public Entity registry() {
+        return registry.get(pedestal);
+    }
+
+    @Benchmark
+    public Entity nearbyQuery() {
+        double cx = pedestal.getBlockX() + 0.5;
+        double cy = pedestal.getBlockY() + 1.2;
+        double cz = pedestal.getBlockZ() + 0.5;
+
+        List<Entity> nearby = new ArrayList<>();
+        for (int i = 0; i < entities.length; i++) {
+            if (Math.abs(xs[i] - cx) <= 0.8 && Math.abs(ys[i] - cy) <= 0.8 && Math.abs(zs[i] - cz) <= 0.8) {
+                nearby.add(entities[i]);
+            }
+        }
+        for (Entity entity : nearby) {
+            if (entity.getUniqueId().equals(displayId)) {
+                return entity;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,111 @@
+package hs.elementSmpUtility.listeners;
+
+import hs.elementSmpUtility.storage.BlockDataStorage;
+import hs.elementSmpUtility.storage.backend.PdcStorageBackend;
+import hs.elementSmpUtility.storage.index.TypeIdTable;
+import hs.elementSmpUtility.testutil.Fakes;
+import org.bukkit.Chunk;
+import org.bukkit.Location;
+import org.bukkit.Material;
+import org.bukkit.World;
+import org.bukkit.plugin.Plugin;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Finding a chunk's pedestals when it loads: the old full-height block scan against the
+ * indexed positions. Block types come from a flat array, so the scan is a lower bound;
+ * on a server every position also costs a CraftBlock and a section palette read.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RestoreScanBenchmark {
+
+    private static final int MIN_Y = -64;
+    private static final int HEIGHT = 384;
+
+    @Param({"0", "8"})
+    private int pedestals;
+
+    private Material[] types;
+    private Chunk chunk;
+    private BlockDataStorage storage;
+
+    @Setup
+    public void createChunk() {
+        Plugin plugin = Fakes.plugin("elementsmputility");
+        World world = Fakes.world("world");
+        chunk = Fakes.chunk(world, 3, -7);
+        storage = new BlockDataStorage(plugin, new TypeIdTable(), new PdcStorageBackend(plugin).getCustomBlockStore());
+
+        // Stone up to sea level, air above
+        types = new Material[16 * 16 * HEIGHT];
+        for (int y = 0; y < HEIGHT; y++) {
+            Arrays.fill(types, y * 256, y * 256 + 256, y + MIN_Y < 63 ? Material.STONE : Material.AIR);
+        }
+
+        SplittableRandom random = new SplittableRandom(4);
+        for (int i = 0; i < pedestals; i++) {
+            int x = random.nextInt(16);
+            int y = random.nextInt(63, 80);
+            int z = random.nextInt(16);
+            types[index(x, y, z)] = Material.LODESTONE;
+            storage.saveCustomBlock(Fakes.block(chunk, chunk.getX() * 16 + x, y, chunk.getZ() * 16 + z), "pedestal");
+        }
+        storage.unloadChunk(chunk);
+        storage.loadChunk(chunk);
+    }
+
+    /**
+     * Every position of the chunk, as restorePedestalDisplays did before
+     */
+    @Benchmark
+    public int fullScan() {
+        int found = 0;
+        for (int y = MIN_Y; y < MIN_Y + HEIGHT; y++) {
+            for (int x = 0; x < 16; x++) {
+                for (int z = 0; z < 16; z++) {
+                    if (types[index(x, y, z)] == Material.LODESTONE) {
+                        found++;
+                    }
+                }
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Only the positions the block index lists as pedestals
+     */
+    @Benchmark
+    public int indexedPositions() {
+        int found = 0;
+        for (Location location : storage.getCachedBlocksInChunk(chunk, "pedestal")) {
+            if (types[index(location.getBlockX() & 15, location.getBlockY(), location.getBlockZ() & 15)] == Material.LODESTONE) {
+                found++;
+            }
+        }
+        return found;
+    }
+
+    private static int index(int x, int y, int z) {
+        return ((y - MIN_Y) << 8) | (z << 4) | x;
+    }
+}
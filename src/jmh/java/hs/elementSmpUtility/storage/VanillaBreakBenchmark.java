@@ -0,0 +1,144 @@
+package hs.elementSmpUtility.storage;
+
+import hs.elementSmpUtility.storage.backend.PdcStorageBackend;
+import hs.elementSmpUtility.storage.index.TypeIdTable;
+import hs.elementSmpUtility.testutil.Fakes;
+import org.bukkit.Chunk;
+import org.bukkit.NamespacedKey;
+import org.bukkit.World;
+import org.bukkit.block.Block;
+import org.bukkit.persistence.PersistentDataContainer;
+import org.bukkit.persistence.PersistentDataType;
+import org.bukkit.plugin.Plugin;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A player strip-mining 10k vanilla blocks in a chunk that holds custom blocks: the custom-block
+ * lookup each break does, against the old miss path that re-read and split the chunk's PDC string.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class VanillaBreakBenchmark {
+
+    private static final int BREAKS = 10_000;
+
+    @Param({"4", "64"})
+    private int customBlocks;
+
+    private BlockDataStorage storage;
+    private PersistentDataContainer legacyPdc;
+    private NamespacedKey legacyKey;
+    private Block[] broken;
+
+    @Setup
+    public void createChunk() {
+        Plugin plugin = Fakes.plugin("elementsmputility");
+        World world = Fakes.world("world");
+        Chunk chunk = Fakes.chunk(world, 12, -4);
+        storage = new BlockDataStorage(plugin, new TypeIdTable(), new PdcStorageBackend(plugin).getCustomBlockStore());
+        storage.loadChunk(chunk);
+
+        // The old layout: "world,x,y,z:id" entries joined with ';'
+        legacyPdc = Fakes.container();
+        legacyKey = new NamespacedKey(plugin, "custom_blocks");
+        StringBuilder legacy = new StringBuilder();
+
+        SplittableRandom random = new SplittableRandom(15);
+        int baseX = chunk.getX() * 16;
+        int baseZ = chunk.getZ() * 16;
+        Set<Long> custom = new HashSet<>();
+        for (int i = 0; i < customBlocks; i++) {
+            int x = baseX + random.nextInt(16);
+            int y = random.nextInt(-60, 120);
+            int z = baseZ + random.nextInt(16);
+            custom.add(key(x, y, z));
+            String id = i % 2 == 0 ? "pedestal" : "element_altar";
+            storage.saveCustomBlock(Fakes.block(chunk, x, y, z), id);
+            if (!legacy.isEmpty()) {
+                legacy.append(';');
+            }
+            legacy.append(world.getName()).append(',').append(x).append(',').append(y).append(',').append(z)
+                    .append(':').append(id);
+        }
+        legacyPdc.set(legacyKey, PersistentDataType.STRING, legacy.toString());
+
+        broken = new Block[BREAKS];
+        for (int i = 0; i < BREAKS; ) {
+            int x = baseX + random.nextInt(16);
+            int y = random.nextInt(-60, 60);
+            int z = baseZ + random.nextInt(16);
+            if (!custom.contains(key(x, y, z))) {
+                broken[i++] = Fakes.block(chunk, x, y, z);
+            }
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BREAKS)
+    public int indexedMiss() {
+        int found = 0;
+        for (Block block : broken) {
+            if (storage.getCustomBlockId(block) != null) {
+                found++;
+            }
+        }
+        return found;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BREAKS)
+    public int legacyStringMiss() {
+        int found = 0;
+        for (Block block : broken) {
+            if (legacyLookup(block) != null) {
+                found++;
+            }
+        }
+        return found;
+    }
+
+    /**
+     * The old loadSingleBlock: a miss never caches, so every break parses the whole string
+     */
+    private String legacyLookup(Block block) {
+        String locationKey = block.getWorld().getName() + "," + block.getX() + "," + block.getY() + "," + block.getZ();
+        String data = legacyPdc.get(legacyKey, PersistentDataType.STRING);
+        if (data == null || data.isEmpty()) {
+            return null;
+        }
+
+        for (String entry : data.split(";")) {
+            if (entry.isEmpty()) continue;
+
+            String[] parts = entry.split(":", 2);
+            if (parts.length == 2 && parts[0].equals(locationKey)) {
+                return parts[1];
+            }
+        }
+        return null;
+    }
+
+    private static long key(int x, int y, int z) {
+        return ((long) x << 40) ^ ((long) y << 20) ^ z;
+    }
+}
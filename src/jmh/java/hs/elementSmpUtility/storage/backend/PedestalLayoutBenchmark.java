@@ -0,0 +1,138 @@
+package hs.elementSmpUtility.storage.backend;
+
+import hs.elementSmpUtility.storage.codec.ChunkEntries;
+import hs.elementSmpUtility.storage.codec.ChunkEntryStore;
+import hs.elementSmpUtility.storage.codec.ItemEntriesDataType;
+import hs.elementSmpUtility.storage.codec.UuidEntriesDataType;
+import hs.elementSmpUtility.storage.index.BlockPos;
+import hs.elementSmpUtility.storage.index.LongObjectHashMap;
+import hs.elementSmpUtility.storage.pedestal.PedestalRecord;
+import hs.elementSmpUtility.storage.pedestal.StoredItem;
+import hs.elementSmpUtility.testutil.Fakes;
+import hs.elementSmpUtility.testutil.SampleItems;
+import org.bukkit.Chunk;
+import org.bukkit.NamespacedKey;
+import org.bukkit.World;
+import org.bukkit.plugin.Plugin;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pedestal chunk data as one records key, against the separate pedestal_items and pedestal_owners keys
+ * it replaced. The custom block key is the same in both layouts and left out.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PedestalLayoutBenchmark {
+
+    @Param({"8", "64"})
+    private int pedestals;
+
+    private PdcPedestalStore records;
+    private ChunkEntryStore<byte[]> items;
+    private ChunkEntryStore<UUID> owners;
+    private Chunk recordChunk;
+    private Chunk splitChunk;
+
+    private byte[] payload;
+    private UUID owner;
+    private long placedPos;
+
+    @Setup
+    public void storeChunks() {
+        Plugin plugin = Fakes.plugin("elementsmputility");
+        World world = Fakes.world("world");
+        recordChunk = Fakes.chunk(world, 3, 7);
+        splitChunk = Fakes.chunk(world, 3, 7);
+        records = new PdcPedestalStore(plugin);
+        items = new ChunkEntryStore<>(new NamespacedKey(plugin, "pedestal_items"),
+                ItemEntriesDataType.INSTANCE, value -> null, plugin.getLogger());
+        owners = new ChunkEntryStore<>(new NamespacedKey(plugin, "pedestal_owners"),
+                UuidEntriesDataType.INSTANCE, value -> null, plugin.getLogger());
+
+        // Gzipped item bytes are stored raw: a zero flag byte, then the bytes
+        byte[] serialized = SampleItems.serialized(SampleItems.Item.SWORD);
+        payload = new byte[serialized.length + 1];
+        System.arraycopy(serialized, 0, payload, 1, serialized.length);
+        owner = UUID.nameUUIDFromBytes(new byte[]{22});
+        ChunkEntries<byte[]> itemEntries = new ChunkEntries<>();
+        ChunkEntries<UUID> ownerEntries = new ChunkEntries<>();
+
+        for (int i = 0; i < pedestals; i++) {
+            long pos = BlockPos.pack(48 + (i & 15), 64 + (i >> 4), 112 + (i & 15));
+            records.put(recordChunk, pos, new PedestalRecord(owner, new StoredItem(payload)));
+            itemEntries.put(local(pos), payload);
+            ownerEntries.put(local(pos), owner);
+        }
+        items.write(splitChunk, itemEntries);
+        owners.write(splitChunk, ownerEntries);
+
+        placedPos = BlockPos.pack(63, 100, 127);
+    }
+
+    @Benchmark
+    public LongObjectHashMap<PedestalRecord> loadRecords() {
+        return records.loadChunk(recordChunk).join();
+    }
+
+    /**
+     * Both keys decoded into their own caches, as the item and owner storages did
+     */
+    @Benchmark
+    public int loadSplit() {
+        LongObjectHashMap<byte[]> itemCache = new LongObjectHashMap<>(4);
+        LongObjectHashMap<UUID> ownerCache = new LongObjectHashMap<>(4);
+        items.read(splitChunk).forEach((local, item) -> itemCache.put(toPos(local), item));
+        owners.read(splitChunk).forEach((local, uuid) -> ownerCache.put(toPos(local), uuid));
+        return itemCache.size() + ownerCache.size();
+    }
+
+    @Benchmark
+    public void placeRemoveRecords() {
+        records.put(recordChunk, placedPos, new PedestalRecord(owner, new StoredItem(payload)));
+        records.remove(recordChunk, placedPos);
+    }
+
+    @Benchmark
+    public void placeRemoveSplit() {
+        int local = local(placedPos);
+        ChunkEntries<byte[]> itemEntries = items.read(splitChunk);
+        itemEntries.put(local, payload);
+        items.write(splitChunk, itemEntries);
+        ChunkEntries<UUID> ownerEntries = owners.read(splitChunk);
+        ownerEntries.put(local, owner);
+        owners.write(splitChunk, ownerEntries);
+
+        itemEntries = items.read(splitChunk);
+        itemEntries.remove(local);
+        items.write(splitChunk, itemEntries);
+        ownerEntries = owners.read(splitChunk);
+        ownerEntries.remove(local);
+        owners.write(splitChunk, ownerEntries);
+    }
+
+    private static int local(long pos) {
+        return ChunkEntries.local(BlockPos.x(pos), BlockPos.y(pos), BlockPos.z(pos));
+    }
+
+    private static long toPos(int local) {
+        return BlockPos.fromLocal(3, 7, ChunkEntries.localX(local), ChunkEntries.localY(local),
+                ChunkEntries.localZ(local));
+    }
+}
@@ -0,0 +1,132 @@
+package hs.elementSmpUtility.storage.backend;
+
+import hs.elementSmpUtility.storage.index.BlockPos;
+import hs.elementSmpUtility.storage.pedestal.PedestalRecord;
+import hs.elementSmpUtility.storage.pedestal.StoredItem;
+import hs.elementSmpUtility.testutil.Fakes;
+import hs.elementSmpUtility.testutil.SampleItems;
+import org.bukkit.Chunk;
+import org.bukkit.World;
+import org.bukkit.plugin.Plugin;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pedestal throughput of each storage backend: placing and removing pedestals across 16 chunks,
+ * and loading chunks of 64 pedestals. A SQLite load queues behind every pending write, so the
+ * trailing load in the place/remove run waits until the writer has committed them.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StorageBackendBenchmark {
+
+    private static final int CHUNKS = 16;
+    private static final int PER_CHUNK = 64;
+
+    @Param({"pdc", "sqlite"})
+    private String backend;
+
+    private File dataFolder;
+    private StorageBackend storage;
+    private PedestalStore pedestals;
+    private Chunk[] loaded;
+    private Chunk[] placed;
+    private PedestalRecord record;
+
+    @Setup(Level.Trial)
+    public void open() throws Exception {
+        Plugin plugin = Fakes.plugin("elementsmputility");
+        World world = Fakes.world("world");
+        dataFolder = Files.createTempDirectory("storage-bench").toFile();
+        storage = switch (backend) {
+            case "pdc" -> new PdcStorageBackend(plugin);
+            // Results are handed over on the writer thread instead of the server thread
+            case "sqlite" -> new SqliteStorageBackend(plugin, new File(dataFolder, "storage.db"), Runnable::run);
+            default -> throw new IllegalArgumentException("Unknown backend: " + backend);
+        };
+        pedestals = storage.getPedestalStore();
+
+        // Gzipped item bytes are stored raw: a zero flag byte, then the bytes
+        byte[] serialized = SampleItems.serialized(SampleItems.Item.SWORD);
+        byte[] payload = new byte[serialized.length + 1];
+        System.arraycopy(serialized, 0, payload, 1, serialized.length);
+        record = new PedestalRecord(UUID.nameUUIDFromBytes(new byte[]{23}), new StoredItem(payload));
+
+        loaded = new Chunk[CHUNKS];
+        placed = new Chunk[CHUNKS];
+        for (int i = 0; i < CHUNKS; i++) {
+            loaded[i] = Fakes.chunk(world, i, 0);
+            placed[i] = Fakes.chunk(world, i, 1);
+            for (int j = 0; j < PER_CHUNK; j++) {
+                pedestals.put(loaded[i], pos(loaded[i], j), record);
+            }
+        }
+        pedestals.loadChunk(loaded[0]).get(30, TimeUnit.SECONDS);
+    }
+
+    @TearDown(Level.Trial)
+    public void close() throws IOException {
+        storage.close();
+        try (var files = Files.walk(dataFolder.toPath())) {
+            files.sorted((a, b) -> b.compareTo(a)).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    /**
+     * Time per chunk of 64 pedestals
+     */
+    @Benchmark
+    @OperationsPerInvocation(CHUNKS)
+    public int loadChunk() throws Exception {
+        int records = 0;
+        for (Chunk chunk : loaded) {
+            records += pedestals.loadChunk(chunk).get(30, TimeUnit.SECONDS).size();
+        }
+        return records;
+    }
+
+    /**
+     * Time per pedestal placed and later removed
+     */
+    @Benchmark
+    @OperationsPerInvocation(CHUNKS * PER_CHUNK)
+    public int placeRemove() throws Exception {
+        for (Chunk chunk : placed) {
+            for (int j = 0; j < PER_CHUNK; j++) {
+                pedestals.put(chunk, pos(chunk, j), record);
+            }
+        }
+        for (Chunk chunk : placed) {
+            for (int j = 0; j < PER_CHUNK; j++) {
+                pedestals.remove(chunk, pos(chunk, j));
+            }
+        }
+        return pedestals.loadChunk(placed[0]).get(30, TimeUnit.SECONDS).size();
+    }
+
+    private static long pos(Chunk chunk, int index) {
+        return BlockPos.fromLocal(chunk.getX(), chunk.getZ(), index & 15, 64 + (index >> 4), index & 15);
+    }
+}
@@ -0,0 +1,55 @@
+package hs.elementSmpUtility.storage.codec;
+
+import hs.elementSmpUtility.testutil.SampleItems;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Payload framing of typical pedestal items, built by {@link SampleItems} since serializing a real
+ * ItemStack needs a running server; sizes are printed once per trial.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ItemPayloadBenchmark {
+
+    @Param({"SWORD", "NETHERITE_CHESTPLATE", "SHULKER_BOX"})
+    private SampleItems.Item item;
+
+    private byte[] raw;
+    private byte[] payload;
+
+    @Setup
+    public void serialize() {
+        byte[] nbt = SampleItems.nbt(item);
+        raw = SampleItems.serialized(item);
+        payload = ItemPayloadCodec.wrap(raw);
+        System.out.printf("%n%s: NBT %d B, item bytes %d B, payload %d B (%s)%n", item, nbt.length, raw.length,
+                payload.length, payload[0] == 0 ? "raw" : "deflate");
+    }
+
+    @Benchmark
+    public byte[] encode() {
+        return ItemPayloadCodec.wrap(raw);
+    }
+
+    @Benchmark
+    public byte[] decode() throws IOException {
+        return ItemPayloadCodec.unwrap(payload);
+    }
+}
@@ -0,0 +1,146 @@
+package hs.elementSmpUtility.storage.codec;
+
+import hs.elementSmpUtility.storage.pedestal.PedestalJournal.PedestalKey;
+import hs.elementSmpUtility.storage.pedestal.PedestalRecord;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.yaml.snakeyaml.DumperOptions;
+import org.yaml.snakeyaml.Yaml;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Size and parse time of 50k owned pedestals, 8 per chunk with one owner per chunk, out of 500 players.
+ * Compares the binary backup file with the old pedestal_owners.yml, and the chunk records' owner palette
+ * with the old "world,x,y,z:uuid;" chunk string. The YAML side uses SnakeYAML directly, which is a lower
+ * bound for YamlConfiguration built on top of it. Sizes are printed once per trial.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OwnerStorageBenchmark {
+
+    private static final int PEDESTALS = 50_000;
+    private static final int PER_CHUNK = 8;
+    private static final int CHUNKS = PEDESTALS / PER_CHUNK;
+    private static final int PLAYERS = 500;
+
+    private byte[] backupFile;
+    private String yamlFile;
+    private byte[][] chunkRecords;
+    private String[] chunkStrings;
+
+    @Setup
+    public void createDataset() {
+        UUID[] players = new UUID[PLAYERS];
+        for (int i = 0; i < PLAYERS; i++) {
+            players[i] = UUID.nameUUIDFromBytes(("player" + i).getBytes(StandardCharsets.UTF_8));
+        }
+
+        Map<PedestalKey, UUID> owners = new HashMap<>();
+        Map<String, Object> yaml = new LinkedHashMap<>();
+        chunkRecords = new byte[CHUNKS][];
+        chunkStrings = new String[CHUNKS];
+        long recordBytes = 0;
+        long stringBytes = 0;
+
+        for (int chunk = 0; chunk < CHUNKS; chunk++) {
+            int chunkX = chunk % 80 - 40;
+            int chunkZ = chunk / 80 - 40;
+            UUID owner = players[chunk % PLAYERS];
+            ChunkEntries<PedestalRecord> entries = new ChunkEntries<>();
+            StringBuilder legacy = new StringBuilder();
+
+            for (int i = 0; i < PER_CHUNK; i++) {
+                int x = chunkX * 16 + i * 2;
+                int y = 64 + i;
+                int z = chunkZ * 16 + i;
+                owners.put(new PedestalKey("world", x, y, z), owner);
+                yaml.put("world," + x + "," + y + "," + z, owner.toString());
+                entries.put(ChunkEntries.local(x & 15, y, z & 15), new PedestalRecord(owner, null));
+                legacy.append("world,").append(x).append(',').append(y).append(',').append(z)
+                        .append(':').append(owner).append(';');
+            }
+
+            chunkRecords[chunk] = PedestalRecordEntriesDataType.INSTANCE.toPrimitive(entries, null);
+            chunkStrings[chunk] = legacy.toString();
+            recordBytes += chunkRecords[chunk].length;
+            stringBytes += chunkStrings[chunk].getBytes(StandardCharsets.UTF_8).length;
+        }
+
+        backupFile = OwnerBackupCodec.encode(owners);
+        DumperOptions options = new DumperOptions();
+        options.setDefaultFlowStyle(DumperOptions.FlowStyle.BLOCK);
+        yamlFile = new Yaml(options).dump(yaml);
+
+        System.out.printf("%nBackup file: binary %d B, YAML %d B%nChunk PDC: records %d B (%.1f per chunk), "
+                        + "strings %d B (%.1f per chunk)%n",
+                backupFile.length, yamlFile.getBytes(StandardCharsets.UTF_8).length,
+                recordBytes, (double) recordBytes / CHUNKS, stringBytes, (double) stringBytes / CHUNKS);
+    }
+
+    @Benchmark
+    public Map<PedestalKey, UUID> backupBinary() throws IOException {
+        return OwnerBackupCodec.decode(backupFile);
+    }
+
+    /**
+     * Load the YAML backup and turn every entry into a key and owner, as the old owner storage needed
+     */
+    @Benchmark
+    public Map<PedestalKey, UUID> backupYaml() {
+        Map<String, Object> loaded = new Yaml().load(yamlFile);
+        Map<PedestalKey, UUID> owners = new HashMap<>();
+        for (Map.Entry<String, Object> entry : loaded.entrySet()) {
+            String[] parts = entry.getKey().split(",");
+            owners.put(new PedestalKey(parts[0], Integer.parseInt(parts[1]), Integer.parseInt(parts[2]),
+                    Integer.parseInt(parts[3])), UUID.fromString((String) entry.getValue()));
+        }
+        return owners;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CHUNKS)
+    public int chunkRecords() {
+        int owned = 0;
+        for (byte[] data : chunkRecords) {
+            owned += PedestalRecordEntriesDataType.INSTANCE.fromPrimitive(data, null).size();
+        }
+        return owned;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CHUNKS)
+    public int chunkStrings() {
+        int owned = 0;
+        for (String data : chunkStrings) {
+            for (String entry : data.split(";")) {
+                if (entry.isEmpty()) continue;
+
+                String[] parts = entry.split(":", 2);
+                if (parts.length == 2 && UUID.fromString(parts[1]) != null) {
+                    owned++;
+                }
+            }
+        }
+        return owned;
+    }
+}
@@ -0,0 +1,145 @@
+package hs.elementSmpUtility.storage.index;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Packed-long block index against the old {@code "world,x,y,z"} string-keyed cache.
+ * The string lookups build their key per call, as the old cache did from each Location.
+ * Bytes per entry are printed once per trial: the index's backing arrays, and the retained heap
+ * of the string cache with its keys.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BlockIndexBenchmark {
+
+    private static final int QUERIES = 1024;
+    private static final String WORLD = "world";
+
+    @Param({"100000", "1000000"})
+    private int entries;
+
+    private LongIntHashMap index;
+    private Map<String, String> stringCache;
+
+    private int[] hitX, hitY, hitZ;
+    private int[] missX, missY, missZ;
+
+    @Setup
+    public void fill() {
+        SplittableRandom random = new SplittableRandom(1);
+        int[] xs = new int[entries];
+        int[] ys = new int[entries];
+        int[] zs = new int[entries];
+        for (int i = 0; i < entries; i++) {
+            xs[i] = random.nextInt(-20_000, 20_000);
+            ys[i] = random.nextInt(-64, 320);
+            zs[i] = random.nextInt(-20_000, 20_000);
+        }
+
+        index = new LongIntHashMap();
+        for (int i = 0; i < entries; i++) {
+            index.put(BlockPos.pack(xs[i], ys[i], zs[i]), i & 7);
+        }
+
+        long before = usedHeap();
+        stringCache = new HashMap<>();
+        for (int i = 0; i < entries; i++) {
+            stringCache.put(key(xs[i], ys[i], zs[i]), "pedestal");
+        }
+        long stringBytes = usedHeap() - before;
+
+        System.out.printf("%n%d entries: packed index %.1f B/entry, string cache %.1f B/entry%n",
+                entries, (double) index.estimateBytes() / entries, (double) stringBytes / entries);
+
+        hitX = new int[QUERIES];
+        hitY = new int[QUERIES];
+        hitZ = new int[QUERIES];
+        missX = new int[QUERIES];
+        missY = new int[QUERIES];
+        missZ = new int[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            int hit = random.nextInt(entries);
+            hitX[i] = xs[hit];
+            hitY[i] = ys[hit];
+            hitZ[i] = zs[hit];
+            // Outside the filled area, so never present
+            missX[i] = random.nextInt(30_000, 40_000);
+            missY[i] = random.nextInt(-64, 320);
+            missZ[i] = random.nextInt(30_000, 40_000);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(QUERIES)
+    public int packedHit() {
+        int sum = 0;
+        for (int i = 0; i < QUERIES; i++) {
+            sum += index.get(BlockPos.pack(hitX[i], hitY[i], hitZ[i]));
+        }
+        return sum;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(QUERIES)
+    public int packedMiss() {
+        int sum = 0;
+        for (int i = 0; i < QUERIES; i++) {
+            sum += index.get(BlockPos.pack(missX[i], missY[i], missZ[i]));
+        }
+        return sum;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(QUERIES)
+    public int stringHit() {
+        int sum = 0;
+        for (int i = 0; i < QUERIES; i++) {
+            String id = stringCache.get(key(hitX[i], hitY[i], hitZ[i]));
+            sum += id != null ? id.length() : -1;
+        }
+        return sum;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(QUERIES)
+    public int stringMiss() {
+        int sum = 0;
+        for (int i = 0; i < QUERIES; i++) {
+            String id = stringCache.get(key(missX[i], missY[i], missZ[i]));
+            sum += id != null ? id.length() : -1;
+        }
+        return sum;
+    }
+
+    private static String key(int x, int y, int z) {
+        return WORLD + "," + x + "," + y + "," + z;
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
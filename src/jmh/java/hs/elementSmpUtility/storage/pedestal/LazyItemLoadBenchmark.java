@@ -0,0 +1,107 @@
+package hs.elementSmpUtility.storage.pedestal;
+
+import hs.elementSmpUtility.storage.backend.PdcPedestalStore;
+import hs.elementSmpUtility.storage.codec.ItemPayloadCodec;
+import hs.elementSmpUtility.storage.index.BlockPos;
+import hs.elementSmpUtility.testutil.Fakes;
+import hs.elementSmpUtility.testutil.SampleItems;
+import org.bukkit.Chunk;
+import org.bukkit.plugin.Plugin;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Loading a chunk's pedestal records with items kept serialized, against decoding every item
+ * on load. A real decode ends in {@code ItemStack.deserializeBytes}, which needs a running server;
+ * the eager case stops after un-gzipping the item bytes, so it is a lower bound.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LazyItemLoadBenchmark {
+
+    @Param({"1", "16", "64"})
+    private int pedestals;
+
+    @Param({"SWORD", "SHULKER_BOX"})
+    private SampleItems.Item item;
+
+    private Chunk chunk;
+    private PedestalRecordStore records;
+
+    @Setup
+    public void storeChunk() {
+        Plugin plugin = Fakes.plugin("elementsmputility");
+        chunk = Fakes.chunk(Fakes.world("world"), 2, 5);
+        PdcPedestalStore store = new PdcPedestalStore(plugin);
+        records = new PedestalRecordStore(plugin, store);
+
+        // Gzipped item bytes are stored raw: a zero flag byte, then the bytes
+        byte[] serialized = SampleItems.serialized(item);
+        byte[] payload = new byte[serialized.length + 1];
+        System.arraycopy(serialized, 0, payload, 1, serialized.length);
+
+        for (int i = 0; i < pedestals; i++) {
+            long pos = BlockPos.pack(chunk.getX() * 16 + (i & 15), 64 + (i >> 4), chunk.getZ() * 16 + (i & 15));
+            // One owner each keeps the records distinct, so the codec cannot share one decoded payload
+            UUID owner = UUID.nameUUIDFromBytes(new byte[]{(byte) i});
+            store.put(chunk, pos, new PedestalRecord(owner, new StoredItem(payload)));
+        }
+    }
+
+    /**
+     * Attach the records with their items still serialized
+     */
+    @Benchmark
+    public int lazy() {
+        records.loadChunk(chunk);
+        int loaded = countItems();
+        records.unloadChunk(chunk);
+        return loaded;
+    }
+
+    /**
+     * Attach the records and decode every item right away
+     */
+    @Benchmark
+    public int eager() {
+        records.loadChunk(chunk);
+        int[] decoded = {0};
+        records.forEachInChunk(chunk, (pos, record) -> decoded[0] += inflate(record.getItem().getPayload()));
+        records.unloadChunk(chunk);
+        return decoded[0];
+    }
+
+    private int countItems() {
+        int[] count = {0};
+        records.forEachInChunk(chunk, (pos, record) -> count[0]++);
+        return count[0];
+    }
+
+    private static int inflate(byte[] payload) {
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(ItemPayloadCodec.unwrap(payload)))) {
+            return in.readAllBytes().length;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package hs.elementSmpUtility.storage.pedestal;
+
+import hs.elementSmpUtility.storage.FileWriteBehind;
+import hs.elementSmpUtility.storage.codec.OwnerBackupCodec;
+import hs.elementSmpUtility.storage.pedestal.PedestalJournal.PedestalKey;
+import hs.elementSmpUtility.testutil.Fakes;
+import org.bukkit.plugin.Plugin;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Main-thread cost of backing up one pedestal placement with many pedestals already stored.
+ * The synchronous case rewrites both backup files in full per placement, as the YAML backups
+ * did, but with the binary owner codec and raw item bytes; it is a lower bound for the old
+ * code, which also pushed every ItemStack through YAML.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PlacementBackupBenchmark {
+
+    private static final Plugin PLUGIN = Fakes.plugin("elementsmputility");
+    private static final long COMPACT_THRESHOLD = 4096L * 1024L;
+    private static final long SYNC_INTERVAL_MILLIS = 5_000L;
+
+    @Param({"10000"})
+    private int pedestals;
+
+    private Path directory;
+    private PedestalKey[] keys;
+    private UUID[] owners;
+    private byte[] item;
+
+    private final Map<PedestalKey, UUID> ownerBackup = new HashMap<>();
+    private final Map<PedestalKey, byte[]> itemBackup = new HashMap<>();
+    private FileWriteBehind ownerFile;
+    private FileWriteBehind itemFile;
+    private PedestalJournal journal;
+    private int next;
+
+    @Setup
+    public void createBackups() throws IOException {
+        directory = Files.createTempDirectory("placement-bench");
+        SplittableRandom random = new SplittableRandom(6);
+
+        item = new byte[180];
+        for (int i = 0; i < item.length; i++) {
+            item[i] = (byte) random.nextInt(256);
+        }
+        owners = new UUID[50];
+        for (int i = 0; i < owners.length; i++) {
+            owners[i] = new UUID(random.nextLong(), random.nextLong());
+        }
+        keys = new PedestalKey[pedestals];
+        for (int i = 0; i < pedestals; i++) {
+            keys[i] = new PedestalKey("world", random.nextInt(-5_000, 5_000), random.nextInt(-60, 200),
+                    random.nextInt(-5_000, 5_000));
+            ownerBackup.put(keys[i], owners[i % owners.length]);
+            itemBackup.put(keys[i], item);
+        }
+
+        ownerFile = new FileWriteBehind(PLUGIN, directory.resolve("pedestal_owners.dat").toFile(),
+                () -> OwnerBackupCodec.encode(ownerBackup), Runnable::run);
+        itemFile = new FileWriteBehind(PLUGIN, directory.resolve("pedestals.dat").toFile(),
+                this::encodeItems, Runnable::run);
+    }
+
+    /**
+     * A fresh journal per iteration, so appends queued on its writer never pile up across iterations
+     */
+    @Setup(Level.Iteration)
+    public void openJournal() {
+        journal = new PedestalJournal(PLUGIN, directory.toFile(), "pedestals", COMPACT_THRESHOLD, SYNC_INTERVAL_MILLIS);
+        for (PedestalKey key : keys) {
+            journal.put(key, item);
+        }
+    }
+
+    @TearDown(Level.Iteration)
+    public void closeJournal() {
+        journal.close();
+    }
+
+    @TearDown
+    public void deleteFiles() throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+        }
+    }
+
+    /**
+     * Mark the owner backup dirty and append the item to the journal
+     */
+    @Benchmark
+    public void writeBehind() {
+        PedestalKey key = nextKey();
+        ownerBackup.put(key, owners[next % owners.length]);
+        ownerFile.markDirty();
+        journal.put(key, item);
+    }
+
+    /**
+     * Rewrite both backup files before returning
+     */
+    @Benchmark
+    public void synchronousRewrite() {
+        PedestalKey key = nextKey();
+        ownerBackup.put(key, owners[next % owners.length]);
+        ownerFile.markDirty();
+        ownerFile.flushNow();
+        itemBackup.put(key, item);
+        itemFile.markDirty();
+        itemFile.flushNow();
+    }
+
+    private PedestalKey nextKey() {
+        next = (next + 1) % keys.length;
+        return keys[next];
+    }
+
+    private byte[] encodeItems() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(itemBackup.size() * (item.length + 32));
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            for (Map.Entry<PedestalKey, byte[]> entry : itemBackup.entrySet()) {
+                PedestalKey key = entry.getKey();
+                out.writeUTF(key.world());
+                out.writeInt(key.x());
+                out.writeInt(key.y());
+                out.writeInt(key.z());
+                out.writeInt(entry.getValue().length);
+                out.write(entry.getValue());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+}
@@ -0,0 +1,131 @@
+package hs.elementSmpUtility.testutil;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Item bytes shaped like {@code ItemStack.serializeAsBytes} output, which needs a running server:
+ * the NBT compound the server saves for an item, gzip-compressed.
+ */
+public final class SampleItems {
+
+    private static final int DATA_VERSION = 4440;
+
+    public enum Item { SWORD, NETHERITE_CHESTPLATE, SHULKER_BOX }
+
+    private SampleItems() {
+    }
+
+    /**
+     * The uncompressed NBT of an item
+     */
+    public static byte[] nbt(Item item) {
+        try {
+            return switch (item) {
+                case SWORD -> compound(out -> writeItem(out, "minecraft:diamond_sword", 1, 3, false));
+                case NETHERITE_CHESTPLATE -> compound(out -> writeItem(out, "minecraft:netherite_chestplate", 1, 5, true));
+                case SHULKER_BOX -> compound(SampleItems::writeShulkerBox);
+            };
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * The item as serializeAsBytes would return it
+     */
+    public static byte[] serialized(Item item) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (GZIPOutputStream out = new GZIPOutputStream(bytes)) {
+            out.write(nbt(item));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static void writeShulkerBox(DataOutputStream out) throws IOException {
+        writeString(out, "id", "minecraft:shulker_box");
+        writeInt(out, "count", 1);
+        beginCompound(out, "components");
+        beginList(out, "minecraft:container", 10, 27);
+        for (int slot = 0; slot < 27; slot++) {
+            writeInt(out, "slot", slot);
+            beginCompound(out, "item");
+            writeItem(out, slot % 3 == 0 ? "minecraft:netherite_sword" : "minecraft:enchanted_golden_apple",
+                    slot % 3 == 0 ? 1 : 64, slot % 3 == 0 ? 4 : 0, false);
+            out.writeByte(0);
+            out.writeByte(0);
+        }
+        out.writeByte(0);
+        writeInt(out, "DataVersion", DATA_VERSION);
+    }
+
+    private static void writeItem(DataOutputStream out, String id, int count, int enchantments, boolean trim)
+            throws IOException {
+        String[] names = {"minecraft:sharpness", "minecraft:unbreaking", "minecraft:mending",
+                "minecraft:protection", "minecraft:thorns"};
+        writeString(out, "id", id);
+        writeInt(out, "count", count);
+        if (enchantments > 0 || trim) {
+            beginCompound(out, "components");
+            if (enchantments > 0) {
+                beginCompound(out, "minecraft:enchantments");
+                for (int i = 0; i < enchantments; i++) {
+                    writeInt(out, names[i], 1 + i % 5);
+                }
+                out.writeByte(0);
+            }
+            if (trim) {
+                beginCompound(out, "minecraft:trim");
+                writeString(out, "material", "minecraft:netherite");
+                writeString(out, "pattern", "minecraft:silence");
+                out.writeByte(0);
+            }
+            writeString(out, "minecraft:custom_name", "{\"text\":\"Element Relic\",\"color\":\"gold\",\"italic\":false}");
+            out.writeByte(0);
+        }
+        writeInt(out, "DataVersion", DATA_VERSION);
+    }
+
+    private static byte[] compound(NbtBody body) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        beginCompound(out, "");
+        body.write(out);
+        out.writeByte(0);
+        return bytes.toByteArray();
+    }
+
+    private static void beginCompound(DataOutputStream out, String name) throws IOException {
+        out.writeByte(10);
+        out.writeUTF(name);
+    }
+
+    private static void beginList(DataOutputStream out, String name, int elementType, int size) throws IOException {
+        out.writeByte(9);
+        out.writeUTF(name);
+        out.writeByte(elementType);
+        out.writeInt(size);
+    }
+
+    private static void writeString(DataOutputStream out, String name, String value) throws IOException {
+        out.writeByte(8);
+        out.writeUTF(name);
+        out.writeUTF(value);
+    }
+
+    private static void writeInt(DataOutputStream out, String name, int value) throws IOException {
+        out.writeByte(3);
+        out.writeUTF(name);
+        out.writeInt(value);
+    }
+
+    @FunctionalInterface
+    private interface NbtBody {
+        void write(DataOutputStream out) throws IOException;
+    }
+}
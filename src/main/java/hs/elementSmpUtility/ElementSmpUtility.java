@@ -1,40 +1,83 @@
 package hs.elementSmpUtility;
 
 import hs.elementSmpUtility.blocks.CustomBlockManager;
+import hs.elementSmpUtility.blocks.custom.ArmorStandDisplayBackend;
+import hs.elementSmpUtility.blocks.custom.ItemDisplayBackend;
+import hs.elementSmpUtility.blocks.custom.PedestalBlock;
 import hs.elementSmpUtility.commands.CustomBlockCommand;
 import hs.elementSmpUtility.commands.PedestalCommand;
 import hs.elementSmpUtility.listeners.block.BlockBreakListener;
 import hs.elementSmpUtility.listeners.block.BlockPlacementListener;
 import hs.elementSmpUtility.listeners.ChunkListener;
+import hs.elementSmpUtility.listeners.DisplayRegistryListener;
+import hs.elementSmpUtility.listeners.OrphanDisplayListener;
 import hs.elementSmpUtility.listeners.PedestalInteractionListener;
+import hs.elementSmpUtility.listeners.PlayerNameListener;
+import hs.elementSmpUtility.listeners.StorageFlushListener;
+import hs.elementSmpUtility.metrics.Metrics;
 import hs.elementSmpUtility.recipes.PedestalRecipe;
 import hs.elementSmpUtility.storage.BlockDataStorage;
+import hs.elementSmpUtility.storage.FileWriteBehind;
+import hs.elementSmpUtility.storage.PlayerNameCache;
+import hs.elementSmpUtility.storage.backend.PdcStorageBackend;
+import hs.elementSmpUtility.storage.backend.SqliteStorageBackend;
+import hs.elementSmpUtility.storage.backend.StorageBackend;
 import hs.elementSmpUtility.storage.pedestal.PedestalDataStorage;
 import hs.elementSmpUtility.storage.pedestal.PedestalOwnerStorage;
+import hs.elementSmpUtility.storage.pedestal.PedestalRecordStore;
+import hs.elementSmpUtility.tasks.DisplayRestoreQueue;
+import hs.elementSmpUtility.tasks.StartupAudit;
 import org.bukkit.Bukkit;
 import org.bukkit.Chunk;
-import org.bukkit.Location;
-import org.bukkit.Material;
 import org.bukkit.World;
-import org.bukkit.block.Block;
-import org.bukkit.entity.ArmorStand;
-import org.bukkit.entity.Entity;
 import org.bukkit.plugin.java.JavaPlugin;
 
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+
 public final class ElementSmpUtility extends JavaPlugin {
 
     private CustomBlockManager blockManager;
+    private StorageBackend storageBackend;
     private BlockDataStorage storage;
     private PedestalDataStorage pedestalStorage;
     private PedestalOwnerStorage ownerStorage;
+    private PlayerNameCache nameCache;
+    private DisplayRestoreQueue restoreQueue;
+    private StartupAudit startupAudit;
+    private FileWriteBehind metricsExport;
 
     @Override
     public void onEnable() {
+        saveDefaultConfig();
+
         // Initialize managers
         blockManager = new CustomBlockManager(this);
-        storage = new BlockDataStorage(this, blockManager);
-        pedestalStorage = new PedestalDataStorage(this);
-        ownerStorage = new PedestalOwnerStorage(this);
+        storageBackend = createStorageBackend();
+        if (storageBackend == null) {
+            // Another backend would hide the stored data and split new writes away from it
+            getServer().getPluginManager().disablePlugin(this);
+            return;
+        }
+        getLogger().info("Using " + storageBackend.getName() + " storage backend");
+        storage = new BlockDataStorage(this, blockManager.getTypeIds(), storageBackend.getCustomBlockStore());
+        // Pedestal items and owners share one record per pedestal
+        PedestalRecordStore pedestalRecords = new PedestalRecordStore(this, storageBackend.getPedestalStore());
+        pedestalStorage = new PedestalDataStorage(this, pedestalRecords);
+        nameCache = new PlayerNameCache(this, getConfig().getInt("name-cache.max-size", 1024));
+        ownerStorage = new PedestalOwnerStorage(this, pedestalRecords, nameCache);
+        nameCache.warm(ownerStorage.getOwnerIndex().getOwners());
+        restoreQueue = new DisplayRestoreQueue(this,
+                getConfig().getDouble("display-restore.tick-budget-ms", 2.0));
+
+        // Select the pedestal display entity type
+        String displayBackend = getConfig().getString("display.backend", "item_display");
+        PedestalBlock.setBackend("armor_stand".equalsIgnoreCase(displayBackend)
+                ? new ArmorStandDisplayBackend()
+                : new ItemDisplayBackend());
+        getLogger().info("Using " + PedestalBlock.getBackend().getName() + " pedestal displays");
+        startupAudit = new StartupAudit(this, storage, getConfig().getInt("audit.removals-per-tick", 64));
 
         // Register recipes
         PedestalRecipe pedestalRecipe = new PedestalRecipe(this, blockManager);
@@ -45,105 +88,131 @@ public final class ElementSmpUtility extends JavaPlugin {
                 new BlockPlacementListener(blockManager, storage, ownerStorage), this);
         getServer().getPluginManager().registerEvents(
                 new BlockBreakListener(blockManager, storage, pedestalStorage, ownerStorage), this);
-        getServer().getPluginManager().registerEvents(
-                new ChunkListener(storage, pedestalStorage, ownerStorage), this);
+        ChunkListener chunkListener = new ChunkListener(storage, pedestalStorage, ownerStorage, restoreQueue);
+        getServer().getPluginManager().registerEvents(chunkListener, this);
+        restoreQueue.start(chunkListener::restorePedestalDisplays);
+
+        // Chunks loaded before enable (spawn chunks, reloads) never fire ChunkLoadEvent for us
+        for (World world : Bukkit.getWorlds()) {
+            for (Chunk chunk : world.getLoadedChunks()) {
+                chunkListener.loadChunk(chunk);
+            }
+        }
         getServer().getPluginManager().registerEvents(
                 new PedestalInteractionListener(blockManager, storage, pedestalStorage, ownerStorage), this);
+        getServer().getPluginManager().registerEvents(
+                new StorageFlushListener(pedestalStorage, ownerStorage), this);
+        getServer().getPluginManager().registerEvents(new PlayerNameListener(nameCache), this);
+        getServer().getPluginManager().registerEvents(
+                new DisplayRegistryListener(PedestalBlock.getRegistry()), this);
+        // Orphaned displays are cleaned up as entities load; chunks loaded before enable are
+        // covered by the startup audit scheduled below
+        getServer().getPluginManager().registerEvents(
+                new OrphanDisplayListener(this, storage, PedestalBlock.getRegistry()), this);
 
         // Register commands
         CustomBlockCommand blockCommand = new CustomBlockCommand(blockManager);
         getCommand("customblock").setExecutor(blockCommand);
         getCommand("customblock").setTabCompleter(blockCommand);
 
-        PedestalCommand pedestalCommand = new PedestalCommand(pedestalStorage, ownerStorage);
+        PedestalCommand pedestalCommand = new PedestalCommand(this, pedestalStorage, ownerStorage, restoreQueue,
+                startupAudit, nameCache);
         getCommand("pedestal").setExecutor(pedestalCommand);
         getCommand("pedestal").setTabCompleter(pedestalCommand);
 
+        registerMetrics();
+
         getLogger().info("ElementSmpUtility has been enabled!");
         getLogger().info("Registered " + blockManager.getAllBlockTypes().size() + " custom blocks");
 
-        // Clean up any orphaned armor stands from previous sessions (async to prevent startup lag)
-        Bukkit.getScheduler().runTaskLater(this, this::cleanupOrphanedArmorStands, 40L); // 2 seconds after startup
+        // Audit chunks that were already loaded for orphaned displays (scan runs off the main thread)
+        if (getConfig().getBoolean("audit.enabled", true)) {
+            Bukkit.getScheduler().runTaskLater(this, startupAudit::start, 40L); // 2 seconds after startup
+        }
     }
 
     @Override
     public void onDisable() {
-        // Clean up all pedestal displays on shutdown
-        getLogger().info("Cleaning up pedestal displays...");
-        cleanupAllPedestalDisplays();
+        if (restoreQueue != null) {
+            restoreQueue.stop();
+        }
+        if (startupAudit != null) {
+            startupAudit.stop();
+        }
+
+        // Pedestal displays are saved with their chunks and re-adopted on the next start
+
+        // Write any pending backup changes before the plugin goes away
+        if (pedestalStorage != null) {
+            pedestalStorage.shutdown();
+        }
+        if (ownerStorage != null) {
+            ownerStorage.shutdown();
+        }
+        if (storageBackend != null) {
+            storageBackend.close();
+        }
+        if (metricsExport != null) {
+            metricsExport.markDirty();
+            metricsExport.flushNow();
+        }
+        Metrics.clearGauges();
+
         getLogger().info("ElementSmpUtility has been disabled!");
     }
 
     /**
-     * Remove all pedestal display armor stands on server shutdown
-     * This ensures a clean slate on restart
+     * Register cache size gauges and start the optional Prometheus text file export
      */
-    private void cleanupAllPedestalDisplays() {
-        int removed = 0;
-        for (World world : Bukkit.getWorlds()) {
-            for (Entity entity : world.getEntities()) {
-                if (entity instanceof ArmorStand stand) {
-                    if (stand.hasMetadata("pedestal_display")) {
-                        stand.remove();
-                        removed++;
-                    } else if (!stand.isVisible() && stand.isSmall() && stand.isMarker()) {
-                        // Also remove invisible small marker stands (likely orphaned pedestal displays)
-                        stand.remove();
-                        removed++;
-                    }
-                }
-            }
-        }
-        if (removed > 0) {
-            getLogger().info("Removed " + removed + " pedestal displays on shutdown");
+    private void registerMetrics() {
+        Metrics.registerGauge("block_index_chunks", "Chunks held in the custom block index",
+                storage::getCachedChunkCount);
+        Metrics.registerGauge("pedestal_record_chunks", "Chunks held in the pedestal record cache",
+                pedestalStorage::getCachedChunkCount);
+        Metrics.registerGauge("pedestal_items_cached", "Pedestal items held in the record cache",
+                () -> pedestalStorage.getItemCacheCounts()[0]);
+        Metrics.registerGauge("pedestal_items_materialized", "Cached pedestal items with a built ItemStack",
+                () -> pedestalStorage.getItemCacheCounts()[1]);
+        Metrics.registerGauge("journal_entries", "Pedestals in the backup journal",
+                () -> pedestalStorage.getYmlStorage().getPedestalCount());
+        Metrics.registerGauge("owners_indexed", "Owners in the owner index",
+                () -> ownerStorage.getOwnerIndex().getOwners().size());
+        Metrics.registerGauge("display_entities", "Tracked pedestal display entities",
+                () -> PedestalBlock.getRegistry().size());
+        Metrics.registerGauge("name_cache_size", "Player names in the name cache", nameCache::size);
+        Metrics.registerGauge("restore_queue_depth", "Chunks waiting for display restoration",
+                restoreQueue::getQueueDepth);
+
+        if (getConfig().getBoolean("metrics.prometheus-file", false)) {
+            metricsExport = new FileWriteBehind(this, new File(getDataFolder(), "metrics.prom"),
+                    () -> Metrics.toPrometheus().getBytes(StandardCharsets.UTF_8));
+            long intervalTicks = Math.max(1L, getConfig().getLong("metrics.export-interval-seconds", 15L)) * 20L;
+            Bukkit.getScheduler().runTaskTimer(this, () -> {
+                metricsExport.markDirty();
+                metricsExport.flush();
+            }, intervalTicks, intervalTicks);
         }
     }
 
     /**
-     * Clean up orphaned armor stands that might exist from previous crashes/improper shutdowns
+     * Create the storage backend selected by storage.backend, or null if it cannot be used
      */
-    private void cleanupOrphanedArmorStands() {
-        getLogger().info("Scanning for orphaned pedestal displays...");
-        int removed = 0;
-
-        for (World world : Bukkit.getWorlds()) {
-            for (Chunk chunk : world.getLoadedChunks()) {
-                // Load chunk data
-                storage.loadChunk(chunk);
-
-                // Scan for lodestones
-                for (int x = 0; x < 16; x++) {
-                    for (int z = 0; z < 16; z++) {
-                        for (int y = world.getMinHeight(); y < world.getMaxHeight(); y++) {
-                            Block block = chunk.getBlock(x, y, z);
-
-                            if (block.getType() == Material.LODESTONE) {
-                                Location loc = block.getLocation();
-                                String blockId = storage.getCustomBlockIdCached(loc);
-
-                                // If it's NOT a pedestal, remove any nearby armor stands
-                                if (!"pedestal".equals(blockId)) {
-                                    for (Entity entity : loc.getWorld().getNearbyEntities(loc.clone().add(0.5, 0.5, 0.5), 1.0, 1.5, 1.0)) {
-                                        if (entity instanceof ArmorStand stand) {
-                                            if (!stand.isVisible() && stand.isSmall() && stand.isMarker()) {
-                                                stand.remove();
-                                                removed++;
-                                            }
-                                        }
-                                    }
-                                }
-                            }
-                        }
-                    }
-                }
+    private StorageBackend createStorageBackend() {
+        String backend = getConfig().getString("storage.backend", "pdc");
+        if ("pdc".equalsIgnoreCase(backend)) {
+            return new PdcStorageBackend(this);
+        }
+        if ("sqlite".equalsIgnoreCase(backend)) {
+            try {
+                return new SqliteStorageBackend(this, new File(getDataFolder(), "storage.db"));
+            } catch (SQLException e) {
+                getLogger().severe("Could not open SQLite storage, disabling the plugin: " + e.getMessage());
+                return null;
             }
         }
 
-        if (removed > 0) {
-            getLogger().info("Removed " + removed + " orphaned armor stands");
-        } else {
-            getLogger().info("No orphaned armor stands found");
-        }
+        getLogger().severe("Unknown storage.backend '" + backend + "', disabling the plugin");
+        return null;
     }
 
     public CustomBlockManager getBlockManager() {
@@ -161,4 +230,16 @@ public final class ElementSmpUtility extends JavaPlugin {
     public PedestalOwnerStorage getOwnerStorage() {
         return ownerStorage;
     }
+
+    public PlayerNameCache getNameCache() {
+        return nameCache;
+    }
+
+    public DisplayRestoreQueue getRestoreQueue() {
+        return restoreQueue;
+    }
+
+    public StartupAudit getStartupAudit() {
+        return startupAudit;
+    }
 }
\ No newline at end of file
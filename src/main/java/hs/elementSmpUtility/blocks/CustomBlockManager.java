@@ -1,8 +1,10 @@
 package hs.elementSmpUtility.blocks;
 
-import hs.elementSmpUtility.blocks.custom.PedestalBlock;
+import hs.elementSmpUtility.storage.index.TypeIdTable;
 import org.bukkit.Material;
 import org.bukkit.NamespacedKey;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.file.YamlConfiguration;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.persistence.PersistentDataType;
 import org.bukkit.plugin.java.JavaPlugin;
@@ -10,120 +12,149 @@ import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.format.TextColor;
 import net.kyori.adventure.text.format.TextDecoration;
 
+import java.io.File;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 
 public class CustomBlockManager {
 
+    private static final String BLOCKS_FILE = "blocks.yml";
+
     private final JavaPlugin plugin;
     private final NamespacedKey customBlockKey;
-    private final Map<String, CustomBlockType> blockTypes;
+
+    // Immutable snapshot of the registered types, replaced as a whole on reload
+    private volatile Registry registry;
+
+    // Small-int ids for block types, used by the block index instead of strings
+    private final TypeIdTable typeIds;
 
     public CustomBlockManager(JavaPlugin plugin) {
         this.plugin = plugin;
         this.customBlockKey = new NamespacedKey(plugin, "custom_block");
-        this.blockTypes = new HashMap<>();
-
-        registerDefaultBlocks();
-    }
-
-    private void registerDefaultBlocks() {
-        registerBlock(new CustomBlockType(
-                "reinforced_deepslate_bricks",
-                Material.DEEPSLATE_BRICKS,
-                Component.text("Reinforced Deepslate Bricks")
-                        .color(TextColor.color(0x5A5A5A))
-                        .decoration(TextDecoration.ITALIC, false),
-                true
-        ));
-
-        registerBlock(new CustomBlockType(
-                "reinforced_stone_bricks",
-                Material.STONE_BRICKS,
-                Component.text("Reinforced Stone Bricks")
-                        .color(TextColor.color(0x7F7F7F))
-                        .decoration(TextDecoration.ITALIC, false),
-                true
-        ));
-
-        registerBlock(new CustomBlockType(
-                "reinforced_obsidian",
-                Material.OBSIDIAN,
-                Component.text("Reinforced Obsidian")
-                        .color(TextColor.color(0x3C0A5A))
-                        .decoration(TextDecoration.ITALIC, false),
-                true
-        ));
-
-        registerBlock(new CustomBlockType(
-                "reinforced_prismarine",
-                Material.PRISMARINE_BRICKS,
-                Component.text("Reinforced Prismarine")
-                        .color(TextColor.color(0x63A295))
-                        .decoration(TextDecoration.ITALIC, false),
-                true
-        ));
-
-        registerBlock(new CustomBlockType(
-                "reinforced_deepslate_tiles",
-                Material.DEEPSLATE_TILES,
-                Component.text("Reinforced Deepslate Tiles")
-                        .color(TextColor.color(0x494949))
-                        .decoration(TextDecoration.ITALIC, false),
-                true
-        ));
-
-        registerBlock(new CustomBlockType(
-                "reinforced_deepslate_altar",
-                Material.CHISELED_DEEPSLATE,
-                Component.text("Reinforced Deepslate Altar")
-                        .color(TextColor.color(0x3A3A3A))
-                        .decoration(TextDecoration.ITALIC, false),
-                true
-        ));
-
-        registerBlock(new CustomBlockType(
-                "chiseled_deepslate",
-                Material.CHISELED_DEEPSLATE,
-                Component.text("Reinforced Chiseled Deepslate")
-                        .color(TextColor.color(0x434343))
-                        .decoration(TextDecoration.ITALIC, false),
-                true
-        ));
-
-        registerBlock(new CustomBlockType(
-                "polished_deepslate",
-                Material.POLISHED_DEEPSLATE,
-                Component.text("Reinforced Polished Deepslate")
-                        .color(TextColor.color(0x505050))
-                        .decoration(TextDecoration.ITALIC, false),
-                true
-        ));
-
-        // Pedestal is now BREAKABLE (false)
-        registerBlock(new CustomModelBlock(
-                "pedestal",
-                Material.LODESTONE,
-                Component.text("Pedestal")
-                        .color(TextColor.color(0xD4AF37))
-                        .decoration(TextDecoration.ITALIC, false)
-                        .decoration(TextDecoration.BOLD, true),
-                false, // Changed from true to false - now breakable!
-                1
-        ));
+        this.registry = new Registry(Map.of(), Map.of());
+        this.typeIds = new TypeIdTable();
+
+        reload();
+    }
+
+    /**
+     * Load block types from blocks.yml and swap in the new registry.
+     * Returns the number of types loaded, or -1 if the file could not be used (the current registry is kept).
+     */
+    public int reload() {
+        File file = new File(plugin.getDataFolder(), BLOCKS_FILE);
+        if (!file.exists()) {
+            plugin.saveResource(BLOCKS_FILE, false);
+        }
+
+        ConfigurationSection blocks = YamlConfiguration.loadConfiguration(file).getConfigurationSection("blocks");
+        if (blocks == null) {
+            plugin.getLogger().warning(BLOCKS_FILE + " has no 'blocks' section, keeping current block types");
+            return -1;
+        }
+
+        Map<String, CustomBlockType> types = new LinkedHashMap<>();
+        Map<String, ItemStack> prototypes = new HashMap<>();
+        for (String id : blocks.getKeys(false)) {
+            ConfigurationSection section = blocks.getConfigurationSection(id);
+            CustomBlockType blockType = section != null ? parseBlockType(id, section) : null;
+            if (blockType == null) {
+                continue;
+            }
+
+            types.put(id, blockType);
+            prototypes.put(id, buildPrototype(blockType));
+            getTypeId(id);
+        }
+
+        if (!types.containsKey("pedestal")) {
+            plugin.getLogger().warning(BLOCKS_FILE + " does not define 'pedestal', pedestal items cannot be created");
+        }
+
+        registry = new Registry(Collections.unmodifiableMap(types), Collections.unmodifiableMap(prototypes));
+        return types.size();
     }
 
+    private CustomBlockType parseBlockType(String id, ConfigurationSection section) {
+        Material material = Material.matchMaterial(section.getString("material", ""));
+        if (material == null || !material.isBlock()) {
+            plugin.getLogger().warning("Skipping custom block '" + id + "': invalid material " +
+                    section.getString("material"));
+            return null;
+        }
+
+        TextColor color = TextColor.fromHexString(section.getString("color", "#FFFFFF"));
+        Component displayName = Component.text(section.getString("name", id))
+                .color(color != null ? color : TextColor.color(0xFFFFFF))
+                .decoration(TextDecoration.ITALIC, false);
+        if (section.getBoolean("bold", false)) {
+            displayName = displayName.decoration(TextDecoration.BOLD, true);
+        }
+
+        boolean unbreakable = section.getBoolean("unbreakable", false);
+        int customModelData = section.getInt("custom-model-data", 0);
+
+        return customModelData > 0
+                ? new CustomModelBlock(id, material, displayName, unbreakable, customModelData)
+                : new CustomBlockType(id, material, displayName, unbreakable);
+    }
+
+    /**
+     * Register a block type at runtime (copy-on-write; replaced by the next reload)
+     */
     public void registerBlock(CustomBlockType blockType) {
-        blockTypes.put(blockType.getId(), blockType);
+        Registry current = registry;
+        Map<String, CustomBlockType> types = new LinkedHashMap<>(current.types());
+        Map<String, ItemStack> prototypes = new HashMap<>(current.prototypes());
+        types.put(blockType.getId(), blockType);
+        prototypes.put(blockType.getId(), buildPrototype(blockType));
+        getTypeId(blockType.getId());
+
+        registry = new Registry(Collections.unmodifiableMap(types), Collections.unmodifiableMap(prototypes));
+    }
+
+    /**
+     * Get the small-int id for a block id, assigning one if needed.
+     * Ids are never reused, so stored data for unregistered types still round-trips.
+     */
+    public int getTypeId(String blockId) {
+        return typeIds.getId(blockId);
+    }
+
+    /**
+     * Get the block id for a small-int id, or null if unknown
+     */
+    public String getBlockIdByTypeId(int typeId) {
+        return typeIds.getName(typeId);
+    }
+
+    /**
+     * The id table shared with the block index
+     */
+    public TypeIdTable getTypeIds() {
+        return typeIds;
     }
 
     public ItemStack createCustomBlock(String blockId, int amount) {
-        CustomBlockType blockType = blockTypes.get(blockId);
-        if (blockType == null) {
+        ItemStack prototype = registry.prototypes().get(blockId);
+        if (prototype == null) {
             return null;
         }
 
-        ItemStack item = new ItemStack(blockType.getMaterial(), amount);
+        ItemStack item = prototype.clone();
+        item.setAmount(amount);
+        return item;
+    }
+
+    /**
+     * Build the item for a block type once: name, tag, model data and lore
+     */
+    private ItemStack buildPrototype(CustomBlockType blockType) {
+        ItemStack item = new ItemStack(blockType.getMaterial(), 1);
         item.editMeta(meta -> {
             meta.displayName(blockType.getDisplayName());
             meta.getPersistentDataContainer().set(
@@ -137,7 +168,7 @@ public class CustomBlockManager {
             }
 
             if (blockType.isUnbreakable()) {
-                meta.lore(java.util.List.of(
+                meta.lore(List.of(
                         Component.text("Unbreakable")
                                 .color(TextColor.color(0xFF5555))
                                 .decoration(TextDecoration.ITALIC, false),
@@ -145,8 +176,8 @@ public class CustomBlockManager {
                                 .color(TextColor.color(0x888888))
                                 .decoration(TextDecoration.ITALIC, true)
                 ));
-            } else if ("pedestal".equals(blockId)) {
-                meta.lore(java.util.List.of(
+            } else if ("pedestal".equals(blockType.getId())) {
+                meta.lore(List.of(
                         Component.text("Display your most prized possessions")
                                 .color(TextColor.color(0xD4AF37))
                                 .decoration(TextDecoration.ITALIC, true)
@@ -157,30 +188,37 @@ public class CustomBlockManager {
         return item;
     }
 
-    public boolean isCustomBlock(ItemStack item) {
-        if (item == null || !item.hasItemMeta()) {
-            return false;
+    /**
+     * Get the registered block type of an item, or null for anything else.
+     * Reads the tag through the item's read-only PDC view, so no ItemMeta is cloned.
+     */
+    public CustomBlockType getCustomBlockType(ItemStack item) {
+        if (item == null || item.isEmpty()) {
+            return null;
         }
 
-        return item.getItemMeta().getPersistentDataContainer()
-                .has(customBlockKey, PersistentDataType.STRING);
+        String blockId = item.getPersistentDataContainer().get(customBlockKey, PersistentDataType.STRING);
+        return blockId != null ? registry.types().get(blockId) : null;
     }
 
-    public String getCustomBlockId(ItemStack item) {
-        if (!isCustomBlock(item)) {
-            return null;
-        }
+    public boolean isCustomBlock(ItemStack item) {
+        return getCustomBlockType(item) != null;
+    }
 
-        return item.getItemMeta().getPersistentDataContainer()
-                .get(customBlockKey, PersistentDataType.STRING);
+    public String getCustomBlockId(ItemStack item) {
+        CustomBlockType blockType = getCustomBlockType(item);
+        return blockType != null ? blockType.getId() : null;
     }
 
     public CustomBlockType getBlockType(String blockId) {
-        return blockTypes.get(blockId);
+        return registry.types().get(blockId);
     }
 
+    /**
+     * Current registered types (an immutable snapshot, no copy is made)
+     */
     public Map<String, CustomBlockType> getAllBlockTypes() {
-        return new HashMap<>(blockTypes);
+        return registry.types();
     }
 
     public NamespacedKey getCustomBlockKey() {
@@ -190,4 +228,10 @@ public class CustomBlockManager {
     public JavaPlugin getPlugin() {
         return plugin;
     }
+
+    /**
+     * Block types and their prototype items, always swapped together
+     */
+    private record Registry(Map<String, CustomBlockType> types, Map<String, ItemStack> prototypes) {
+    }
 }
\ No newline at end of file
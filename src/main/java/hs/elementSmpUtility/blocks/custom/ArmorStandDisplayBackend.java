@@ -0,0 +1,109 @@
+package hs.elementSmpUtility.blocks.custom;
+
+import org.bukkit.Location;
+import org.bukkit.Material;
+import org.bukkit.entity.ArmorStand;
+import org.bukkit.entity.Entity;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.util.EulerAngle;
+
+/**
+ * Original display backend: an invisible small marker armor stand wearing the item.
+ */
+public class ArmorStandDisplayBackend implements PedestalDisplayBackend {
+
+    // Different hover heights for items vs blocks
+    private static final double ITEM_HOVER_HEIGHT = 0.5;
+    private static final double BLOCK_HOVER_HEIGHT = 0.6;
+
+    // Different centering for items vs blocks
+    private static final double ITEM_CENTER_X = 0.5;
+    private static final double ITEM_CENTER_Y = -0.4;
+    private static final double ITEM_CENTER_Z = 0.7;
+
+    private static final double BLOCK_CENTER_X = 0.5;
+    private static final double BLOCK_CENTER_Y = -0.2;
+    private static final double BLOCK_CENTER_Z = 0.5;
+
+    @Override
+    public Entity spawn(Location pedestalLocation, ItemStack displayItem) {
+        Location spawnLoc = getCenteredLocation(pedestalLocation, isBlock(displayItem));
+        spawnLoc.setYaw(0);
+        spawnLoc.setPitch(0);
+
+        return pedestalLocation.getWorld().spawn(spawnLoc, ArmorStand.class, stand -> {
+            stand.setVisible(false);
+            stand.setGravity(false);
+            stand.setInvulnerable(true);
+            stand.setBasePlate(false);
+            stand.setArms(false);
+            stand.setSmall(true);
+            stand.setMarker(true);
+            stand.setCustomNameVisible(false);
+            stand.setPersistent(true); // Saved with the chunk and re-adopted by its PDC tag on load
+            stand.setCanPickupItems(false);
+            stand.setCollidable(false);
+
+            // Center the head pose
+            stand.setHeadPose(new EulerAngle(0, 0, 0));
+        });
+    }
+
+    @Override
+    public void update(Entity display, Location pedestalLocation, ItemStack displayItem) {
+        if (!(display instanceof ArmorStand stand)) {
+            return;
+        }
+
+        if (displayItem != null && displayItem.getType() != Material.AIR) {
+            // Update position if item type changed (block vs item)
+            stand.teleport(getCenteredLocation(pedestalLocation, isBlock(displayItem)));
+            stand.getEquipment().setHelmet(displayItem);
+        } else {
+            stand.getEquipment().setHelmet(null);
+        }
+    }
+
+    @Override
+    public ItemStack getItem(Entity display) {
+        if (display instanceof ArmorStand stand) {
+            ItemStack helmet = stand.getEquipment().getHelmet();
+            return (helmet != null && helmet.getType() != Material.AIR) ? helmet : null;
+        }
+        return null;
+    }
+
+    @Override
+    public boolean accepts(Entity display) {
+        return display instanceof ArmorStand;
+    }
+
+    @Override
+    public String getName() {
+        return "armor_stand";
+    }
+
+    private static boolean isBlock(ItemStack displayItem) {
+        return displayItem != null && displayItem.getType().isBlock();
+    }
+
+    /**
+     * Get the centered location for the armor stand display.
+     * Uses different positioning for blocks vs items.
+     */
+    private static Location getCenteredLocation(Location pedestalLocation, boolean isBlock) {
+        if (isBlock) {
+            return pedestalLocation.clone().add(
+                    BLOCK_CENTER_X,
+                    BLOCK_HOVER_HEIGHT + BLOCK_CENTER_Y,
+                    BLOCK_CENTER_Z
+            );
+        } else {
+            return pedestalLocation.clone().add(
+                    ITEM_CENTER_X,
+                    ITEM_HOVER_HEIGHT + ITEM_CENTER_Y,
+                    ITEM_CENTER_Z
+            );
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package hs.elementSmpUtility.blocks.custom;
+
+import hs.elementSmpUtility.metrics.jfr.EntityLookupEvent;
+import hs.elementSmpUtility.storage.index.BlockPos;
+import hs.elementSmpUtility.storage.index.ChunkBuckets;
+import hs.elementSmpUtility.storage.index.LongObjectHashMap;
+import org.bukkit.Bukkit;
+import org.bukkit.Chunk;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.Entity;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Two-way index between pedestal positions and their display entities.
+ * Lets display lookups resolve by UUID instead of querying nearby entities.
+ */
+public class DisplayRegistry {
+
+    // Per world and chunk: packed pedestal position -> display entity UUID
+    private final ChunkBuckets<LongObjectHashMap<UUID>> displays;
+    private final Map<UUID, Slot> slots;
+    private final Function<UUID, Entity> entities;
+
+    public DisplayRegistry() {
+        this(Bukkit::getEntity);
+    }
+
+    /**
+     * @param entities resolves a UUID to the live entity, or null
+     */
+    public DisplayRegistry(Function<UUID, Entity> entities) {
+        this.displays = new ChunkBuckets<>(() -> new LongObjectHashMap<>(4));
+        this.slots = new HashMap<>();
+        this.entities = entities;
+    }
+
+    /**
+     * Record the display entity of a pedestal, replacing any previous one
+     */
+    public void register(Location pedestalLocation, Entity display) {
+        UUID worldId = pedestalLocation.getWorld().getUID();
+        long pos = BlockPos.pack(pedestalLocation);
+
+        UUID previous = displays.getOrCreate(pedestalLocation).put(pos, display.getUniqueId());
+        if (previous != null) {
+            slots.remove(previous);
+        }
+        slots.put(display.getUniqueId(), new Slot(worldId, pos));
+    }
+
+    /**
+     * Get the live display entity of a pedestal, dropping stale entries
+     */
+    public Entity get(Location pedestalLocation) {
+        LongObjectHashMap<UUID> bucket = displays.get(pedestalLocation);
+        if (bucket == null) {
+            return null;
+        }
+
+        long pos = BlockPos.pack(pedestalLocation);
+        UUID entityId = bucket.get(pos);
+        if (entityId == null) {
+            return null;
+        }
+
+        EntityLookupEvent event = new EntityLookupEvent();
+        event.begin();
+        Entity entity = entities.apply(entityId);
+        if (event.shouldCommit()) {
+            event.kind = "uuid";
+            event.world = pedestalLocation.getWorld().getName();
+            event.x = pedestalLocation.getBlockX();
+            event.y = pedestalLocation.getBlockY();
+            event.z = pedestalLocation.getBlockZ();
+            event.entities = entity != null ? 1 : 0;
+            event.commit();
+        }
+
+        if (entity == null || !entity.isValid()) {
+            bucket.remove(pos);
+            slots.remove(entityId);
+            return null;
+        }
+        return entity;
+    }
+
+    /**
+     * Forget the display of a pedestal, returning its entity UUID (or null)
+     */
+    public UUID unregister(Location pedestalLocation) {
+        LongObjectHashMap<UUID> bucket = displays.get(pedestalLocation);
+        if (bucket == null) {
+            return null;
+        }
+
+        UUID entityId = bucket.remove(BlockPos.pack(pedestalLocation));
+        if (entityId != null) {
+            slots.remove(entityId);
+        }
+        return entityId;
+    }
+
+    /**
+     * Forget a display entity that left its world
+     */
+    public void unregister(UUID entityId) {
+        Slot slot = slots.remove(entityId);
+        if (slot == null) {
+            return;
+        }
+
+        LongObjectHashMap<UUID> bucket = displays.get(slot.worldId(), BlockPos.chunkKeyOf(slot.pos()));
+        if (bucket != null && entityId.equals(bucket.get(slot.pos()))) {
+            bucket.remove(slot.pos());
+        }
+    }
+
+    public boolean isDisplay(UUID entityId) {
+        return slots.containsKey(entityId);
+    }
+
+    /**
+     * Drop all entries of a chunk
+     */
+    public void unloadChunk(Chunk chunk) {
+        LongObjectHashMap<UUID> bucket = displays.remove(chunk);
+        if (bucket != null) {
+            bucket.forEach((pos, entityId) -> slots.remove(entityId));
+        }
+    }
+
+    /**
+     * Drop all entries of a world
+     */
+    public void unloadWorld(World world) {
+        UUID worldId = world.getUID();
+        displays.removeWorld(world);
+        slots.values().removeIf(slot -> slot.worldId().equals(worldId));
+    }
+
+    /**
+     * Snapshot of all registered display entity UUIDs
+     */
+    public List<UUID> getEntityIds() {
+        return new ArrayList<>(slots.keySet());
+    }
+
+    public int size() {
+        return slots.size();
+    }
+
+    private record Slot(UUID worldId, long pos) {
+    }
+}
@@ -0,0 +1,87 @@
+package hs.elementSmpUtility.blocks.custom;
+
+import org.bukkit.Location;
+import org.bukkit.Material;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.ItemDisplay;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.util.Transformation;
+import org.joml.AxisAngle4f;
+import org.joml.Vector3f;
+
+/**
+ * Display backend built on ItemDisplay entities, which have no AI, equipment, collision or gravity.
+ * The entity sits at the pedestal's top center; block vs item placement is a transformation,
+ * so switching item types never needs a teleport.
+ */
+public class ItemDisplayBackend implements PedestalDisplayBackend {
+
+    // Hover offsets above the pedestal's top face
+    private static final float ITEM_HOVER_HEIGHT = 0.45f;
+    private static final float BLOCK_HOVER_HEIGHT = 0.35f;
+
+    private static final float ITEM_SCALE = 0.6f;
+    private static final float BLOCK_SCALE = 0.5f;
+
+    private static final Transformation ITEM_TRANSFORM = transformation(ITEM_HOVER_HEIGHT, ITEM_SCALE);
+    private static final Transformation BLOCK_TRANSFORM = transformation(BLOCK_HOVER_HEIGHT, BLOCK_SCALE);
+
+    @Override
+    public Entity spawn(Location pedestalLocation, ItemStack displayItem) {
+        Location spawnLoc = pedestalLocation.clone().add(0.5, 1.0, 0.5);
+        spawnLoc.setYaw(0);
+        spawnLoc.setPitch(0);
+
+        return pedestalLocation.getWorld().spawn(spawnLoc, ItemDisplay.class, display -> {
+            display.setItemDisplayTransform(ItemDisplay.ItemDisplayTransform.FIXED);
+            display.setTransformation(transformationFor(displayItem));
+            display.setPersistent(true); // Saved with the chunk and re-adopted by its PDC tag on load
+        });
+    }
+
+    @Override
+    public void update(Entity display, Location pedestalLocation, ItemStack displayItem) {
+        if (!(display instanceof ItemDisplay itemDisplay)) {
+            return;
+        }
+
+        if (displayItem != null && displayItem.getType() != Material.AIR) {
+            itemDisplay.setTransformation(transformationFor(displayItem));
+            itemDisplay.setItemStack(displayItem);
+        } else {
+            itemDisplay.setItemStack(null);
+        }
+    }
+
+    @Override
+    public ItemStack getItem(Entity display) {
+        if (display instanceof ItemDisplay itemDisplay) {
+            ItemStack item = itemDisplay.getItemStack();
+            return (item != null && item.getType() != Material.AIR) ? item : null;
+        }
+        return null;
+    }
+
+    @Override
+    public boolean accepts(Entity display) {
+        return display instanceof ItemDisplay;
+    }
+
+    @Override
+    public String getName() {
+        return "item_display";
+    }
+
+    private static Transformation transformationFor(ItemStack displayItem) {
+        return displayItem != null && displayItem.getType().isBlock() ? BLOCK_TRANSFORM : ITEM_TRANSFORM;
+    }
+
+    private static Transformation transformation(float hoverHeight, float scale) {
+        return new Transformation(
+                new Vector3f(0f, hoverHeight, 0f),
+                new AxisAngle4f(),
+                new Vector3f(scale, scale, scale),
+                new AxisAngle4f()
+        );
+    }
+}
@@ -0,0 +1,36 @@
+package hs.elementSmpUtility.blocks.custom;
+
+import org.bukkit.Location;
+import org.bukkit.entity.Entity;
+import org.bukkit.inventory.ItemStack;
+
+/**
+ * Spawns and updates the entity that shows a pedestal's item.
+ */
+public interface PedestalDisplayBackend {
+
+    /**
+     * Spawns a new display entity for the pedestal.
+     */
+    Entity spawn(Location pedestalLocation, ItemStack displayItem);
+
+    /**
+     * Shows the item on an existing display, or clears it when the item is null.
+     */
+    void update(Entity display, Location pedestalLocation, ItemStack displayItem);
+
+    /**
+     * Gets the item shown by a display, or null if it is empty.
+     */
+    ItemStack getItem(Entity display);
+
+    /**
+     * Whether an entity is of the type this backend spawns.
+     */
+    boolean accepts(Entity display);
+
+    /**
+     * Name used for this backend in config.yml.
+     */
+    String getName();
+}
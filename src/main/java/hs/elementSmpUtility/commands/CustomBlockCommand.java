@@ -32,14 +32,20 @@ public class CustomBlockCommand implements CommandExecutor, TabCompleter {
     public boolean onCommand(@NotNull CommandSender sender, @NotNull Command command,
                              @NotNull String label, @NotNull String[] args) {
 
-        if (!(sender instanceof Player player)) {
-            sender.sendMessage(Component.text("Only players can use this command!")
+        if (!sender.hasPermission("elementsmp.customblock")) {
+            sender.sendMessage(Component.text("You don't have permission to use this command!")
                     .color(TextColor.color(0xFF5555)));
             return true;
         }
 
-        if (!player.hasPermission("elementsmp.customblock")) {
-            player.sendMessage(Component.text("You don't have permission to use this command!")
+        // Reload works from the console too
+        if (args.length > 0 && args[0].equalsIgnoreCase("reload")) {
+            handleReload(sender);
+            return true;
+        }
+
+        if (!(sender instanceof Player player)) {
+            sender.sendMessage(Component.text("Only players can use this command!")
                     .color(TextColor.color(0xFF5555)));
             return true;
         }
@@ -106,6 +112,18 @@ public class CustomBlockCommand implements CommandExecutor, TabCompleter {
                 .append(blockManager.getBlockType(blockId).getDisplayName()));
     }
 
+    private void handleReload(CommandSender sender) {
+        int count = blockManager.reload();
+        if (count < 0) {
+            sender.sendMessage(Component.text("Could not reload blocks.yml, keeping current block types")
+                    .color(TextColor.color(0xFF5555)));
+            return;
+        }
+
+        sender.sendMessage(Component.text("Reloaded " + count + " custom block types from blocks.yml")
+                .color(TextColor.color(0x55FF55)));
+    }
+
     private void handleList(Player player) {
         Map<String, CustomBlockType> blocks = blockManager.getAllBlockTypes();
 
@@ -130,6 +148,8 @@ public class CustomBlockCommand implements CommandExecutor, TabCompleter {
                 .color(TextColor.color(0xFFFFFF)));
         player.sendMessage(Component.text("/customblock list")
                 .color(TextColor.color(0xFFFFFF)));
+        player.sendMessage(Component.text("/customblock reload")
+                .color(TextColor.color(0xFFFFFF)));
     }
 
     @Override
@@ -140,6 +160,7 @@ public class CustomBlockCommand implements CommandExecutor, TabCompleter {
         if (args.length == 1) {
             completions.add("give");
             completions.add("list");
+            completions.add("reload");
         } else if (args.length == 2 && args[0].equalsIgnoreCase("give")) {
             completions.addAll(blockManager.getAllBlockTypes().keySet());
         } else if (args.length == 3 && args[0].equalsIgnoreCase("give")) {
@@ -1,7 +1,14 @@
 package hs.elementSmpUtility.commands;
 
+import hs.elementSmpUtility.blocks.custom.PedestalBlock;
+import hs.elementSmpUtility.metrics.LatencyHistogram;
+import hs.elementSmpUtility.metrics.Metrics;
+import hs.elementSmpUtility.storage.PlayerNameCache;
 import hs.elementSmpUtility.storage.pedestal.PedestalDataStorage;
+import hs.elementSmpUtility.storage.pedestal.PedestalJournal.PedestalKey;
 import hs.elementSmpUtility.storage.pedestal.PedestalOwnerStorage;
+import hs.elementSmpUtility.tasks.DisplayRestoreQueue;
+import hs.elementSmpUtility.tasks.StartupAudit;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.format.TextColor;
 import org.bukkit.Bukkit;
@@ -13,10 +20,12 @@ import org.bukkit.command.CommandExecutor;
 import org.bukkit.command.CommandSender;
 import org.bukkit.command.TabCompleter;
 import org.bukkit.entity.Player;
+import org.bukkit.plugin.java.JavaPlugin;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 import java.util.UUID;
 
@@ -25,12 +34,23 @@ import java.util.UUID;
  */
 public class PedestalCommand implements CommandExecutor, TabCompleter {
 
+    private static final int LIST_PAGE_SIZE = 10;
+
+    private final JavaPlugin plugin;
     private final PedestalDataStorage storage;
     private final PedestalOwnerStorage ownerStorage;
+    private final DisplayRestoreQueue restoreQueue;
+    private final StartupAudit startupAudit;
+    private final PlayerNameCache nameCache;
 
-    public PedestalCommand(PedestalDataStorage storage, PedestalOwnerStorage ownerStorage) {
+    public PedestalCommand(JavaPlugin plugin, PedestalDataStorage storage, PedestalOwnerStorage ownerStorage,
+                           DisplayRestoreQueue restoreQueue, StartupAudit startupAudit, PlayerNameCache nameCache) {
+        this.plugin = plugin;
         this.storage = storage;
         this.ownerStorage = ownerStorage;
+        this.restoreQueue = restoreQueue;
+        this.startupAudit = startupAudit;
+        this.nameCache = nameCache;
     }
 
     @Override
@@ -71,6 +91,14 @@ public class PedestalCommand implements CommandExecutor, TabCompleter {
                 handleTransfer(sender, args);
                 break;
 
+            case "list":
+                handleList(sender, args);
+                break;
+
+            case "stats":
+                handleStats(sender);
+                break;
+
             default:
                 sendUsage(sender);
                 break;
@@ -84,20 +112,56 @@ public class PedestalCommand implements CommandExecutor, TabCompleter {
 
         sender.sendMessage(Component.text("=== Pedestal Storage Info ===")
                 .color(TextColor.color(0x55FFFF)));
-        sender.sendMessage(Component.text("Total pedestals in YAML: " + count)
+        sender.sendMessage(Component.text("Total pedestals in backup journal: " + count)
                 .color(TextColor.color(0xFFFFFF)));
-        sender.sendMessage(Component.text("Storage: Dual (Chunk PDC + YAML backup)")
+        sender.sendMessage(Component.text("Storage: Dual (Chunk PDC + journal backup)")
                 .color(TextColor.color(0x55FF55)));
-        sender.sendMessage(Component.text("YAML file: plugins/ElementSmpUtility/pedestals.yml")
+        sender.sendMessage(Component.text("Journal: plugins/ElementSmpUtility/pedestals.journal (+ .snapshot)")
                 .color(TextColor.color(0xAAAAAA)));
-        sender.sendMessage(Component.text("Owner storage: Dual (Chunk PDC + YAML backup)")
+        sender.sendMessage(Component.text("Owner storage: Dual (Chunk PDC + binary backup)")
                 .color(TextColor.color(0x55FF55)));
+
+        sender.sendMessage(Component.text("Owner name cache: " + nameCache.size() + " names, " +
+                        nameCache.getHits() + " hits, " + nameCache.getMisses() + " misses")
+                .color(TextColor.color(0xFFFFFF)));
+        sender.sendMessage(Component.text("Tracked display entities: " + PedestalBlock.getRegistry().size())
+                .color(TextColor.color(0xFFFFFF)));
+        int[] itemCounts = storage.getItemCacheCounts();
+        sender.sendMessage(Component.text("Cached pedestal items: " + itemCounts[0] + " (" + itemCounts[1] +
+                        " materialized, " + (itemCounts[0] - itemCounts[1]) + " bytes only)")
+                .color(TextColor.color(0xFFFFFF)));
+
+        sender.sendMessage(Component.text("Display restore queue: " + restoreQueue.getQueueDepth() + " chunks pending")
+                .color(TextColor.color(0xFFFFFF)));
+        sender.sendMessage(Component.text(String.format("  Last tick: %.2f ms, avg: %.2f ms, max: %.2f ms (budget %.2f ms)",
+                        restoreQueue.getLastTickNanos() / 1_000_000.0,
+                        restoreQueue.getAverageTickNanos() / 1_000_000.0,
+                        restoreQueue.getMaxTickNanos() / 1_000_000.0,
+                        restoreQueue.getTickBudgetNanos() / 1_000_000.0))
+                .color(TextColor.color(0xAAAAAA)));
+        sender.sendMessage(Component.text("  Restored: " + restoreQueue.getProcessedCount() +
+                        ", dropped (unloaded first): " + restoreQueue.getDroppedCount())
+                .color(TextColor.color(0xAAAAAA)));
+
+        sender.sendMessage(Component.text("Startup audit: " + startupAudit.getState().name().toLowerCase() +
+                        " (" + startupAudit.getScannedChunks() + "/" + startupAudit.getTotalChunks() + " chunks)")
+                .color(TextColor.color(0xFFFFFF)));
+        if (startupAudit.getState() == StartupAudit.State.REMOVING || startupAudit.getState() == StartupAudit.State.DONE) {
+            sender.sendMessage(Component.text(String.format("  Scan: %.1f ms, %d lodestones, %d stale entries, removed %d (%d pending)",
+                            startupAudit.getScanNanos() / 1_000_000.0, startupAudit.getLodestones(),
+                            startupAudit.getStaleEntries(), startupAudit.getRemoved(), startupAudit.getPendingRemovals()))
+                    .color(TextColor.color(0xAAAAAA)));
+            sender.sendMessage(Component.text(String.format("  Palette check: %d chunks rejected, %d empty or unreferenced sections skipped, ~%.1f ms saved",
+                            startupAudit.getRejectedChunks(), startupAudit.getSkippedSections(),
+                            startupAudit.getSavedScanNanos() / 1_000_000.0))
+                    .color(TextColor.color(0xAAAAAA)));
+        }
     }
 
     private void handleReload(CommandSender sender) {
         storage.getYmlStorage().reload();
 
-        sender.sendMessage(Component.text("Pedestal data reloaded from YAML!")
+        sender.sendMessage(Component.text("Pedestal data reloaded from backup journal!")
                 .color(TextColor.color(0x55FF55)));
         sender.sendMessage(Component.text("Found " + storage.getYmlStorage().getPedestalCount() + " pedestals")
                 .color(TextColor.color(0xFFFFFF)));
@@ -117,6 +181,10 @@ public class PedestalCommand implements CommandExecutor, TabCompleter {
             return;
         }
 
+        if (!checkLoaded(player, targetBlock)) {
+            return;
+        }
+
         Location loc = targetBlock.getLocation();
         UUID owner = ownerStorage.getOwner(loc);
 
@@ -129,7 +197,7 @@ public class PedestalCommand implements CommandExecutor, TabCompleter {
         }
 
         String ownerName = ownerStorage.getOwnerName(loc);
-        OfflinePlayer ownerPlayer = Bukkit.getOfflinePlayer(owner);
+        boolean ownerOnline = Bukkit.getPlayer(owner) != null;
 
         player.sendMessage(Component.text("=== Pedestal Ownership ===")
                 .color(TextColor.color(0x55FFFF)));
@@ -137,8 +205,8 @@ public class PedestalCommand implements CommandExecutor, TabCompleter {
                 .color(TextColor.color(0xFFFFFF)));
         player.sendMessage(Component.text("UUID: " + owner.toString())
                 .color(TextColor.color(0xAAAAAA)));
-        player.sendMessage(Component.text("Online: " + (ownerPlayer.isOnline() ? "Yes" : "No"))
-                .color(TextColor.color(ownerPlayer.isOnline() ? 0x55FF55 : 0xFF5555)));
+        player.sendMessage(Component.text("Online: " + (ownerOnline ? "Yes" : "No"))
+                .color(TextColor.color(ownerOnline ? 0x55FF55 : 0xFF5555)));
 
         // Show if player is the owner
         if (owner.equals(player.getUniqueId())) {
@@ -164,6 +232,10 @@ public class PedestalCommand implements CommandExecutor, TabCompleter {
             return;
         }
 
+        if (!checkLoaded(player, targetBlock)) {
+            return;
+        }
+
         Location loc = targetBlock.getLocation();
         UUID currentOwner = ownerStorage.getOwner(loc);
 
@@ -207,6 +279,10 @@ public class PedestalCommand implements CommandExecutor, TabCompleter {
             return;
         }
 
+        if (!checkLoaded(player, targetBlock)) {
+            return;
+        }
+
         Location loc = targetBlock.getLocation();
         UUID currentOwner = ownerStorage.getOwner(loc);
 
@@ -257,9 +333,8 @@ public class PedestalCommand implements CommandExecutor, TabCompleter {
 
         // FIXED: Check if transferring to the CURRENT owner, not the player executing the command
         if (newOwnerUUID.equals(currentOwner)) {
-            String currentOwnerName = Bukkit.getOfflinePlayer(currentOwner).getName();
             player.sendMessage(Component.text("This pedestal is already owned by " +
-                            (currentOwnerName != null ? currentOwnerName : currentOwner.toString()) + "!")
+                            ownerStorage.getOwnerName(loc) + "!")
                     .color(TextColor.color(0xFF5555)));
             return;
         }
@@ -280,12 +355,133 @@ public class PedestalCommand implements CommandExecutor, TabCompleter {
         }
     }
 
+    /**
+     * Tell the player to retry while the target chunk's pedestal records are still loading
+     */
+    private boolean checkLoaded(Player player, Block block) {
+        if (ownerStorage.ensureLoaded(block.getChunk())) {
+            return true;
+        }
+
+        player.sendMessage(Component.text("Pedestal data for this chunk is still loading, try again in a moment!")
+                .color(TextColor.color(0xFF5555)));
+        return false;
+    }
+
+    private void handleStats(CommandSender sender) {
+        sender.sendMessage(Component.text("=== Pedestal Metrics ===")
+                .color(TextColor.color(0x55FFFF)));
+
+        for (LatencyHistogram histogram : Metrics.getHistograms()) {
+            sender.sendMessage(Component.text(String.format("%s: %d calls, p50 %.3f ms, p99 %.3f ms, max %.3f ms",
+                            histogram.getName(), histogram.getCount(),
+                            histogram.getPercentile(0.5) / 1_000_000.0,
+                            histogram.getPercentile(0.99) / 1_000_000.0,
+                            histogram.getMaxNanos() / 1_000_000.0))
+                    .color(TextColor.color(histogram.getCount() > 0 ? 0xFFFFFF : 0xAAAAAA)));
+        }
+
+        sender.sendMessage(Component.text("Cache sizes:")
+                .color(TextColor.color(0x55FFFF)));
+        Metrics.readGauges().forEach((name, value) -> sender.sendMessage(
+                Component.text("  " + name + ": " + value)
+                        .color(TextColor.color(0xAAAAAA))));
+    }
+
+    private void handleList(CommandSender sender, String[] args) {
+        String target = args.length >= 2 ? args[1] : null;
+        if (target == null && !(sender instanceof Player)) {
+            sender.sendMessage(Component.text("Usage: /pedestal list <player|uuid> [page]")
+                    .color(TextColor.color(0xFF5555)));
+            return;
+        }
+
+        int requestedPage = 1;
+        if (args.length >= 3) {
+            try {
+                requestedPage = Integer.parseInt(args[2]);
+            } catch (NumberFormatException e) {
+                sender.sendMessage(Component.text("Invalid page number!")
+                        .color(TextColor.color(0xFF5555)));
+                return;
+            }
+        }
+        int page = requestedPage;
+
+        // Name lookups can hit the disk or network, so resolve and page off the main thread
+        Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> {
+            List<Component> lines = buildListPage(sender, target, page);
+            Bukkit.getScheduler().runTask(plugin, () -> lines.forEach(sender::sendMessage));
+        });
+    }
+
+    /**
+     * Build one page of a player's pedestals from the owner index (async)
+     */
+    private List<Component> buildListPage(CommandSender sender, String target, int page) {
+        List<Component> lines = new ArrayList<>();
+        UUID ownerId;
+        String ownerName;
+
+        if (target == null) {
+            ownerId = ((Player) sender).getUniqueId();
+            ownerName = sender.getName();
+        } else {
+            try {
+                ownerId = UUID.fromString(target);
+                ownerName = target;
+            } catch (IllegalArgumentException e) {
+                @SuppressWarnings("deprecation")
+                OfflinePlayer offlinePlayer = Bukkit.getOfflinePlayer(target);
+                if (!offlinePlayer.hasPlayedBefore() && !offlinePlayer.isOnline()) {
+                    lines.add(Component.text("Player '" + target + "' not found!")
+                            .color(TextColor.color(0xFF5555)));
+                    return lines;
+                }
+                ownerId = offlinePlayer.getUniqueId();
+                ownerName = offlinePlayer.getName() != null ? offlinePlayer.getName() : target;
+            }
+        }
+
+        List<PedestalKey> pedestals = ownerStorage.getOwnerIndex().getPedestals(ownerId);
+        if (pedestals.isEmpty()) {
+            lines.add(Component.text(ownerName + " owns no pedestals")
+                    .color(TextColor.color(0xFFAA00)));
+            return lines;
+        }
+
+        pedestals.sort(Comparator.comparing(PedestalKey::world)
+                .thenComparingInt(PedestalKey::x)
+                .thenComparingInt(PedestalKey::y)
+                .thenComparingInt(PedestalKey::z));
+
+        int pages = (pedestals.size() + LIST_PAGE_SIZE - 1) / LIST_PAGE_SIZE;
+        int current = Math.max(1, Math.min(page, pages));
+        int from = (current - 1) * LIST_PAGE_SIZE;
+        int to = Math.min(from + LIST_PAGE_SIZE, pedestals.size());
+
+        lines.add(Component.text("=== Pedestals of " + ownerName + " (" + pedestals.size() + ") - page " +
+                        current + "/" + pages + " ===")
+                .color(TextColor.color(0x55FFFF)));
+        for (PedestalKey pedestal : pedestals.subList(from, to)) {
+            lines.add(Component.text("• " + pedestal.world() + " " +
+                            pedestal.x() + ", " + pedestal.y() + ", " + pedestal.z())
+                    .color(TextColor.color(0xFFFFFF)));
+        }
+        if (current < pages) {
+            lines.add(Component.text("Next page: /pedestal list " + (target != null ? target : ownerName) +
+                            " " + (current + 1))
+                    .color(TextColor.color(0xAAAAAA)));
+        }
+        return lines;
+    }
+
     private void sendUsage(CommandSender sender) {
         sender.sendMessage(Component.text("=== Pedestal Admin Commands ===")
                 .color(TextColor.color(0x55FFFF)));
         sender.sendMessage(Component.text("/pedestal info - View storage information")
                 .color(TextColor.color(0xFFFFFF)));
-        sender.sendMessage(Component.text("/pedestal reload - Reload from YAML backup")
+        sender.sendMessage(Component.text("/pedestal reload - Reload from backup journal")
                 .color(TextColor.color(0xFFFFFF)));
         sender.sendMessage(Component.text("/pedestal check - Check pedestal owner")
                 .color(TextColor.color(0xFFFFFF)));
@@ -293,6 +489,10 @@ public class PedestalCommand implements CommandExecutor, TabCompleter {
                 .color(TextColor.color(0xFFFFFF)));
         sender.sendMessage(Component.text("/pedestal transfer <player|uuid> - Transfer ownership")
                 .color(TextColor.color(0xFFFFFF)));
+        sender.sendMessage(Component.text("/pedestal list [player|uuid] [page] - List a player's pedestals")
+                .color(TextColor.color(0xFFFFFF)));
+        sender.sendMessage(Component.text("/pedestal stats - View latency metrics and cache sizes")
+                .color(TextColor.color(0xFFFFFF)));
         sender.sendMessage(Component.text("  Example: /pedestal transfer Notch")
                 .color(TextColor.color(0xAAAAAA)));
         sender.sendMessage(Component.text("  Example: /pedestal transfer 069a79f4-44e9-4726-a5be-fca90e38aaf5")
@@ -310,6 +510,10 @@ public class PedestalCommand implements CommandExecutor, TabCompleter {
             completions.add("check");
             completions.add("claim");
             completions.add("transfer");
+            completions.add("list");
+            completions.add("stats");
+        } else if (args.length == 2 && args[0].equalsIgnoreCase("list")) {
+            Bukkit.getOnlinePlayers().forEach(p -> completions.add(p.getName()));
         } else if (args.length == 2 && args[0].equalsIgnoreCase("transfer")) {
             // Add online player names
             Bukkit.getOnlinePlayers().forEach(p -> completions.add(p.getName()));
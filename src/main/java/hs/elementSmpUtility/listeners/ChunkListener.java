@@ -1,20 +1,29 @@
 package hs.elementSmpUtility.listeners;
 
 import hs.elementSmpUtility.blocks.custom.PedestalBlock;
+import hs.elementSmpUtility.metrics.Metrics;
+import hs.elementSmpUtility.metrics.jfr.ChunkDataLoadEvent;
+import hs.elementSmpUtility.metrics.jfr.ChunkDataUnloadEvent;
+import hs.elementSmpUtility.metrics.jfr.DisplayRestoreEvent;
 import hs.elementSmpUtility.storage.BlockDataStorage;
+import hs.elementSmpUtility.storage.index.PaletteFilter;
 import hs.elementSmpUtility.storage.pedestal.PedestalDataStorage;
 import hs.elementSmpUtility.storage.pedestal.PedestalOwnerStorage;
+import hs.elementSmpUtility.tasks.DisplayRestoreQueue;
 import org.bukkit.Bukkit;
 import org.bukkit.Chunk;
 import org.bukkit.Location;
 import org.bukkit.Material;
-import org.bukkit.block.Block;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.plugin.Plugin;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.Listener;
 import org.bukkit.event.world.ChunkLoadEvent;
 import org.bukkit.event.world.ChunkUnloadEvent;
+import org.bukkit.event.world.WorldUnloadEvent;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Manages loading and unloading chunk data cache
@@ -25,90 +34,148 @@ public class ChunkListener implements Listener {
     private final BlockDataStorage storage;
     private final PedestalDataStorage pedestalStorage;
     private final PedestalOwnerStorage ownerStorage;
+    private final DisplayRestoreQueue restoreQueue;
 
     public ChunkListener(BlockDataStorage storage, PedestalDataStorage pedestalStorage,
-                         PedestalOwnerStorage ownerStorage) {
+                         PedestalOwnerStorage ownerStorage, DisplayRestoreQueue restoreQueue) {
         this.storage = storage;
         this.pedestalStorage = pedestalStorage;
         this.ownerStorage = ownerStorage;
+        this.restoreQueue = restoreQueue;
     }
 
     @EventHandler
     public void onChunkLoad(ChunkLoadEvent event) {
-        Chunk chunk = event.getChunk();
+        loadChunk(event.getChunk());
+    }
 
-        // Load data into cache (instant, no lag)
-        storage.loadChunk(chunk);
-        pedestalStorage.loadChunk(chunk);
-        ownerStorage.loadChunk(chunk);
+    /**
+     * Load a chunk's stored data into the caches and queue its display restoration
+     */
+    public void loadChunk(Chunk chunk) {
+        long start = System.nanoTime();
+        ChunkDataLoadEvent jfrEvent = new ChunkDataLoadEvent();
+        jfrEvent.begin();
+
+        // Start loading data into cache (never waits on the store)
+        CompletableFuture<Void> blocks = storage.loadChunk(chunk);
+        CompletableFuture<Void> pedestals = pedestalStorage.loadChunk(chunk);
+        Metrics.CHUNK_LOAD.recordSince(start);
+
+        // Runs on the main thread once both caches are attached; failed loads are logged by the storage
+        CompletableFuture.allOf(blocks, pedestals).thenRun(() -> {
+            ownerStorage.indexChunk(chunk);
+
+            if (jfrEvent.shouldCommit()) {
+                jfrEvent.world = chunk.getWorld().getName();
+                jfrEvent.chunkX = chunk.getX();
+                jfrEvent.chunkZ = chunk.getZ();
+                jfrEvent.customBlocks = storage.getCachedBlockCount(chunk);
+                jfrEvent.pedestals = pedestalStorage.getCachedPedestalCount(chunk);
+                jfrEvent.commit();
+            }
 
-        // Restore pedestal displays asynchronously to avoid lag
-        Plugin plugin = Bukkit.getPluginManager().getPlugin("ElementSmpUtility");
-        if (plugin != null) {
-            Bukkit.getScheduler().runTaskLater(plugin, () -> {
-                restorePedestalDisplays(chunk);
-            }, 1L); // 1 tick delay to let chunk fully load
-        }
+            // Restore pedestal displays from the shared tick-budgeted queue (next tick at the earliest)
+            restoreQueue.enqueue(chunk);
+        });
     }
 
     @EventHandler
     public void onChunkUnload(ChunkUnloadEvent event) {
         Chunk chunk = event.getChunk();
+        ChunkDataUnloadEvent jfrEvent = new ChunkDataUnloadEvent();
+        jfrEvent.begin();
+
+        // Drop pending restoration work for this chunk
+        restoreQueue.cancel(chunk);
 
         // Unload data from cache to free memory
         storage.unloadChunk(chunk);
         pedestalStorage.unloadChunk(chunk);
-        ownerStorage.unloadChunk(chunk);
+
+        if (jfrEvent.shouldCommit()) {
+            jfrEvent.world = chunk.getWorld().getName();
+            jfrEvent.chunkX = chunk.getX();
+            jfrEvent.chunkZ = chunk.getZ();
+            jfrEvent.commit();
+        }
+    }
+
+    @EventHandler
+    public void onWorldUnload(WorldUnloadEvent event) {
+        // Drop every chunk bucket of the world at once
+        storage.unloadWorld(event.getWorld());
+        pedestalStorage.unloadWorld(event.getWorld());
     }
 
     /**
      * Restore all pedestal displays in a chunk based on stored data
-     * CRITICAL: Also removes any orphaned armor stands at pedestal locations
+     * Stale displays are removed through the display registry; displays without a pedestal
+     * and legacy stands are removed by OrphanDisplayListener as entities load
      */
-    private void restorePedestalDisplays(Chunk chunk) {
+    public void restorePedestalDisplays(Chunk chunk) {
+        long start = System.nanoTime();
+        DisplayRestoreEvent jfrEvent = new DisplayRestoreEvent();
+        jfrEvent.begin();
+
+        int restored = restoreChunk(chunk);
+        Metrics.DISPLAY_RESTORE.recordSince(start);
+
+        if (jfrEvent.shouldCommit()) {
+            jfrEvent.world = chunk.getWorld().getName();
+            jfrEvent.chunkX = chunk.getX();
+            jfrEvent.chunkZ = chunk.getZ();
+            jfrEvent.restored = restored;
+            jfrEvent.commit();
+        }
+    }
+
+    /**
+     * Restore the displays of one chunk, returning how many were recreated
+     */
+    private int restoreChunk(Chunk chunk) {
         Plugin plugin = Bukkit.getPluginManager().getPlugin("ElementSmpUtility");
         int restored = 0;
         int cleaned = 0;
 
-        // Scan chunk for pedestals
-        for (int x = 0; x < 16; x++) {
-            for (int z = 0; z < 16; z++) {
-                for (int y = chunk.getWorld().getMinHeight(); y < chunk.getWorld().getMaxHeight(); y++) {
-                    Block block = chunk.getBlock(x, y, z);
-
-                    // Check if it's a lodestone (pedestal base material)
-                    if (block.getType() == Material.LODESTONE) {
-                        Location loc = block.getLocation();
-
-                        // Check if it's registered as a pedestal
-                        String blockId = storage.getCustomBlockIdCached(loc);
-                        if ("pedestal".equals(blockId)) {
-                            // FIRST: Remove any existing armor stands (cleanup orphans from restart)
-                            PedestalBlock.removeAllDisplays(loc);
-
-                            // THEN: Get stored item and recreate display if needed
-                            ItemStack storedItem = pedestalStorage.getPedestalItem(loc);
-
-                            if (storedItem != null && storedItem.getType() != Material.AIR) {
-                                // Restore the display
-                                PedestalBlock.createOrUpdateDisplay(loc, storedItem);
-                                restored++;
-
-                                if (plugin != null) {
-                                    plugin.getLogger().info(
-                                            "Restored pedestal display at " +
-                                                    loc.getBlockX() + "," + loc.getBlockY() + "," + loc.getBlockZ() +
-                                                    " with " + storedItem.getType() +
-                                                    " (Owner: " + ownerStorage.getOwnerName(loc) + ")"
-                                    );
-                                }
-                            } else {
-                                // No item stored, cleanup was already done above
-                                cleaned++;
-                            }
-                        }
-                    }
+        List<Location> pedestals = storage.getCachedBlocksInChunk(chunk, "pedestal");
+
+        // Indexed pedestals but no lodestone in any section: every entry is stale, nothing to display
+        if (pedestals.isEmpty() || !PaletteFilter.mayContainPedestal(chunk)) {
+            return 0;
+        }
+
+        // Only visit indexed pedestal positions instead of scanning the whole chunk
+        for (Location loc : pedestals) {
+            // Check if it's still a lodestone (pedestal base material)
+            if (loc.getBlock().getType() != Material.LODESTONE) {
+                continue;
+            }
+
+            ItemStack storedItem = pedestalStorage.getPedestalItem(loc);
+
+            if (storedItem != null && storedItem.getType() != Material.AIR) {
+                // Displays are saved with the chunk and adopted into the registry as their entities load;
+                // only pedestals without one get a new display
+                boolean existed = PedestalBlock.getExistingDisplay(loc) != null;
+                PedestalBlock.createOrUpdateDisplay(loc, storedItem);
+                if (existed) {
+                    continue;
+                }
+                restored++;
+
+                if (plugin != null) {
+                    plugin.getLogger().info(
+                            "Restored pedestal display at " +
+                                    loc.getBlockX() + "," + loc.getBlockY() + "," + loc.getBlockZ() +
+                                    " with " + storedItem.getType() +
+                                    " (Owner: " + ownerStorage.getOwnerName(loc) + ")"
+                    );
                 }
+            } else {
+                // No item stored: drop the registered display (if any) and its light
+                PedestalBlock.removeDisplay(loc);
+                cleaned++;
             }
         }
 
@@ -118,5 +185,7 @@ public class ChunkListener implements Listener {
                             ": Restored " + restored + " pedestals, cleaned " + cleaned + " empty pedestals"
             );
         }
+
+        return restored;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,36 @@
+package hs.elementSmpUtility.listeners;
+
+import com.destroystokyo.paper.event.entity.EntityRemoveFromWorldEvent;
+import hs.elementSmpUtility.blocks.custom.DisplayRegistry;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.world.ChunkUnloadEvent;
+import org.bukkit.event.world.WorldUnloadEvent;
+
+/**
+ * Keeps the pedestal display registry in sync with entities leaving the world
+ */
+public class DisplayRegistryListener implements Listener {
+
+    private final DisplayRegistry registry;
+
+    public DisplayRegistryListener(DisplayRegistry registry) {
+        this.registry = registry;
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onEntityRemove(EntityRemoveFromWorldEvent event) {
+        registry.unregister(event.getEntity().getUniqueId());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onChunkUnload(ChunkUnloadEvent event) {
+        registry.unloadChunk(event.getChunk());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onWorldUnload(WorldUnloadEvent event) {
+        registry.unloadWorld(event.getWorld());
+    }
+}
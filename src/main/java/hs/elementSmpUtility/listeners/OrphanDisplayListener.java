@@ -0,0 +1,103 @@
+package hs.elementSmpUtility.listeners;
+
+import hs.elementSmpUtility.blocks.custom.DisplayRegistry;
+import hs.elementSmpUtility.blocks.custom.PedestalBlock;
+import hs.elementSmpUtility.storage.BlockDataStorage;
+import hs.elementSmpUtility.storage.index.BlockPos;
+import org.bukkit.Chunk;
+import org.bukkit.Location;
+import org.bukkit.Material;
+import org.bukkit.entity.Entity;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.world.EntitiesLoadEvent;
+import org.bukkit.plugin.java.JavaPlugin;
+
+import java.util.List;
+
+/**
+ * Removes orphaned pedestal displays as their entities load, chunk by chunk.
+ * Only tagged displays and untagged legacy marker stands are examined.
+ */
+public class OrphanDisplayListener implements Listener {
+
+    private final JavaPlugin plugin;
+    private final BlockDataStorage storage;
+    private final DisplayRegistry registry;
+
+    public OrphanDisplayListener(JavaPlugin plugin, BlockDataStorage storage, DisplayRegistry registry) {
+        this.plugin = plugin;
+        this.storage = storage;
+        this.registry = registry;
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onEntitiesLoad(EntitiesLoadEvent event) {
+        Chunk chunk = event.getChunk();
+        if (storage.ensureLoaded(chunk)) {
+            removeOrphans(chunk, event.getEntities());
+            return;
+        }
+
+        // Only a completed index can say a pedestal is gone; a failed or abandoned load removes nothing
+        List<Entity> entities = List.copyOf(event.getEntities());
+        storage.loadChunk(chunk).thenRun(() -> removeOrphans(chunk, entities));
+    }
+
+    private void removeOrphans(Chunk chunk, List<Entity> entities) {
+        int removed = 0;
+
+        for (Entity entity : entities) {
+            if (!entity.isValid()) {
+                continue;
+            }
+            long pos = PedestalBlock.getTaggedPosition(entity);
+
+            if (pos != BlockPos.INVALID) {
+                if (isOrphan(entity, pos)) {
+                    entity.remove();
+                    removed++;
+                }
+            } else if (PedestalBlock.isLegacyDisplay(entity)
+                    && entity.getLocation().getBlock().getType() == Material.LODESTONE) {
+                // Untagged stand from an older version; pedestals get a fresh tagged display
+                entity.remove();
+                removed++;
+            }
+        }
+
+        if (removed > 0) {
+            plugin.getLogger().info("Removed " + removed + " orphaned pedestal displays in chunk " +
+                    chunk.getX() + "," + chunk.getZ());
+        }
+    }
+
+    /**
+     * A tagged display is an orphan if its pedestal is gone, it belongs to another display backend,
+     * or another display already serves it
+     */
+    private boolean isOrphan(Entity entity, long pos) {
+        Location pedestalLocation = new Location(entity.getWorld(), BlockPos.x(pos), BlockPos.y(pos), BlockPos.z(pos));
+        if (!storage.isLoaded(pedestalLocation)) {
+            // Tagged for a pedestal in another chunk whose index is not attached; keep it
+            return false;
+        }
+        if (!"pedestal".equals(storage.getCustomBlockIdCached(pedestalLocation))) {
+            return true;
+        }
+
+        if (!PedestalBlock.getBackend().accepts(entity)) {
+            // Saved by the other display backend; the pedestal gets a display of the current one
+            return true;
+        }
+
+        Entity registered = registry.get(pedestalLocation);
+        if (registered == null) {
+            // Adopt it as the pedestal's display
+            registry.register(pedestalLocation, entity);
+            return false;
+        }
+        return !registered.getUniqueId().equals(entity.getUniqueId());
+    }
+}
@@ -2,6 +2,7 @@ package hs.elementSmpUtility.listeners;
 
 import hs.elementSmpUtility.blocks.CustomBlockManager;
 import hs.elementSmpUtility.blocks.custom.PedestalBlock;
+import hs.elementSmpUtility.metrics.Metrics;
 import hs.elementSmpUtility.storage.BlockDataStorage;
 import hs.elementSmpUtility.storage.pedestal.PedestalDataStorage;
 import hs.elementSmpUtility.storage.pedestal.PedestalOwnerStorage;
@@ -10,7 +11,7 @@ import net.kyori.adventure.text.format.TextColor;
 import org.bukkit.Material;
 import org.bukkit.Sound;
 import org.bukkit.block.Block;
-import org.bukkit.entity.ArmorStand;
+import org.bukkit.entity.Entity;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.EventPriority;
@@ -45,6 +46,12 @@ public class PedestalInteractionListener implements Listener {
 
     @EventHandler(priority = EventPriority.HIGH)
     public void onPedestalInteract(PlayerInteractEvent event) {
+        long start = System.nanoTime();
+        handlePedestalInteract(event);
+        Metrics.PEDESTAL_INTERACT.recordSince(start);
+    }
+
+    private void handlePedestalInteract(PlayerInteractEvent event) {
         if (event.getAction() != Action.RIGHT_CLICK_BLOCK) {
             return;
         }
@@ -67,6 +74,15 @@ public class PedestalInteractionListener implements Listener {
         event.setCancelled(true);
         Player player = event.getPlayer();
 
+        // An empty-looking pedestal may just not be loaded yet
+        if (!ownerStorage.ensureLoaded(block.getChunk())) {
+            player.sendActionBar(
+                    Component.text("Pedestal data is still loading, try again in a moment!")
+                            .color(TextColor.color(0xFF5555))
+            );
+            return;
+        }
+
         // Get the owner of this pedestal
         UUID ownerUUID = ownerStorage.getOwner(block.getLocation());
 
@@ -101,7 +117,7 @@ public class PedestalInteractionListener implements Listener {
 
         // Auto-restore display if missing (failsafe)
         if (currentItem != null) {
-            ArmorStand existing = PedestalBlock.getExistingDisplay(block.getLocation());
+            Entity existing = PedestalBlock.getExistingDisplay(block.getLocation());
             if (existing == null || !existing.isValid()) {
                 PedestalBlock.createOrUpdateDisplay(block.getLocation(), currentItem);
             }
@@ -172,15 +188,11 @@ public class PedestalInteractionListener implements Listener {
     }
 
     /**
-     * Prevent players from damaging pedestal armor stands
+     * Prevent players from damaging pedestal displays
      */
     @EventHandler(priority = EventPriority.HIGH)
-    public void onArmorStandDamage(EntityDamageByEntityEvent event) {
-        if (!(event.getEntity() instanceof ArmorStand stand)) {
-            return;
-        }
-
-        if (stand.hasMetadata("pedestal_display")) {
+    public void onDisplayDamage(EntityDamageByEntityEvent event) {
+        if (PedestalBlock.isDisplay(event.getEntity())) {
             event.setCancelled(true);
         }
     }
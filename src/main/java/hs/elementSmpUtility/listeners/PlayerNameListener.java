@@ -0,0 +1,24 @@
+package hs.elementSmpUtility.listeners;
+
+import hs.elementSmpUtility.storage.PlayerNameCache;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerJoinEvent;
+
+/**
+ * Keeps the player name cache current as players join
+ */
+public class PlayerNameListener implements Listener {
+
+    private final PlayerNameCache nameCache;
+
+    public PlayerNameListener(PlayerNameCache nameCache) {
+        this.nameCache = nameCache;
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerJoin(PlayerJoinEvent event) {
+        nameCache.put(event.getPlayer().getUniqueId(), event.getPlayer().getName());
+    }
+}
@@ -0,0 +1,29 @@
+package hs.elementSmpUtility.listeners;
+
+import hs.elementSmpUtility.storage.pedestal.PedestalDataStorage;
+import hs.elementSmpUtility.storage.pedestal.PedestalOwnerStorage;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.world.WorldSaveEvent;
+
+/**
+ * Flushes pending backup file changes whenever the server saves a world
+ */
+public class StorageFlushListener implements Listener {
+
+    private final PedestalDataStorage pedestalStorage;
+    private final PedestalOwnerStorage ownerStorage;
+
+    public StorageFlushListener(PedestalDataStorage pedestalStorage, PedestalOwnerStorage ownerStorage) {
+        this.pedestalStorage = pedestalStorage;
+        this.ownerStorage = ownerStorage;
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onWorldSave(WorldSaveEvent event) {
+        // Both are no-ops when nothing changed since the last flush
+        pedestalStorage.flush();
+        ownerStorage.flush();
+    }
+}
@@ -3,6 +3,7 @@ package hs.elementSmpUtility.listeners.block;
 import hs.elementSmpUtility.blocks.CustomBlockManager;
 import hs.elementSmpUtility.blocks.CustomBlockType;
 import hs.elementSmpUtility.blocks.custom.PedestalBlock;
+import hs.elementSmpUtility.metrics.Metrics;
 import hs.elementSmpUtility.storage.BlockDataStorage;
 import hs.elementSmpUtility.storage.pedestal.PedestalDataStorage;
 import hs.elementSmpUtility.storage.pedestal.PedestalOwnerStorage;
@@ -11,7 +12,7 @@ import net.kyori.adventure.text.format.TextColor;
 import org.bukkit.GameMode;
 import org.bukkit.Location;
 import org.bukkit.Material;
-import org.bukkit.entity.ArmorStand;
+import org.bukkit.entity.Entity;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.EventPriority;
@@ -41,25 +42,37 @@ public class BlockBreakListener implements Listener {
 
     @EventHandler(priority = EventPriority.HIGH)
     public void onBlockBreak(BlockBreakEvent event) {
+        long start = System.nanoTime();
+        handleBlockBreak(event);
+        Metrics.BLOCK_BREAK.recordSince(start);
+    }
+
+    private void handleBlockBreak(BlockBreakEvent event) {
         if (event.isCancelled()) {
             return;
         }
 
         String blockId = storage.getCustomBlockId(event.getBlock());
         if (blockId == null) {
-            return;
-        }
-
-        CustomBlockType blockType = blockManager.getBlockType(blockId);
-        if (blockType == null) {
+            // Until the chunk's blocks are loaded, null does not mean "vanilla block"
+            if (!storage.ensureLoaded(event.getBlock().getChunk())) {
+                event.setCancelled(true);
+                sendStillLoading(event.getPlayer());
+            }
             return;
         }
 
         Player player = event.getPlayer();
         Location location = event.getBlock().getLocation();
 
-        // Handle pedestal breaking - CHECK OWNERSHIP FIRST
+        // Handle pedestal breaking - CHECK OWNERSHIP FIRST (even if a reload dropped the pedestal type)
         if ("pedestal".equals(blockId)) {
+            if (!ownerStorage.ensureLoaded(event.getBlock().getChunk())) {
+                event.setCancelled(true);
+                sendStillLoading(player);
+                return;
+            }
+
             UUID ownerUUID = ownerStorage.getOwner(location);
 
             // If no owner, only admins can break (to claim or fix)
@@ -95,6 +108,13 @@ public class BlockBreakListener implements Listener {
             return;
         }
 
+        CustomBlockType blockType = blockManager.getBlockType(blockId);
+        if (blockType == null) {
+            // Type dropped from blocks.yml by a reload: breaks like vanilla, but the entry must go
+            storage.removeCustomBlock(event.getBlock());
+            return;
+        }
+
         // Handle other custom blocks - check if unbreakable
         if (blockType.isUnbreakable()) {
             // Allow creative mode players to break
@@ -116,8 +136,15 @@ public class BlockBreakListener implements Listener {
         storage.removeCustomBlock(event.getBlock());
     }
 
+    private void sendStillLoading(Player player) {
+        player.sendActionBar(
+                Component.text("Block data is still loading, try again in a moment!")
+                        .color(TextColor.color(0xFF5555))
+        );
+    }
+
     /**
-     * Handle breaking a pedestal block - properly cleans up ALL armor stands
+     * Handle breaking a pedestal block - removes its display, drops the item and clears data
      */
     private void handlePedestalBreak(BlockBreakEvent event) {
         Location loc = event.getBlock().getLocation();
@@ -125,14 +152,14 @@ public class BlockBreakListener implements Listener {
         // Get displayed item from storage
         ItemStack displayedItem = pedestalStorage.getPedestalItem(loc);
 
-        // Remove ALL nearby armor stands
-        PedestalBlock.removeAllDisplays(loc);
+        // Remove the registered display entity
+        PedestalBlock.removeDisplay(loc);
 
         // Verify removal
-        ArmorStand remaining = PedestalBlock.getExistingDisplay(loc);
+        Entity remaining = PedestalBlock.getExistingDisplay(loc);
         if (remaining != null) {
             blockManager.getPlugin().getLogger().warning(
-                    "Armor stand still exists after removal attempt! Force removing..."
+                    "Display entity still exists after removal attempt! Force removing..."
             );
             remaining.remove();
         }
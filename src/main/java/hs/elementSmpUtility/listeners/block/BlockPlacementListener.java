@@ -2,6 +2,7 @@ package hs.elementSmpUtility.listeners.block;
 
 import hs.elementSmpUtility.blocks.CustomBlockManager;
 import hs.elementSmpUtility.blocks.custom.PedestalBlock;
+import hs.elementSmpUtility.metrics.Metrics;
 import hs.elementSmpUtility.storage.BlockDataStorage;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.format.TextColor;
@@ -30,6 +31,12 @@ public class BlockPlacementListener implements Listener {
 
     @EventHandler(priority = EventPriority.HIGH)
     public void onBlockPlace(BlockPlaceEvent event) {
+        long start = System.nanoTime();
+        handleBlockPlace(event);
+        Metrics.BLOCK_PLACE.recordSince(start);
+    }
+
+    private void handleBlockPlace(BlockPlaceEvent event) {
         if (event.isCancelled()) {
             return;
         }
@@ -42,10 +49,20 @@ public class BlockPlacementListener implements Listener {
         Block block = event.getBlockPlaced();
         Player player = event.getPlayer();
 
+        // The owner can only be recorded once the chunk's pedestal records are loaded
+        if ("pedestal".equals(blockId) && !ownerStorage.ensureLoaded(block.getChunk())) {
+            event.setCancelled(true);
+            player.sendActionBar(
+                    Component.text("Block data is still loading, try again in a moment!")
+                            .color(TextColor.color(0xFF5555))
+            );
+            return;
+        }
+
         // Store custom block data
         storage.saveCustomBlock(block, blockId);
 
-        // If it's a pedestal, create the display armor stand and set owner
+        // If it's a pedestal, create the display entity and set owner
         if ("pedestal".equals(blockId)) {
             PedestalBlock.createOrUpdateDisplay(block.getLocation(), null);
 
@@ -0,0 +1,106 @@
+package hs.elementSmpUtility.metrics;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.LongSupplier;
+
+/**
+ * Latency histograms of the plugin's hot paths plus cache size gauges.
+ * Histograms are static so codecs and listeners can record without extra wiring.
+ */
+public final class Metrics {
+
+    private static final List<LatencyHistogram> HISTOGRAMS = new ArrayList<>();
+    private static final List<Gauge> GAUGES = new CopyOnWriteArrayList<>();
+
+    public static final LatencyHistogram CHUNK_LOAD = histogram("chunk_load", "Chunk data loaded into the caches");
+    public static final LatencyHistogram DISPLAY_RESTORE = histogram("display_restore", "Pedestal displays restored for one chunk");
+    public static final LatencyHistogram PEDESTAL_INTERACT = histogram("pedestal_interact", "Pedestal interaction handler");
+    public static final LatencyHistogram BLOCK_BREAK = histogram("block_break", "Block break handler");
+    public static final LatencyHistogram BLOCK_PLACE = histogram("block_place", "Block place handler");
+    public static final LatencyHistogram PDC_DECODE = histogram("pdc_decode", "Chunk PDC entries decoded");
+    public static final LatencyHistogram PDC_ENCODE = histogram("pdc_encode", "Chunk PDC entries encoded");
+    public static final LatencyHistogram BACKUP_WRITE = histogram("backup_write", "Backup file written by write-behind");
+    public static final LatencyHistogram JOURNAL_SYNC = histogram("journal_sync", "Pedestal journal fsync");
+    public static final LatencyHistogram JOURNAL_COMPACT = histogram("journal_compact", "Pedestal journal compaction");
+    public static final LatencyHistogram SQL_BATCH = histogram("sql_batch", "SQLite writer batch");
+
+    private Metrics() {
+    }
+
+    private static LatencyHistogram histogram(String name, String description) {
+        LatencyHistogram histogram = new LatencyHistogram(name, description);
+        HISTOGRAMS.add(histogram);
+        return histogram;
+    }
+
+    public static List<LatencyHistogram> getHistograms() {
+        return Collections.unmodifiableList(HISTOGRAMS);
+    }
+
+    /**
+     * Register a gauge read on the main thread (cache sizes and similar)
+     */
+    public static void registerGauge(String name, String description, LongSupplier value) {
+        GAUGES.add(new Gauge(name, description, value));
+    }
+
+    /**
+     * Drop all gauges (plugin disable, so reloads do not keep stale instances alive)
+     */
+    public static void clearGauges() {
+        GAUGES.clear();
+    }
+
+    /**
+     * Current gauge values by name, in registration order (main thread)
+     */
+    public static Map<String, Long> readGauges() {
+        Map<String, Long> values = new LinkedHashMap<>();
+        for (Gauge gauge : GAUGES) {
+            values.put(gauge.name(), gauge.value().getAsLong());
+        }
+        return values;
+    }
+
+    /**
+     * Render all metrics in the Prometheus text exposition format (main thread)
+     */
+    public static String toPrometheus() {
+        StringBuilder out = new StringBuilder(4096);
+
+        for (LatencyHistogram histogram : HISTOGRAMS) {
+            String name = "elementsmp_" + histogram.getName() + "_seconds";
+            out.append("# HELP ").append(name).append(' ').append(histogram.getDescription()).append('\n');
+            out.append("# TYPE ").append(name).append(" summary\n");
+            appendSample(out, name + "{quantile=\"0.5\"}", histogram.getPercentile(0.5) / 1e9);
+            appendSample(out, name + "{quantile=\"0.99\"}", histogram.getPercentile(0.99) / 1e9);
+            appendSample(out, name + "_sum", histogram.getTotalNanos() / 1e9);
+            out.append(name).append("_count ").append(histogram.getCount()).append('\n');
+
+            out.append("# TYPE ").append(name).append("_max gauge\n");
+            appendSample(out, name + "_max", histogram.getMaxNanos() / 1e9);
+        }
+
+        for (Gauge gauge : GAUGES) {
+            String name = "elementsmp_" + gauge.name();
+            out.append("# HELP ").append(name).append(' ').append(gauge.description()).append('\n');
+            out.append("# TYPE ").append(name).append(" gauge\n");
+            out.append(name).append(' ').append(gauge.value().getAsLong()).append('\n');
+        }
+
+        return out.toString();
+    }
+
+    private static void appendSample(StringBuilder out, String name, double value) {
+        out.append(name).append(' ').append(String.format(Locale.ROOT, "%.9f", value)).append('\n');
+    }
+
+    private record Gauge(String name, String description, LongSupplier value) {
+    }
+}
@@ -0,0 +1,32 @@
+package hs.elementSmpUtility.metrics.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("elementsmp.BackupFlush")
+@Label("Backup Flush")
+@Description("A backup file written, or the pedestal journal synced or compacted")
+@Category({"ElementSmpUtility", "Storage"})
+@Enabled(false)
+@StackTrace(false)
+public class BackupFlushEvent extends Event {
+
+    @Label("File")
+    public String file;
+
+    @Label("Operation")
+    public String operation;
+
+    @Label("Bytes")
+    @DataAmount
+    public long bytes;
+
+    @Label("Entries")
+    public int entries;
+}
@@ -0,0 +1,33 @@
+package hs.elementSmpUtility.metrics.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("elementsmp.ChunkDataLoad")
+@Label("Chunk Data Load")
+@Description("Custom block and pedestal data of a chunk loaded into the caches")
+@Category({"ElementSmpUtility", "Storage"})
+@Enabled(false)
+@StackTrace(false)
+public class ChunkDataLoadEvent extends Event {
+
+    @Label("World")
+    public String world;
+
+    @Label("Chunk X")
+    public int chunkX;
+
+    @Label("Chunk Z")
+    public int chunkZ;
+
+    @Label("Custom Blocks")
+    public int customBlocks;
+
+    @Label("Pedestals")
+    public int pedestals;
+}
@@ -0,0 +1,27 @@
+package hs.elementSmpUtility.metrics.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("elementsmp.ChunkDataUnload")
+@Label("Chunk Data Unload")
+@Description("Cached data of a chunk dropped on chunk unload")
+@Category({"ElementSmpUtility", "Storage"})
+@Enabled(false)
+@StackTrace(false)
+public class ChunkDataUnloadEvent extends Event {
+
+    @Label("World")
+    public String world;
+
+    @Label("Chunk X")
+    public int chunkX;
+
+    @Label("Chunk Z")
+    public int chunkZ;
+}
@@ -0,0 +1,30 @@
+package hs.elementSmpUtility.metrics.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("elementsmp.DisplayRestore")
+@Label("Display Restore")
+@Description("Pedestal displays of one chunk restored from the restore queue")
+@Category({"ElementSmpUtility", "Display"})
+@Enabled(false)
+@StackTrace(false)
+public class DisplayRestoreEvent extends Event {
+
+    @Label("World")
+    public String world;
+
+    @Label("Chunk X")
+    public int chunkX;
+
+    @Label("Chunk Z")
+    public int chunkZ;
+
+    @Label("Restored Displays")
+    public int restored;
+}
@@ -0,0 +1,36 @@
+package hs.elementSmpUtility.metrics.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("elementsmp.EntityLookup")
+@Label("Entity Lookup")
+@Description("Display entities of a pedestal looked up by UUID")
+@Category({"ElementSmpUtility", "Display"})
+@Enabled(false)
+@StackTrace(false)
+public class EntityLookupEvent extends Event {
+
+    @Label("Kind")
+    public String kind;
+
+    @Label("World")
+    public String world;
+
+    @Label("X")
+    public int x;
+
+    @Label("Y")
+    public int y;
+
+    @Label("Z")
+    public int z;
+
+    @Label("Entities")
+    public int entities;
+}
@@ -0,0 +1,33 @@
+package hs.elementSmpUtility.metrics.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("elementsmp.ItemCodec")
+@Label("Item Codec")
+@Description("A pedestal item serialized to or deserialized from its stored payload")
+@Category({"ElementSmpUtility", "Storage"})
+@Enabled(false)
+@StackTrace(false)
+public class ItemCodecEvent extends Event {
+
+    @Label("Operation")
+    public String operation;
+
+    @Label("Item Bytes")
+    @DataAmount
+    public int rawBytes;
+
+    @Label("Payload Bytes")
+    @DataAmount
+    public int payloadBytes;
+
+    @Label("Compressed")
+    public boolean compressed;
+}
@@ -0,0 +1,9 @@
+/**
+ * Java Flight Recorder events for storage and display work.
+ * <p>
+ * All events are disabled by default, so an idle event costs no more than an inlined no-op.
+ * Enable them per recording, for example
+ * {@code -XX:StartFlightRecording:elementsmp.ChunkDataLoad#enabled=true}, or with a custom
+ * settings file made by {@code jfr configure}. They show up under "ElementSmpUtility" in JMC.
+ */
+package hs.elementSmpUtility.metrics.jfr;
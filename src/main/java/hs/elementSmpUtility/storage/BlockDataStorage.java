@@ -1,158 +1,208 @@
 package hs.elementSmpUtility.storage;
 
-import hs.elementSmpUtility.blocks.CustomBlockManager;
+import hs.elementSmpUtility.storage.backend.CustomBlockStore;
+import hs.elementSmpUtility.storage.index.BlockPos;
+import hs.elementSmpUtility.storage.index.ChunkBuckets;
+import hs.elementSmpUtility.storage.index.LongIntHashMap;
+import hs.elementSmpUtility.storage.index.TypeIdTable;
 import org.bukkit.Chunk;
 import org.bukkit.Location;
-import org.bukkit.NamespacedKey;
+import org.bukkit.World;
 import org.bukkit.block.Block;
-import org.bukkit.persistence.PersistentDataContainer;
-import org.bukkit.persistence.PersistentDataType;
-import org.bukkit.plugin.java.JavaPlugin;
+import org.bukkit.plugin.Plugin;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Manages storage and retrieval of custom block data with performance optimizations
  */
 public class BlockDataStorage {
 
-    private final JavaPlugin plugin;
-    private final CustomBlockManager blockManager;
-    private final NamespacedKey storageKey;
+    // Shared index of every loaded chunk without custom blocks; never written to,
+    // a chunk gets its own map on the first block placed in it
+    private static final LongIntHashMap EMPTY_INDEX = new LongIntHashMap(0);
 
-    // In-memory cache for performance
-    private final Map<String, String> blockCache;
+    private final Plugin plugin;
+    private final TypeIdTable typeIds;
+    private final CustomBlockStore store;
 
-    public BlockDataStorage(JavaPlugin plugin, CustomBlockManager blockManager) {
+    // In-memory index per world and chunk: packed block position -> block type id.
+    // A chunk's bucket only exists once all of its stored blocks are loaded, so a miss in
+    // an attached bucket means "not a custom block" without touching the store.
+    private final ChunkBuckets<LongIntHashMap> blockIndex;
+
+    // Store reads still in flight; a chunk is in here or in blockIndex, never both
+    private final ChunkBuckets<CompletableFuture<Void>> loading;
+
+    public BlockDataStorage(Plugin plugin, TypeIdTable typeIds, CustomBlockStore store) {
         this.plugin = plugin;
-        this.blockManager = blockManager;
-        this.storageKey = new NamespacedKey(plugin, "custom_blocks");
-        this.blockCache = new HashMap<>();
+        this.typeIds = typeIds;
+        this.store = store;
+        this.blockIndex = new ChunkBuckets<>(() -> EMPTY_INDEX);
+        this.loading = new ChunkBuckets<>(CompletableFuture::new);
     }
 
     /**
      * Save custom block data when placed
      */
     public void saveCustomBlock(Block block, String blockId) {
-        String locationKey = getLocationKey(block.getLocation());
-        blockCache.put(locationKey, blockId);
-
         Chunk chunk = block.getChunk();
-        PersistentDataContainer pdc = chunk.getPersistentDataContainer();
-
-        // Get existing data
-        String existingData = pdc.getOrDefault(storageKey, PersistentDataType.STRING, "");
+        long pos = BlockPos.pack(block);
+        store.put(chunk, pos, blockId);
 
-        // Add new block entry
-        String newEntry = locationKey + ":" + blockId;
-        String updatedData = existingData.isEmpty() ? newEntry : existingData + ";" + newEntry;
-
-        pdc.set(storageKey, PersistentDataType.STRING, updatedData);
+        LongIntHashMap index = blockIndex.get(chunk);
+        if (index == EMPTY_INDEX) {
+            index = new LongIntHashMap(8);
+            blockIndex.put(chunk, index);
+        }
+        if (index != null) {
+            index.put(pos, typeIds.getId(blockId));
+        } else {
+            reloadChunk(chunk);
+        }
     }
 
     /**
      * Get custom block ID at a location (FAST - cache only, use for scanning)
      */
     public String getCustomBlockIdCached(Location location) {
-        String locationKey = getLocationKey(location);
-        return blockCache.get(locationKey);
+        LongIntHashMap index = blockIndex.get(location);
+        if (index == null) {
+            return null;
+        }
+        return typeIds.getName(index.get(BlockPos.pack(location)));
     }
 
     /**
-     * Get custom block ID at a location (SLOW - loads from PDC if not cached)
+     * Get custom block ID at a block (loads the chunk's index once if it is not attached yet).
+     * Returns null while the chunk is still loading; check {@link #ensureLoaded} before
+     * treating null as "not a custom block".
      */
     public String getCustomBlockId(Block block) {
-        String locationKey = getLocationKey(block.getLocation());
-
-        // Check cache first
-        if (blockCache.containsKey(locationKey)) {
-            return blockCache.get(locationKey);
-        }
+        // A miss in a loaded chunk is answered from memory; vanilla blocks never reach the store
+        LongIntHashMap index = indexFor(block.getChunk());
+        return index != null ? typeIds.getName(index.get(BlockPos.pack(block))) : null;
+    }
 
-        // Load from chunk persistent data only if not in cache
-        // This is expensive and should be avoided in loops
-        loadSingleBlock(block.getChunk(), locationKey);
-        return blockCache.get(locationKey);
+    /**
+     * Whether the chunk's index is attached, starting a load if none is in flight
+     */
+    public boolean ensureLoaded(Chunk chunk) {
+        return indexFor(chunk) != null;
     }
 
     /**
-     * Load a single block from chunk data (expensive operation)
+     * Whether the index of the chunk at a location is attached (never starts a load)
      */
-    private void loadSingleBlock(Chunk chunk, String locationKey) {
-        PersistentDataContainer pdc = chunk.getPersistentDataContainer();
-        String data = pdc.getOrDefault(storageKey, PersistentDataType.STRING, "");
+    public boolean isLoaded(Location location) {
+        return blockIndex.get(location) != null;
+    }
 
-        if (data.isEmpty()) {
-            return;
+    /**
+     * Get the complete index of a chunk, or null while its store read is still in flight
+     */
+    private LongIntHashMap indexFor(Chunk chunk) {
+        LongIntHashMap index = blockIndex.get(chunk);
+        if (index == null) {
+            // Stores that read on the main thread attach the index right away
+            loadChunk(chunk);
+            index = blockIndex.get(chunk);
         }
+        return index;
+    }
 
-        // Parse data to find block
-        for (String entry : data.split(";")) {
-            if (entry.isEmpty()) continue;
+    /**
+     * Get the locations of all cached blocks of a type in a chunk (no block scan)
+     */
+    public List<Location> getCachedBlocksInChunk(Chunk chunk, String blockId) {
+        LongIntHashMap index = blockIndex.get(chunk);
+        if (index == null || index.isEmpty()) {
+            return Collections.emptyList();
+        }
 
-            String[] parts = entry.split(":", 2);
-            if (parts.length == 2 && parts[0].equals(locationKey)) {
-                blockCache.put(locationKey, parts[1]);
-                return;
+        int typeId = typeIds.getId(blockId);
+        World world = chunk.getWorld();
+        List<Location> locations = new ArrayList<>();
+        index.forEach((pos, id) -> {
+            if (id == typeId) {
+                locations.add(new Location(world, BlockPos.x(pos), BlockPos.y(pos), BlockPos.z(pos)));
             }
-        }
+        });
+        return locations;
     }
 
     /**
      * Remove custom block data when broken
      */
     public void removeCustomBlock(Block block) {
-        String locationKey = getLocationKey(block.getLocation());
-        blockCache.remove(locationKey);
-
         Chunk chunk = block.getChunk();
-        PersistentDataContainer pdc = chunk.getPersistentDataContainer();
-        String data = pdc.getOrDefault(storageKey, PersistentDataType.STRING, "");
-
-        if (data.isEmpty()) {
-            return;
-        }
+        long pos = BlockPos.pack(block);
+        store.remove(chunk, pos);
 
-        // Remove block entry
-        StringBuilder newData = new StringBuilder();
-        for (String entry : data.split(";")) {
-            if (entry.isEmpty()) continue;
-
-            String[] parts = entry.split(":", 2);
-            if (parts.length == 2 && !parts[0].equals(locationKey)) {
-                if (newData.length() > 0) {
-                    newData.append(";");
-                }
-                newData.append(entry);
-            }
-        }
-
-        if (newData.length() == 0) {
-            pdc.remove(storageKey);
+        LongIntHashMap index = blockIndex.get(chunk);
+        if (index != null) {
+            // Always a miss on the shared empty index, so it is never modified
+            index.remove(pos);
         } else {
-            pdc.set(storageKey, PersistentDataType.STRING, newData.toString());
+            reloadChunk(chunk);
         }
     }
 
     /**
-     * Load all custom blocks in a chunk into cache
+     * Load all custom blocks in a chunk into cache.
+     * The future completes on the main thread once the index is attached; a failed read
+     * attaches nothing, so the next access retries instead of trusting an empty chunk.
      */
-    public void loadChunk(Chunk chunk) {
-        PersistentDataContainer pdc = chunk.getPersistentDataContainer();
-        String data = pdc.getOrDefault(storageKey, PersistentDataType.STRING, "");
-
-        if (data.isEmpty()) {
-            return;
+    public CompletableFuture<Void> loadChunk(Chunk chunk) {
+        if (blockIndex.get(chunk) != null) {
+            return CompletableFuture.completedFuture(null);
         }
 
-        for (String entry : data.split(";")) {
-            if (entry.isEmpty()) continue;
+        CompletableFuture<Void> inFlight = loading.get(chunk);
+        if (inFlight != null && !inFlight.isCompletedExceptionally()) {
+            return inFlight;
+        }
 
-            String[] parts = entry.split(":", 2);
-            if (parts.length == 2) {
-                blockCache.put(parts[0], parts[1]);
+        CompletableFuture<Void> attach = new CompletableFuture<>();
+        loading.put(chunk, attach);
+        store.loadChunk(chunk).whenComplete((blocks, error) -> {
+            if (error != null) {
+                plugin.getLogger().severe("Could not load custom blocks of chunk " +
+                        chunk.getX() + "," + chunk.getZ() + ": " + error.getMessage());
+                attach.completeExceptionally(error);
+            } else if (loading.get(chunk) == attach) {
+                // Still the current load: the chunk was not unloaded or reloaded meanwhile
+                loading.remove(chunk);
+                if (blocks.isEmpty()) {
+                    blockIndex.put(chunk, EMPTY_INDEX);
+                } else {
+                    LongIntHashMap index = new LongIntHashMap(blocks.size());
+                    blocks.forEach((pos, blockId) -> index.put(pos, typeIds.getId(blockId)));
+                    blockIndex.put(chunk, index);
+                }
+                attach.complete(null);
             }
+        });
+        return attach;
+    }
+
+    /**
+     * Restart the load of a chunk after writing to it, so the read is queued behind the write
+     */
+    private void reloadChunk(Chunk chunk) {
+        CompletableFuture<Void> inFlight = loading.remove(chunk);
+        CompletableFuture<Void> load = loadChunk(chunk);
+        if (inFlight != null && inFlight != load) {
+            load.whenComplete((ignored, error) -> {
+                if (error != null) {
+                    inFlight.completeExceptionally(error);
+                } else {
+                    inFlight.complete(null);
+                }
+            });
         }
     }
 
@@ -160,17 +210,37 @@ public class BlockDataStorage {
      * Unload chunk data from cache
      */
     public void unloadChunk(Chunk chunk) {
-        String chunkKey = chunk.getWorld().getName() + "," + chunk.getX() + "," + chunk.getZ();
-        blockCache.entrySet().removeIf(entry -> entry.getKey().startsWith(chunkKey));
+        blockIndex.remove(chunk);
+        loading.remove(chunk);
+    }
+
+    /**
+     * Drop all cached data for a world
+     */
+    public void unloadWorld(World world) {
+        blockIndex.removeWorld(world);
+        loading.removeWorld(world);
+    }
+
+    /**
+     * Number of cached custom blocks in a chunk (0 if the chunk is not loaded)
+     */
+    public int getCachedBlockCount(Chunk chunk) {
+        LongIntHashMap index = blockIndex.get(chunk);
+        return index != null ? index.size() : 0;
+    }
+
+    /**
+     * Number of chunks currently held in the cache
+     */
+    public int getCachedChunkCount() {
+        return blockIndex.bucketCount();
     }
 
     /**
-     * Create a unique location key
+     * Number of chunks whose store read is still in flight
      */
-    private String getLocationKey(Location loc) {
-        return loc.getWorld().getName() + "," +
-                loc.getBlockX() + "," +
-                loc.getBlockY() + "," +
-                loc.getBlockZ();
+    public int getLoadingChunkCount() {
+        return loading.bucketCount();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,156 @@
+package hs.elementSmpUtility.storage;
+
+import hs.elementSmpUtility.metrics.Metrics;
+import hs.elementSmpUtility.metrics.jfr.BackupFlushEvent;
+import org.bukkit.Bukkit;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+
+/**
+ * Debounced write-behind for a file whose content is produced as one byte snapshot.
+ * Changes only mark the file dirty; a snapshot is taken on the main thread at most once per
+ * interval and written off the main thread with temp-file + atomic rename.
+ */
+public class FileWriteBehind {
+
+    private final Plugin plugin;
+    private final File file;
+    private final Supplier<byte[]> snapshot;
+    private final Executor async;
+    private final Object writeLock = new Object();
+
+    private volatile boolean dirty;
+    private long snapshotSequence;
+    private long writtenSequence;
+    private BukkitTask task;
+
+    public FileWriteBehind(Plugin plugin, File file, Supplier<byte[]> snapshot) {
+        this(plugin, file, snapshot, task -> Bukkit.getScheduler().runTaskAsynchronously(plugin, task));
+    }
+
+    /**
+     * @param async runs background writes off the main thread
+     */
+    public FileWriteBehind(Plugin plugin, File file, Supplier<byte[]> snapshot, Executor async) {
+        this.plugin = plugin;
+        this.file = file;
+        this.snapshot = snapshot;
+        this.async = async;
+    }
+
+    /**
+     * Start the periodic flush task
+     */
+    public void start(long intervalSeconds) {
+        if (task == null) {
+            long intervalTicks = Math.max(1L, intervalSeconds) * 20L;
+            task = Bukkit.getScheduler().runTaskTimer(plugin, this::flush, intervalTicks, intervalTicks);
+        }
+    }
+
+    /**
+     * Stop the periodic task and write any pending changes synchronously
+     */
+    public void shutdown() {
+        if (task != null) {
+            task.cancel();
+            task = null;
+        }
+        flushNow();
+    }
+
+    /**
+     * Mark the file as changed (cheap, safe to call on every edit)
+     */
+    public void markDirty() {
+        dirty = true;
+    }
+
+    public boolean isDirty() {
+        return dirty;
+    }
+
+    /**
+     * Snapshot on the main thread and write asynchronously, if anything changed
+     */
+    public void flush() {
+        if (!dirty) {
+            return;
+        }
+
+        byte[] data = takeSnapshot();
+        long sequence = snapshotSequence;
+        async.execute(() -> write(data, sequence));
+    }
+
+    /**
+     * Snapshot and write on the calling thread (used on shutdown and before reloads).
+     * A background write that has not finished yet may never run once the plugin disables,
+     * so its snapshot is taken again and written here.
+     */
+    public void flushNow() {
+        if (!dirty && !hasUnwrittenSnapshot()) {
+            return;
+        }
+
+        write(takeSnapshot(), snapshotSequence);
+    }
+
+    private boolean hasUnwrittenSnapshot() {
+        synchronized (writeLock) {
+            return writtenSequence < snapshotSequence;
+        }
+    }
+
+    private byte[] takeSnapshot() {
+        dirty = false;
+        snapshotSequence++;
+        return snapshot.get();
+    }
+
+    private void write(byte[] data, long sequence) {
+        synchronized (writeLock) {
+            // A newer snapshot was already written, this one is stale
+            if (sequence <= writtenSequence) {
+                return;
+            }
+
+            long start = System.nanoTime();
+            BackupFlushEvent event = new BackupFlushEvent();
+            event.begin();
+
+            Path target = file.toPath();
+            Path temp = target.resolveSibling(file.getName() + ".tmp");
+            try {
+                Files.createDirectories(target.getParent());
+                Files.write(temp, data);
+                try {
+                    Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                } catch (AtomicMoveNotSupportedException e) {
+                    Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+                }
+                writtenSequence = sequence;
+                Metrics.BACKUP_WRITE.recordSince(start);
+
+                if (event.shouldCommit()) {
+                    event.file = file.getName();
+                    event.operation = "write";
+                    event.bytes = data.length;
+                    event.commit();
+                }
+            } catch (IOException e) {
+                plugin.getLogger().severe("Could not save " + file.getName() + ": " + e.getMessage());
+                dirty = true;
+            }
+        }
+    }
+}
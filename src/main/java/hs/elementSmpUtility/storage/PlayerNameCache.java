@@ -0,0 +1,130 @@
+package hs.elementSmpUtility.storage;
+
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+import org.bukkit.plugin.java.JavaPlugin;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded LRU cache of player names for ownership messages.
+ * A miss never blocks the caller: the name is looked up asynchronously and a short
+ * UUID placeholder is returned until the lookup completes.
+ */
+public class PlayerNameCache {
+
+    private static final String UNKNOWN = "Unknown";
+
+    private final JavaPlugin plugin;
+    private final int maxSize;
+    private final Map<UUID, String> names;
+    private final Set<UUID> pending = ConcurrentHashMap.newKeySet();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    public PlayerNameCache(JavaPlugin plugin, int maxSize) {
+        this.plugin = plugin;
+        this.maxSize = Math.max(16, maxSize);
+        this.names = Collections.synchronizedMap(new LinkedHashMap<>(64, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<UUID, String> eldest) {
+                return size() > PlayerNameCache.this.maxSize;
+            }
+        });
+    }
+
+    /**
+     * Get a player's name, or a placeholder while it is being resolved (main thread)
+     */
+    public String getName(UUID playerId) {
+        String name = names.get(playerId);
+        if (name != null) {
+            hits.incrementAndGet();
+            return name;
+        }
+
+        misses.incrementAndGet();
+        Player online = Bukkit.getPlayer(playerId);
+        if (online != null) {
+            put(playerId, online.getName());
+            return online.getName();
+        }
+
+        resolveAsync(playerId);
+        return playerId.toString().substring(0, 8) + "...";
+    }
+
+    /**
+     * Store a known name (e.g. from a join event)
+     */
+    public void put(UUID playerId, String name) {
+        names.put(playerId, name);
+    }
+
+    /**
+     * Resolve the names of the given players in the background, up to the cache size
+     */
+    public void warm(Collection<UUID> playerIds) {
+        List<UUID> toResolve = new ArrayList<>();
+        for (UUID playerId : playerIds) {
+            if (toResolve.size() >= maxSize) {
+                break;
+            }
+            if (!names.containsKey(playerId) && pending.add(playerId)) {
+                toResolve.add(playerId);
+            }
+        }
+
+        if (toResolve.isEmpty()) {
+            return;
+        }
+
+        Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> {
+            for (UUID playerId : toResolve) {
+                names.putIfAbsent(playerId, lookup(playerId));
+                pending.remove(playerId);
+            }
+            plugin.getLogger().info("Cached names of " + toResolve.size() + " pedestal owners");
+        });
+    }
+
+    private void resolveAsync(UUID playerId) {
+        if (!pending.add(playerId)) {
+            return;
+        }
+
+        Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> {
+            names.putIfAbsent(playerId, lookup(playerId));
+            pending.remove(playerId);
+        });
+    }
+
+    /**
+     * Blocking lookup through the server's user cache (async threads only)
+     */
+    private static String lookup(UUID playerId) {
+        String name = Bukkit.getOfflinePlayer(playerId).getName();
+        return name != null ? name : UNKNOWN;
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    public int size() {
+        return names.size();
+    }
+}
@@ -0,0 +1,29 @@
+package hs.elementSmpUtility.storage.backend;
+
+import hs.elementSmpUtility.storage.index.LongObjectHashMap;
+import org.bukkit.Chunk;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Persistence of custom block ids by block position.
+ * Callers keep their own per-chunk caches; a store is only read when a chunk is first loaded.
+ */
+public interface CustomBlockStore {
+
+    /**
+     * Read every stored block of a chunk by packed position (called on the main thread).
+     * The future completes on the main thread, or exceptionally if the chunk could not be read.
+     */
+    CompletableFuture<LongObjectHashMap<String>> loadChunk(Chunk chunk);
+
+    /**
+     * Store the block id at a packed position inside the chunk
+     */
+    void put(Chunk chunk, long pos, String blockId);
+
+    /**
+     * Remove the block stored at a packed position inside the chunk
+     */
+    void remove(Chunk chunk, long pos);
+}
@@ -0,0 +1,75 @@
+package hs.elementSmpUtility.storage.backend;
+
+import hs.elementSmpUtility.storage.codec.ChunkEntries;
+import hs.elementSmpUtility.storage.codec.ChunkEntryStore;
+import hs.elementSmpUtility.storage.codec.StringEntriesDataType;
+import hs.elementSmpUtility.storage.index.BlockPos;
+import hs.elementSmpUtility.storage.index.LongObjectHashMap;
+import org.bukkit.Chunk;
+import org.bukkit.NamespacedKey;
+import org.bukkit.plugin.Plugin;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+/**
+ * Custom blocks stored in the chunk's persistent data container
+ */
+public class PdcCustomBlockStore implements CustomBlockStore {
+
+    private final ChunkEntryStore<String> chunkStore;
+
+    public PdcCustomBlockStore(Plugin plugin) {
+        this.chunkStore = new ChunkEntryStore<>(new NamespacedKey(plugin, "custom_blocks"),
+                StringEntriesDataType.INSTANCE, Function.identity(), plugin.getLogger());
+    }
+
+    @Override
+    public CompletableFuture<LongObjectHashMap<String>> loadChunk(Chunk chunk) {
+        // Chunk data is already in memory, so the read completes right away
+        LongObjectHashMap<String> blocks = new LongObjectHashMap<>(8);
+        if (!chunkStore.has(chunk)) {
+            return CompletableFuture.completedFuture(blocks);
+        }
+
+        int chunkX = chunk.getX();
+        int chunkZ = chunk.getZ();
+        chunkStore.read(chunk).forEach((local, blockId) -> blocks.put(
+                BlockPos.fromLocal(chunkX, chunkZ, ChunkEntries.localX(local),
+                        ChunkEntries.localY(local), ChunkEntries.localZ(local)),
+                blockId));
+        return CompletableFuture.completedFuture(blocks);
+    }
+
+    @Override
+    public void put(Chunk chunk, long pos, String blockId) {
+        ChunkEntries<String> entries = chunkStore.read(chunk);
+        entries.put(ChunkEntries.local(BlockPos.x(pos), BlockPos.y(pos), BlockPos.z(pos)), blockId);
+        chunkStore.write(chunk, entries);
+    }
+
+    @Override
+    public void remove(Chunk chunk, long pos) {
+        if (!chunkStore.has(chunk)) {
+            return;
+        }
+
+        ChunkEntries<String> entries = chunkStore.read(chunk);
+        entries.remove(ChunkEntries.local(BlockPos.x(pos), BlockPos.y(pos), BlockPos.z(pos)));
+        chunkStore.write(chunk, entries);
+    }
+
+    /**
+     * Whether the chunk holds any custom block data
+     */
+    public boolean has(Chunk chunk) {
+        return chunkStore.has(chunk);
+    }
+
+    /**
+     * Drop all custom block data of the chunk (after importing it elsewhere)
+     */
+    public void clear(Chunk chunk) {
+        chunkStore.write(chunk, new ChunkEntries<>());
+    }
+}
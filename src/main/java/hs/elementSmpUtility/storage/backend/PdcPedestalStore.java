@@ -0,0 +1,148 @@
+package hs.elementSmpUtility.storage.backend;
+
+import hs.elementSmpUtility.storage.codec.ChunkEntries;
+import hs.elementSmpUtility.storage.codec.ChunkEntryStore;
+import hs.elementSmpUtility.storage.codec.ItemEntriesDataType;
+import hs.elementSmpUtility.storage.codec.ItemPayloadCodec;
+import hs.elementSmpUtility.storage.codec.PedestalRecordEntriesDataType;
+import hs.elementSmpUtility.storage.codec.UuidEntriesDataType;
+import hs.elementSmpUtility.storage.index.BlockPos;
+import hs.elementSmpUtility.storage.index.LongObjectHashMap;
+import hs.elementSmpUtility.storage.pedestal.PedestalRecord;
+import hs.elementSmpUtility.storage.pedestal.StoredItem;
+import org.bukkit.Chunk;
+import org.bukkit.NamespacedKey;
+import org.bukkit.plugin.Plugin;
+
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Pedestal records stored in the chunk's persistent data container under one key.
+ * Chunks still holding the separate pedestal_items and pedestal_owners keys are merged
+ * into records the first time they load.
+ */
+public class PdcPedestalStore implements PedestalStore {
+
+    private final Plugin plugin;
+    private final ChunkEntryStore<PedestalRecord> chunkStore;
+    private final ChunkEntryStore<byte[]> legacyItemStore;
+    private final ChunkEntryStore<UUID> legacyOwnerStore;
+
+    public PdcPedestalStore(Plugin plugin) {
+        this.plugin = plugin;
+        this.chunkStore = new ChunkEntryStore<>(new NamespacedKey(plugin, "pedestals"),
+                PedestalRecordEntriesDataType.INSTANCE, value -> null, plugin.getLogger());
+        this.legacyItemStore = new ChunkEntryStore<>(new NamespacedKey(plugin, "pedestal_items"),
+                ItemEntriesDataType.INSTANCE, this::parseLegacyItem, plugin.getLogger());
+        this.legacyOwnerStore = new ChunkEntryStore<>(new NamespacedKey(plugin, "pedestal_owners"),
+                UuidEntriesDataType.INSTANCE, this::parseLegacyOwner, plugin.getLogger());
+    }
+
+    @Override
+    public CompletableFuture<LongObjectHashMap<PedestalRecord>> loadChunk(Chunk chunk) {
+        // Chunk data is already in memory, so the read completes right away
+        LongObjectHashMap<PedestalRecord> records = new LongObjectHashMap<>(4);
+        if (!has(chunk)) {
+            return CompletableFuture.completedFuture(records);
+        }
+
+        ChunkEntries<PedestalRecord> entries = read(chunk);
+        int chunkX = chunk.getX();
+        int chunkZ = chunk.getZ();
+        entries.forEach((local, record) -> records.put(toPos(chunkX, chunkZ, local), record));
+        return CompletableFuture.completedFuture(records);
+    }
+
+    @Override
+    public void put(Chunk chunk, long pos, PedestalRecord record) {
+        ChunkEntries<PedestalRecord> entries = read(chunk);
+        entries.put(ChunkEntries.local(BlockPos.x(pos), BlockPos.y(pos), BlockPos.z(pos)), record);
+        chunkStore.write(chunk, entries);
+    }
+
+    @Override
+    public void remove(Chunk chunk, long pos) {
+        if (!has(chunk)) {
+            return;
+        }
+
+        ChunkEntries<PedestalRecord> entries = read(chunk);
+        entries.remove(ChunkEntries.local(BlockPos.x(pos), BlockPos.y(pos), BlockPos.z(pos)));
+        chunkStore.write(chunk, entries);
+    }
+
+    /**
+     * Whether the chunk holds any pedestal data, in the current or a legacy layout
+     */
+    public boolean has(Chunk chunk) {
+        return chunkStore.has(chunk) || legacyItemStore.has(chunk) || legacyOwnerStore.has(chunk);
+    }
+
+    /**
+     * Drop all pedestal data of the chunk (after importing it elsewhere)
+     */
+    public void clear(Chunk chunk) {
+        chunkStore.write(chunk, new ChunkEntries<>());
+        legacyItemStore.write(chunk, new ChunkEntries<>());
+        legacyOwnerStore.write(chunk, new ChunkEntries<>());
+    }
+
+    /**
+     * Read the chunk's records, merging and dropping the legacy keys if present
+     */
+    private ChunkEntries<PedestalRecord> read(Chunk chunk) {
+        ChunkEntries<PedestalRecord> entries = chunkStore.read(chunk);
+        if (!legacyItemStore.has(chunk) && !legacyOwnerStore.has(chunk)) {
+            return entries;
+        }
+
+        legacyItemStore.read(chunk).forEach((local, payload) -> {
+            PedestalRecord record = entries.get(local);
+            if (record == null || record.getItem() == null) {
+                entries.put(local, (record != null ? record : PedestalRecord.EMPTY).withItem(new StoredItem(payload)));
+            }
+        });
+
+        legacyOwnerStore.read(chunk).forEach((local, owner) -> {
+            PedestalRecord record = entries.get(local);
+            if (record == null || record.getOwner() == null) {
+                entries.put(local, (record != null ? record : PedestalRecord.EMPTY).withOwner(owner));
+            }
+        });
+
+        chunkStore.write(chunk, entries);
+        legacyItemStore.write(chunk, new ChunkEntries<>());
+        legacyOwnerStore.write(chunk, new ChunkEntries<>());
+        return entries;
+    }
+
+    private static long toPos(int chunkX, int chunkZ, int local) {
+        return BlockPos.fromLocal(chunkX, chunkZ, ChunkEntries.localX(local),
+                ChunkEntries.localY(local), ChunkEntries.localZ(local));
+    }
+
+    /**
+     * Convert an item from the legacy string format (Base64 Java serialization)
+     */
+    private byte[] parseLegacyItem(String data) {
+        try {
+            return ItemPayloadCodec.fromLegacyBase64(data);
+        } catch (Exception e) {
+            plugin.getLogger().warning("Failed to migrate legacy item: " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Parse an owner UUID from the legacy string format
+     */
+    private UUID parseLegacyOwner(String value) {
+        try {
+            return UUID.fromString(value);
+        } catch (IllegalArgumentException e) {
+            plugin.getLogger().warning("Invalid UUID in chunk data: " + value);
+            return null;
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package hs.elementSmpUtility.storage.backend;
+
+import org.bukkit.plugin.Plugin;
+
+/**
+ * Default backend: everything lives in chunk persistent data containers and is saved with the world
+ */
+public class PdcStorageBackend implements StorageBackend {
+
+    private final PdcCustomBlockStore customBlocks;
+    private final PdcPedestalStore pedestals;
+
+    public PdcStorageBackend(Plugin plugin) {
+        this.customBlocks = new PdcCustomBlockStore(plugin);
+        this.pedestals = new PdcPedestalStore(plugin);
+    }
+
+    @Override
+    public PdcCustomBlockStore getCustomBlockStore() {
+        return customBlocks;
+    }
+
+    @Override
+    public PdcPedestalStore getPedestalStore() {
+        return pedestals;
+    }
+
+    @Override
+    public void close() {
+        // Chunk data is saved by the server
+    }
+
+    @Override
+    public String getName() {
+        return "pdc";
+    }
+}
@@ -0,0 +1,30 @@
+package hs.elementSmpUtility.storage.backend;
+
+import hs.elementSmpUtility.storage.index.LongObjectHashMap;
+import hs.elementSmpUtility.storage.pedestal.PedestalRecord;
+import org.bukkit.Chunk;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Persistence of pedestal records by block position.
+ * Callers keep their own per-chunk caches; a store is only read when a chunk is first loaded.
+ */
+public interface PedestalStore {
+
+    /**
+     * Read every stored record of a chunk by packed position (called on the main thread).
+     * The future completes on the main thread, or exceptionally if the chunk could not be read.
+     */
+    CompletableFuture<LongObjectHashMap<PedestalRecord>> loadChunk(Chunk chunk);
+
+    /**
+     * Store a non-empty record at a packed position inside the chunk
+     */
+    void put(Chunk chunk, long pos, PedestalRecord record);
+
+    /**
+     * Remove the record stored at a packed position inside the chunk
+     */
+    void remove(Chunk chunk, long pos);
+}
@@ -0,0 +1,502 @@
+package hs.elementSmpUtility.storage.backend;
+
+import hs.elementSmpUtility.metrics.Metrics;
+import hs.elementSmpUtility.storage.index.BlockPos;
+import hs.elementSmpUtility.storage.index.LongObjectHashMap;
+import hs.elementSmpUtility.storage.pedestal.PedestalRecord;
+import hs.elementSmpUtility.storage.pedestal.StoredItem;
+import org.bukkit.Chunk;
+import org.bukkit.plugin.Plugin;
+
+import java.io.File;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Embedded SQLite backend (the JDBC driver ships with the server).
+ * <p>
+ * One connection is owned by a single writer thread. Writes are queued and applied as
+ * prepared-statement batches, one transaction per drained batch. Chunk loads queue their
+ * query behind any pending writes, so they always see the latest state, and hand the rows
+ * back on the main thread once their transaction has committed, without ever blocking it.
+ * Data still found in a chunk's PDC is imported in the same transaction as the chunk's first
+ * read and only removed from the PDC after that commit.
+ */
+public class SqliteStorageBackend implements StorageBackend {
+
+    private static final int MAX_BATCH = 512;
+    private static final int MAX_ATTEMPTS = 5;
+    private static final long RETRY_DELAY_MS = 100L;
+
+    private final Plugin plugin;
+    private final Executor mainThread;
+    private final PdcStorageBackend pdc;
+    private final Connection connection;
+    private final PreparedStatement putBlock;
+    private final PreparedStatement removeBlock;
+    private final PreparedStatement selectBlocks;
+    private final PreparedStatement putPedestal;
+    private final PreparedStatement removePedestal;
+    private final PreparedStatement selectPedestals;
+    private final BlockingQueue<Object> queue = new LinkedBlockingQueue<>();
+    private final Thread writer;
+    private final CustomBlockStore customBlocks = new SqliteCustomBlockStore();
+    private final PedestalStore pedestals = new SqlitePedestalStore();
+
+    private volatile boolean running = true;
+
+    public SqliteStorageBackend(Plugin plugin, File file) throws SQLException {
+        this(plugin, file, task -> plugin.getServer().getScheduler().runTask(plugin, task));
+    }
+
+    /**
+     * @param mainThread runs query results on the server thread
+     */
+    public SqliteStorageBackend(Plugin plugin, File file, Executor mainThread) throws SQLException {
+        this.plugin = plugin;
+        this.mainThread = mainThread;
+        this.pdc = new PdcStorageBackend(plugin);
+
+        file.getParentFile().mkdirs();
+        this.connection = DriverManager.getConnection("jdbc:sqlite:" + file.getAbsolutePath());
+        createSchema();
+        connection.setAutoCommit(false);
+
+        this.putBlock = connection.prepareStatement(
+                "INSERT OR REPLACE INTO custom_blocks (world, x, y, z, chunk_x, chunk_z, block_id) VALUES (?, ?, ?, ?, ?, ?, ?)");
+        this.removeBlock = connection.prepareStatement(
+                "DELETE FROM custom_blocks WHERE world = ? AND x = ? AND y = ? AND z = ?");
+        this.selectBlocks = connection.prepareStatement(
+                "SELECT x, y, z, block_id FROM custom_blocks WHERE world = ? AND chunk_x = ? AND chunk_z = ?");
+        this.putPedestal = connection.prepareStatement(
+                "INSERT OR REPLACE INTO pedestals (world, x, y, z, chunk_x, chunk_z, owner_msb, owner_lsb, item) " +
+                        "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)");
+        this.removePedestal = connection.prepareStatement(
+                "DELETE FROM pedestals WHERE world = ? AND x = ? AND y = ? AND z = ?");
+        this.selectPedestals = connection.prepareStatement(
+                "SELECT x, y, z, owner_msb, owner_lsb, item FROM pedestals WHERE world = ? AND chunk_x = ? AND chunk_z = ?");
+
+        this.writer = new Thread(this::runWriter, "ElementSmpUtility-SqliteWriter");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    private void createSchema() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("PRAGMA journal_mode=WAL");
+            statement.execute("PRAGMA synchronous=NORMAL");
+            statement.execute("CREATE TABLE IF NOT EXISTS custom_blocks (" +
+                    "world TEXT NOT NULL, x INTEGER NOT NULL, y INTEGER NOT NULL, z INTEGER NOT NULL, " +
+                    "chunk_x INTEGER NOT NULL, chunk_z INTEGER NOT NULL, block_id TEXT NOT NULL, " +
+                    "PRIMARY KEY (world, x, y, z))");
+            statement.execute("CREATE INDEX IF NOT EXISTS custom_blocks_chunk ON custom_blocks (world, chunk_x, chunk_z)");
+            statement.execute("CREATE TABLE IF NOT EXISTS pedestals (" +
+                    "world TEXT NOT NULL, x INTEGER NOT NULL, y INTEGER NOT NULL, z INTEGER NOT NULL, " +
+                    "chunk_x INTEGER NOT NULL, chunk_z INTEGER NOT NULL, owner_msb INTEGER, owner_lsb INTEGER, item BLOB, " +
+                    "PRIMARY KEY (world, x, y, z))");
+            statement.execute("CREATE INDEX IF NOT EXISTS pedestals_chunk ON pedestals (world, chunk_x, chunk_z)");
+            statement.execute("CREATE INDEX IF NOT EXISTS pedestals_owner ON pedestals (owner_msb, owner_lsb)");
+        }
+    }
+
+    @Override
+    public CustomBlockStore getCustomBlockStore() {
+        return customBlocks;
+    }
+
+    @Override
+    public PedestalStore getPedestalStore() {
+        return pedestals;
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        try {
+            writer.join(TimeUnit.SECONDS.toMillis(30));
+            if (writer.isAlive()) {
+                plugin.getLogger().severe("Timed out waiting for the SQLite writer to finish!");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        // Nothing will answer queries that were still queued once the writer is gone
+        Object op;
+        while ((op = queue.poll()) != null) {
+            if (op instanceof Query<?> query) {
+                query.result().completeExceptionally(closed());
+            }
+        }
+
+        try {
+            connection.close();
+        } catch (SQLException e) {
+            plugin.getLogger().severe("Could not close SQLite storage: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public String getName() {
+        return "sqlite";
+    }
+
+    /**
+     * Queue a write for the writer thread (main thread)
+     */
+    private void write(PreparedStatement statement, String world, long pos, Binder binder) {
+        if (!running) {
+            plugin.getLogger().warning("Dropped a SQLite write after storage was closed");
+            return;
+        }
+        queue.add(new Write(statement, world, pos, binder));
+    }
+
+    /**
+     * Queue a query for the writer thread behind all queued writes (main thread).
+     * The result is delivered on the main thread; a closed backend fails right away.
+     */
+    private <T> CompletableFuture<T> query(SqlQuery<T> query) {
+        if (!running) {
+            return CompletableFuture.failedFuture(closed());
+        }
+
+        Query<T> op = new Query<>(query, new CompletableFuture<>());
+        queue.add(op);
+        return op.result();
+    }
+
+    /**
+     * Complete a query on the main thread (writer thread)
+     */
+    private <T> void deliver(CompletableFuture<T> result, T value) {
+        if (running) {
+            try {
+                mainThread.execute(() -> result.complete(value));
+                return;
+            } catch (RuntimeException e) {
+                // The scheduler refuses tasks once the plugin is disabled
+            }
+        }
+        result.completeExceptionally(closed());
+    }
+
+    private static IllegalStateException closed() {
+        return new IllegalStateException("SQLite storage is closed");
+    }
+
+    private void runWriter() {
+        List<Object> batch = new ArrayList<>(MAX_BATCH);
+        while (running || !queue.isEmpty()) {
+            try {
+                Object first = queue.poll(250, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+            } catch (InterruptedException e) {
+                break;
+            }
+
+            queue.drainTo(batch, MAX_BATCH - 1);
+            apply(batch);
+            batch.clear();
+        }
+    }
+
+    /**
+     * Apply one drained batch in a single transaction, keeping the submission order.
+     * A failed transaction is rolled back and its operations are retried one by one,
+     * so a bad write no longer takes the unrelated writes of its batch with it.
+     */
+    private void apply(List<Object> batch) {
+        long start = System.nanoTime();
+        try {
+            execute(batch);
+        } catch (SQLException e) {
+            rollback();
+            plugin.getLogger().warning("SQLite batch of " + batch.size() +
+                    " operations failed, retrying them one by one: " + e.getMessage());
+            for (Object op : batch) {
+                retry(op);
+            }
+        }
+        Metrics.SQL_BATCH.recordSince(start);
+    }
+
+    /**
+     * Run operations in one transaction; query results are only handed out after the commit
+     */
+    private void execute(List<Object> ops) throws SQLException {
+        List<Runnable> results = new ArrayList<>();
+        PreparedStatement pending = null;
+        for (Object op : ops) {
+            if (op instanceof Write write) {
+                // Consecutive writes of the same kind share one JDBC batch
+                if (pending != null && pending != write.statement()) {
+                    pending.executeBatch();
+                }
+                pending = write.statement();
+                write.binder().bind(pending);
+                pending.addBatch();
+            } else if (op instanceof Query<?> query) {
+                if (pending != null) {
+                    pending.executeBatch();
+                    pending = null;
+                }
+                results.add(run(query));
+            }
+        }
+
+        if (pending != null) {
+            pending.executeBatch();
+        }
+        connection.commit();
+        results.forEach(Runnable::run);
+    }
+
+    /**
+     * Apply one operation in its own transaction, backing off between attempts (a busy or
+     * full disk usually recovers). An operation that keeps failing is reported and skipped.
+     */
+    private void retry(Object op) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                execute(List.of(op));
+                return;
+            } catch (SQLException e) {
+                rollback();
+                if (attempt < MAX_ATTEMPTS) {
+                    try {
+                        Thread.sleep(RETRY_DELAY_MS * attempt);
+                        continue;
+                    } catch (InterruptedException interrupted) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+
+                if (op instanceof Query<?> query) {
+                    query.result().completeExceptionally(e);
+                } else if (op instanceof Write write) {
+                    plugin.getLogger().severe("Giving up on SQLite write at " + write.world() + " " +
+                            BlockPos.x(write.pos()) + "," + BlockPos.y(write.pos()) + "," + BlockPos.z(write.pos()) +
+                            " after " + attempt + " attempts: " + e.getMessage());
+                }
+                return;
+            }
+        }
+    }
+
+    private void rollback() {
+        try {
+            for (PreparedStatement statement : new PreparedStatement[]{putBlock, removeBlock, putPedestal, removePedestal}) {
+                statement.clearBatch();
+            }
+            connection.rollback();
+        } catch (SQLException e) {
+            plugin.getLogger().severe("Could not roll back SQLite batch: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Run a query inside the open transaction, returning the delivery of its result
+     */
+    private <T> Runnable run(Query<T> query) throws SQLException {
+        T value = query.query().run();
+        return () -> deliver(query.result(), value);
+    }
+
+    /**
+     * Add and execute a JDBC batch of prepared binders
+     */
+    private static void executeAll(PreparedStatement statement, List<Binder> binders) throws SQLException {
+        if (binders.isEmpty()) {
+            return;
+        }
+
+        for (Binder binder : binders) {
+            binder.bind(statement);
+            statement.addBatch();
+        }
+        statement.executeBatch();
+    }
+
+    private static void bindPosition(PreparedStatement statement, String world, long pos) throws SQLException {
+        statement.setString(1, world);
+        statement.setInt(2, BlockPos.x(pos));
+        statement.setInt(3, BlockPos.y(pos));
+        statement.setInt(4, BlockPos.z(pos));
+    }
+
+    private static void bindChunkQuery(PreparedStatement statement, String world, int chunkX, int chunkZ)
+            throws SQLException {
+        statement.setString(1, world);
+        statement.setInt(2, chunkX);
+        statement.setInt(3, chunkZ);
+    }
+
+    private final class SqliteCustomBlockStore implements CustomBlockStore {
+
+        @Override
+        public CompletableFuture<LongObjectHashMap<String>> loadChunk(Chunk chunk) {
+            String world = chunk.getWorld().getName();
+            int chunkX = chunk.getX();
+            int chunkZ = chunk.getZ();
+
+            // Blocks still stored in the chunk PDC are imported in the same transaction as the read
+            PdcCustomBlockStore legacy = pdc.getCustomBlockStore();
+            List<Binder> imports = new ArrayList<>();
+            if (legacy.has(chunk)) {
+                legacy.loadChunk(chunk).join().forEach((pos, blockId) -> imports.add(bindBlock(world, pos, blockId)));
+            }
+
+            return query(() -> {
+                executeAll(putBlock, imports);
+                bindChunkQuery(selectBlocks, world, chunkX, chunkZ);
+                LongObjectHashMap<String> rows = new LongObjectHashMap<>(8);
+                try (ResultSet result = selectBlocks.executeQuery()) {
+                    while (result.next()) {
+                        rows.put(BlockPos.pack(result.getInt(1), result.getInt(2), result.getInt(3)), result.getString(4));
+                    }
+                }
+                return rows;
+            }).thenApply(rows -> {
+                clearImported(chunk, imports, legacy::clear);
+                return rows;
+            });
+        }
+
+        @Override
+        public void put(Chunk chunk, long pos, String blockId) {
+            String world = chunk.getWorld().getName();
+            write(putBlock, world, pos, bindBlock(world, pos, blockId));
+        }
+
+        @Override
+        public void remove(Chunk chunk, long pos) {
+            String world = chunk.getWorld().getName();
+            write(removeBlock, world, pos, statement -> bindPosition(statement, world, pos));
+        }
+
+        private Binder bindBlock(String world, long pos, String blockId) {
+            return statement -> {
+                bindPosition(statement, world, pos);
+                statement.setInt(5, BlockPos.x(pos) >> 4);
+                statement.setInt(6, BlockPos.z(pos) >> 4);
+                statement.setString(7, blockId);
+            };
+        }
+    }
+
+    private final class SqlitePedestalStore implements PedestalStore {
+
+        @Override
+        public CompletableFuture<LongObjectHashMap<PedestalRecord>> loadChunk(Chunk chunk) {
+            String world = chunk.getWorld().getName();
+            int chunkX = chunk.getX();
+            int chunkZ = chunk.getZ();
+
+            // Records still stored in the chunk PDC are imported in the same transaction as the read
+            PdcPedestalStore legacy = pdc.getPedestalStore();
+            List<Binder> imports = new ArrayList<>();
+            if (legacy.has(chunk)) {
+                legacy.loadChunk(chunk).join().forEach((pos, record) -> imports.add(bindPedestal(world, pos, record)));
+            }
+
+            return query(() -> {
+                executeAll(putPedestal, imports);
+                bindChunkQuery(selectPedestals, world, chunkX, chunkZ);
+                LongObjectHashMap<PedestalRecord> rows = new LongObjectHashMap<>(4);
+                try (ResultSet result = selectPedestals.executeQuery()) {
+                    while (result.next()) {
+                        UUID owner = result.getObject(4) != null
+                                ? new UUID(result.getLong(4), result.getLong(5))
+                                : null;
+                        byte[] item = result.getBytes(6);
+                        rows.put(BlockPos.pack(result.getInt(1), result.getInt(2), result.getInt(3)),
+                                new PedestalRecord(owner, item != null ? new StoredItem(item) : null));
+                    }
+                }
+                return rows;
+            }).thenApply(rows -> {
+                clearImported(chunk, imports, legacy::clear);
+                return rows;
+            });
+        }
+
+        @Override
+        public void put(Chunk chunk, long pos, PedestalRecord record) {
+            String world = chunk.getWorld().getName();
+            write(putPedestal, world, pos, bindPedestal(world, pos, record));
+        }
+
+        @Override
+        public void remove(Chunk chunk, long pos) {
+            String world = chunk.getWorld().getName();
+            write(removePedestal, world, pos, statement -> bindPosition(statement, world, pos));
+        }
+
+        private Binder bindPedestal(String world, long pos, PedestalRecord record) {
+            UUID owner = record.getOwner();
+            byte[] item = record.getItem() != null ? record.getItem().getPayload() : null;
+
+            return statement -> {
+                bindPosition(statement, world, pos);
+                statement.setInt(5, BlockPos.x(pos) >> 4);
+                statement.setInt(6, BlockPos.z(pos) >> 4);
+                if (owner != null) {
+                    statement.setLong(7, owner.getMostSignificantBits());
+                    statement.setLong(8, owner.getLeastSignificantBits());
+                } else {
+                    statement.setNull(7, Types.BIGINT);
+                    statement.setNull(8, Types.BIGINT);
+                }
+                if (item != null) {
+                    statement.setBytes(9, item);
+                } else {
+                    statement.setNull(9, Types.BLOB);
+                }
+            };
+        }
+    }
+
+    /**
+     * Remove imported PDC data once its rows are committed (main thread).
+     * A chunk that unloaded meanwhile keeps its PDC data and is imported again on its next load.
+     */
+    private static void clearImported(Chunk chunk, List<Binder> imports, Consumer<Chunk> clear) {
+        if (!imports.isEmpty() && chunk.isLoaded()) {
+            clear.accept(chunk);
+        }
+    }
+
+    @FunctionalInterface
+    private interface Binder {
+        void bind(PreparedStatement statement) throws SQLException;
+    }
+
+    @FunctionalInterface
+    private interface SqlQuery<T> {
+        T run() throws SQLException;
+    }
+
+    private record Write(PreparedStatement statement, String world, long pos, Binder binder) {
+    }
+
+    private record Query<T>(SqlQuery<T> query, CompletableFuture<T> result) {
+    }
+}
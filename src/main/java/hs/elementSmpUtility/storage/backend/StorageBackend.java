@@ -0,0 +1,18 @@
+package hs.elementSmpUtility.storage.backend;
+
+/**
+ * A persistence backend for custom blocks and pedestals, selected by storage.backend in config.yml
+ */
+public interface StorageBackend {
+
+    CustomBlockStore getCustomBlockStore();
+
+    PedestalStore getPedestalStore();
+
+    /**
+     * Write everything still pending and release resources (plugin disable)
+     */
+    void close();
+
+    String getName();
+}
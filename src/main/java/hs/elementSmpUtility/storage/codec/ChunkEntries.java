@@ -0,0 +1,85 @@
+package hs.elementSmpUtility.storage.codec;
+
+import hs.elementSmpUtility.storage.index.LongObjectHashMap;
+
+/**
+ * Decoded contents of one chunk data key: chunk-relative position -> value.
+ * Local positions are packed as (y << 8) | (x << 4) | z, see {@link #local(int, int, int)}.
+ */
+public final class ChunkEntries<V> {
+
+    private final LongObjectHashMap<V> entries;
+
+    // Decoded from an older on-disk format and worth rewriting
+    private boolean outdated;
+
+    public ChunkEntries() {
+        this(4);
+    }
+
+    public ChunkEntries(int expectedSize) {
+        this.entries = new LongObjectHashMap<>(expectedSize);
+    }
+
+    /**
+     * Pack a position inside a chunk (x and z are taken modulo 16)
+     */
+    public static int local(int x, int y, int z) {
+        return (y << 8) | ((x & 15) << 4) | (z & 15);
+    }
+
+    public static int localX(int local) {
+        return (local >> 4) & 15;
+    }
+
+    public static int localY(int local) {
+        return local >> 8;
+    }
+
+    public static int localZ(int local) {
+        return local & 15;
+    }
+
+    public V get(int local) {
+        return entries.get(local);
+    }
+
+    public V put(int local, V value) {
+        return entries.put(local, value);
+    }
+
+    public V remove(int local) {
+        return entries.remove(local);
+    }
+
+    /**
+     * Whether these entries were read from a legacy or older format
+     */
+    public boolean isOutdated() {
+        return outdated;
+    }
+
+    public void markOutdated() {
+        this.outdated = true;
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public boolean isEmpty() {
+        return entries.isEmpty();
+    }
+
+    /**
+     * Visit every entry (order is unspecified)
+     */
+    public void forEach(EntryConsumer<? super V> consumer) {
+        entries.forEach((local, value) -> consumer.accept((int) local, value));
+    }
+
+    @FunctionalInterface
+    public interface EntryConsumer<V> {
+        void accept(int local, V value);
+    }
+}
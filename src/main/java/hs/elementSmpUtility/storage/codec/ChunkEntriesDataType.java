@@ -0,0 +1,265 @@
+package hs.elementSmpUtility.storage.codec;
+
+import hs.elementSmpUtility.metrics.Metrics;
+import org.bukkit.persistence.PersistentDataAdapterContext;
+import org.bukkit.persistence.PersistentDataType;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Binary chunk PDC codec: a palette of distinct values followed by
+ * chunk-relative entries (packed x/z byte, short y, palette index).
+ * Subclasses may write data shared by the palette values ahead of the palette.
+ */
+public abstract class ChunkEntriesDataType<V> implements PersistentDataType<byte[], ChunkEntries<V>> {
+
+    /**
+     * Base format version, written as the first byte
+     */
+    public static final int FORMAT_VERSION = 1;
+
+    /**
+     * Version written by this type; subclasses bump it when their value encoding changes
+     */
+    protected int formatVersion() {
+        return FORMAT_VERSION;
+    }
+
+    /**
+     * Write a single palette value
+     */
+    protected abstract void writeValue(DataOutput out, V value) throws IOException;
+
+    /**
+     * Read a single palette value written by the given format version
+     */
+    protected abstract V readValue(DataInput in, int version) throws IOException;
+
+    /**
+     * Write data shared by every value of the palette, before the values themselves
+     * (for example a nested palette), returning the state passed to {@link #writeValue(DataOutput, Object, Object)}.
+     * The default shares nothing.
+     */
+    protected Object writeShared(DataOutput out, List<V> palette) throws IOException {
+        return null;
+    }
+
+    /**
+     * Read the data written by {@link #writeShared}, returning the state passed to
+     * {@link #readValue(DataInput, int, Object)}
+     */
+    protected Object readShared(DataInputStream in, int version) throws IOException {
+        return null;
+    }
+
+    /**
+     * Write a single palette value using the shared state of its palette
+     */
+    protected void writeValue(DataOutput out, V value, Object shared) throws IOException {
+        writeValue(out, value);
+    }
+
+    /**
+     * Read a single palette value using the shared state of its palette
+     */
+    protected V readValue(DataInput in, int version, Object shared) throws IOException {
+        return readValue(in, version);
+    }
+
+    /**
+     * Key used to share one palette slot between equal values.
+     * Value types without content equality (arrays, identity classes) must override this.
+     */
+    protected Object paletteKey(V value) {
+        return value;
+    }
+
+    @Override
+    public @NotNull Class<byte[]> getPrimitiveType() {
+        return byte[].class;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public @NotNull Class<ChunkEntries<V>> getComplexType() {
+        return (Class<ChunkEntries<V>>) (Class<?>) ChunkEntries.class;
+    }
+
+    @Override
+    public byte @NotNull [] toPrimitive(@NotNull ChunkEntries<V> entries, @NotNull PersistentDataAdapterContext context) {
+        long start = System.nanoTime();
+        byte[] encoded = encode(entries);
+        Metrics.PDC_ENCODE.recordSince(start);
+        return encoded;
+    }
+
+    @Override
+    public @NotNull ChunkEntries<V> fromPrimitive(byte @NotNull [] primitive, @NotNull PersistentDataAdapterContext context) {
+        long start = System.nanoTime();
+        ChunkEntries<V> entries = decode(primitive);
+        Metrics.PDC_DECODE.recordSince(start);
+        return entries;
+    }
+
+    private byte[] encode(ChunkEntries<V> entries) {
+        List<V> palette = new ArrayList<>();
+        Map<Object, Integer> paletteIndex = new HashMap<>();
+        int[] locals = new int[entries.size()];
+        int[] indices = new int[entries.size()];
+        int[] count = {0};
+
+        entries.forEach((local, value) -> {
+            Object key = paletteKey(value);
+            Integer index = paletteIndex.get(key);
+            if (index == null) {
+                index = palette.size();
+                palette.add(value);
+                paletteIndex.put(key, index);
+            }
+            locals[count[0]] = local;
+            indices[count[0]] = index;
+            count[0]++;
+        });
+
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(16 + entries.size() * 4);
+            DataOutputStream out = new DataOutputStream(bytes);
+
+            out.writeByte(formatVersion());
+            Object shared = writeShared(out, palette);
+            writeVarInt(out, palette.size());
+            for (V value : palette) {
+                writeValue(out, value, shared);
+            }
+
+            writeVarInt(out, count[0]);
+            for (int i = 0; i < count[0]; i++) {
+                int local = locals[i];
+                out.writeByte((ChunkEntries.localX(local) << 4) | ChunkEntries.localZ(local));
+                out.writeShort(ChunkEntries.localY(local));
+                writeVarInt(out, indices[i]);
+            }
+
+            out.flush();
+            return bytes.toByteArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Decode a payload; truncated or inconsistent data throws IllegalArgumentException
+     */
+    private ChunkEntries<V> decode(byte[] primitive) {
+        try {
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(primitive));
+
+            int version = in.readUnsignedByte();
+            if (version > formatVersion()) {
+                throw new IllegalArgumentException("Unsupported chunk data version " + version);
+            }
+
+            Object shared = readShared(in, version);
+
+            // Every palette value takes at least one byte and every entry at least four
+            int paletteSize = readCount(in, 1);
+            List<V> palette = new ArrayList<>(paletteSize);
+            for (int i = 0; i < paletteSize; i++) {
+                palette.add(readValue(in, version, shared));
+            }
+
+            int entryCount = readCount(in, 4);
+            ChunkEntries<V> entries = new ChunkEntries<>(entryCount);
+            for (int i = 0; i < entryCount; i++) {
+                int xz = in.readUnsignedByte();
+                int y = in.readShort();
+                int index = readVarInt(in);
+                if (index < 0 || index >= paletteSize) {
+                    throw new IOException("Palette index " + index + " out of range " + paletteSize);
+                }
+                entries.put(ChunkEntries.local(xz >> 4, y, xz & 15), palette.get(index));
+            }
+
+            if (version < formatVersion()) {
+                entries.markOutdated();
+            }
+            return entries;
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Corrupt chunk data", e);
+        }
+    }
+
+    protected static void writeVarInt(DataOutput out, int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            out.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte(value);
+    }
+
+    protected static int readVarInt(DataInput in) throws IOException {
+        int value = 0;
+        int shift = 0;
+        int b;
+        do {
+            if (shift >= 35) {
+                throw new IOException("VarInt too long");
+            }
+            b = in.readUnsignedByte();
+            value |= (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return value;
+    }
+
+    /**
+     * Read a varint count of items that take at least minBytes each, checked against the remaining input
+     */
+    static int readCount(DataInputStream in, int minBytes) throws IOException {
+        int count = readVarInt(in);
+        if (count < 0 || count > in.available() / minBytes) {
+            throw new IOException("Count " + count + " exceeds the remaining data");
+        }
+        return count;
+    }
+
+    /**
+     * Read a varint byte length, checked against the remaining input when it is known
+     */
+    protected static int readLength(DataInput in) throws IOException {
+        int length = readVarInt(in);
+        if (length < 0 || (in instanceof InputStream stream && length > stream.available())) {
+            throw new IOException("Length " + length + " exceeds the remaining data");
+        }
+        return length;
+    }
+
+    /**
+     * Length-prefixed UTF-8 (no 64K limit unlike writeUTF)
+     */
+    protected static void writeString(DataOutput out, String value) throws IOException {
+        byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+        writeVarInt(out, utf8.length);
+        out.write(utf8);
+    }
+
+    protected static String readString(DataInput in) throws IOException {
+        byte[] utf8 = new byte[readLength(in)];
+        in.readFully(utf8);
+        return new String(utf8, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,116 @@
+package hs.elementSmpUtility.storage.codec;
+
+import hs.elementSmpUtility.storage.index.BlockPos;
+import org.bukkit.Chunk;
+import org.bukkit.NamespacedKey;
+import org.bukkit.persistence.PersistentDataContainer;
+import org.bukkit.persistence.PersistentDataType;
+
+import java.util.function.Function;
+import java.util.logging.Logger;
+
+/**
+ * Reads and writes one chunk PDC key in the binary entry format.
+ * Legacy "world,x,y,z:value;..." strings are still read; any write replaces them with the binary form.
+ * Data that cannot be decoded is moved to a "_corrupt" key instead of being overwritten.
+ */
+public final class ChunkEntryStore<V> {
+
+    private final NamespacedKey key;
+    private final ChunkEntriesDataType<V> dataType;
+    private final Function<String, V> legacyValueParser;
+    private final Logger logger;
+
+    public ChunkEntryStore(NamespacedKey key, ChunkEntriesDataType<V> dataType,
+                           Function<String, V> legacyValueParser, Logger logger) {
+        this.key = key;
+        this.dataType = dataType;
+        this.legacyValueParser = legacyValueParser;
+        this.logger = logger;
+    }
+
+    /**
+     * Check whether the chunk has any data under this key
+     */
+    public boolean has(Chunk chunk) {
+        return chunk.getPersistentDataContainer().has(key);
+    }
+
+    /**
+     * Read all entries of a chunk (empty if none are stored)
+     */
+    public ChunkEntries<V> read(Chunk chunk) {
+        PersistentDataContainer pdc = chunk.getPersistentDataContainer();
+
+        if (pdc.has(key, PersistentDataType.BYTE_ARRAY)) {
+            try {
+                ChunkEntries<V> entries = pdc.get(key, dataType);
+                return entries != null ? entries : new ChunkEntries<>();
+            } catch (IllegalArgumentException e) {
+                // Set the raw bytes aside so the next write of this chunk cannot destroy them
+                NamespacedKey backupKey = new NamespacedKey(key.getNamespace(),
+                        key.getKey() + "_corrupt_" + System.currentTimeMillis());
+                pdc.set(backupKey, PersistentDataType.BYTE_ARRAY, pdc.get(key, PersistentDataType.BYTE_ARRAY));
+                pdc.remove(key);
+                logger.severe("Corrupt " + key.getKey() + " data in chunk " + chunk.getX() + "," + chunk.getZ() +
+                        " moved to " + backupKey.getKey() + ": " + e.getMessage());
+                return new ChunkEntries<>();
+            }
+        }
+
+        if (pdc.has(key, PersistentDataType.STRING)) {
+            ChunkEntries<V> entries = readLegacy(pdc.get(key, PersistentDataType.STRING));
+            entries.markOutdated();
+            return entries;
+        }
+
+        return new ChunkEntries<>();
+    }
+
+    /**
+     * Rewrite the chunk in the current format if it was read from an older one
+     */
+    public void migrateIfOutdated(Chunk chunk, ChunkEntries<V> entries) {
+        if (entries.isOutdated()) {
+            write(chunk, entries);
+        }
+    }
+
+    /**
+     * Write all entries of a chunk, removing the key when empty
+     */
+    public void write(Chunk chunk, ChunkEntries<V> entries) {
+        PersistentDataContainer pdc = chunk.getPersistentDataContainer();
+
+        if (entries.isEmpty()) {
+            pdc.remove(key);
+        } else {
+            pdc.set(key, dataType, entries);
+        }
+    }
+
+    /**
+     * Parse the legacy ';'-joined "world,x,y,z:value" string
+     */
+    private ChunkEntries<V> readLegacy(String data) {
+        ChunkEntries<V> entries = new ChunkEntries<>();
+        if (data == null || data.isEmpty()) {
+            return entries;
+        }
+
+        for (String entry : data.split(";")) {
+            if (entry.isEmpty()) continue;
+
+            String[] parts = entry.split(":", 2);
+            if (parts.length != 2) continue;
+
+            long pos = BlockPos.fromLocationKey(parts[0]);
+            V value = legacyValueParser.apply(parts[1]);
+            if (pos != BlockPos.INVALID && value != null) {
+                entries.put(ChunkEntries.local(BlockPos.x(pos), BlockPos.y(pos), BlockPos.z(pos)), value);
+            }
+        }
+
+        return entries;
+    }
+}
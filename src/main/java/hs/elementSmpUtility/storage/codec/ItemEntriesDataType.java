@@ -0,0 +1,53 @@
+package hs.elementSmpUtility.storage.codec;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * Chunk entries whose values are item payloads from {@link ItemPayloadCodec}.
+ * Version 1 stored Base64 Java-serialized strings; those are converted while decoding.
+ */
+public final class ItemEntriesDataType extends ChunkEntriesDataType<byte[]> {
+
+    public static final ItemEntriesDataType INSTANCE = new ItemEntriesDataType();
+
+    private static final int RAW_PAYLOAD_VERSION = 2;
+
+    private ItemEntriesDataType() {
+    }
+
+    @Override
+    protected int formatVersion() {
+        return RAW_PAYLOAD_VERSION;
+    }
+
+    @Override
+    protected void writeValue(DataOutput out, byte[] value) throws IOException {
+        writeVarInt(out, value.length);
+        out.write(value);
+    }
+
+    @Override
+    protected Object paletteKey(byte[] value) {
+        return ByteBuffer.wrap(value);
+    }
+
+    @Override
+    protected byte[] readValue(DataInput in, int version) throws IOException {
+        if (version < RAW_PAYLOAD_VERSION) {
+            String legacy = readString(in);
+            try {
+                return ItemPayloadCodec.fromLegacyBase64(legacy);
+            } catch (IOException e) {
+                // Keep the rest of the chunk readable; the empty payload fails to decode on its own
+                return new byte[0];
+            }
+        }
+
+        byte[] value = new byte[readLength(in)];
+        in.readFully(value);
+        return value;
+    }
+}
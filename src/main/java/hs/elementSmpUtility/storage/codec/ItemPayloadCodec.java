@@ -0,0 +1,174 @@
+package hs.elementSmpUtility.storage.codec;
+
+import hs.elementSmpUtility.metrics.jfr.ItemCodecEvent;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.util.io.BukkitObjectInputStream;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Encodes ItemStacks as Paper item bytes, Deflate-compressed when large and not already gzipped.
+ * Layout: one flag byte (0 = raw, 1 = deflate), then for deflate a 4-byte raw length, then the data.
+ */
+public final class ItemPayloadCodec {
+
+    private static final byte RAW = 0;
+    private static final byte DEFLATE = 1;
+
+    // Small items rarely shrink enough to be worth the extra CPU
+    private static final int COMPRESSION_THRESHOLD = 256;
+
+    // Far above any real item (a full shulker box is a few KiB); larger lengths mean corrupt data
+    static final int MAX_RAW_LENGTH = 1 << 20;
+
+    private ItemPayloadCodec() {
+    }
+
+    public static byte[] encode(ItemStack item) {
+        ItemCodecEvent event = new ItemCodecEvent();
+        event.begin();
+
+        byte[] raw = item.serializeAsBytes();
+        byte[] payload = wrap(raw);
+
+        if (event.shouldCommit()) {
+            event.operation = "encode";
+            event.rawBytes = raw.length;
+            event.payloadBytes = payload.length;
+            event.compressed = payload[0] == DEFLATE;
+            event.commit();
+        }
+        return payload;
+    }
+
+    /**
+     * Prefix the raw item bytes with the payload flag, compressing them when it pays off
+     */
+    static byte[] wrap(byte[] raw) {
+        if (raw.length >= COMPRESSION_THRESHOLD && !isGzip(raw)) {
+            byte[] compressed = deflate(raw);
+            if (compressed.length + 4 < raw.length) {
+                byte[] payload = new byte[compressed.length + 5];
+                payload[0] = DEFLATE;
+                payload[1] = (byte) (raw.length >>> 24);
+                payload[2] = (byte) (raw.length >>> 16);
+                payload[3] = (byte) (raw.length >>> 8);
+                payload[4] = (byte) raw.length;
+                System.arraycopy(compressed, 0, payload, 5, compressed.length);
+                return payload;
+            }
+        }
+
+        byte[] payload = new byte[raw.length + 1];
+        payload[0] = RAW;
+        System.arraycopy(raw, 0, payload, 1, raw.length);
+        return payload;
+    }
+
+    /**
+     * Paper gzips the item bytes it serializes; Deflate cannot shrink them any further
+     */
+    private static boolean isGzip(byte[] raw) {
+        return raw.length >= 2 && raw[0] == (byte) 0x1F && raw[1] == (byte) 0x8B;
+    }
+
+    public static ItemStack decode(byte[] payload) throws IOException {
+        ItemCodecEvent event = new ItemCodecEvent();
+        event.begin();
+
+        byte[] raw = unwrap(payload);
+        ItemStack item = ItemStack.deserializeBytes(raw);
+
+        if (event.shouldCommit()) {
+            event.operation = "decode";
+            event.rawBytes = raw.length;
+            event.payloadBytes = payload.length;
+            event.compressed = payload[0] == DEFLATE;
+            event.commit();
+        }
+        return item;
+    }
+
+    /**
+     * Get the Paper item bytes inside a payload without deserializing the item
+     */
+    public static byte[] unwrap(byte[] payload) throws IOException {
+        if (payload.length == 0) {
+            throw new IOException("Empty item payload");
+        }
+
+        return switch (payload[0]) {
+            case RAW -> Arrays.copyOfRange(payload, 1, payload.length);
+            case DEFLATE -> inflate(payload);
+            default -> throw new IOException("Unknown item payload flag " + payload[0]);
+        };
+    }
+
+    /**
+     * Convert a legacy Base64 Java-serialized item into a payload
+     */
+    public static byte[] fromLegacyBase64(String data) throws IOException {
+        try (BukkitObjectInputStream in = new BukkitObjectInputStream(
+                new ByteArrayInputStream(Base64.getDecoder().decode(data)))) {
+            return encode((ItemStack) in.readObject());
+        } catch (ClassNotFoundException | IllegalArgumentException | ClassCastException e) {
+            throw new IOException("Invalid legacy item data", e);
+        }
+    }
+
+    private static byte[] deflate(byte[] raw) {
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try {
+            deflater.setInput(raw);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(raw.length / 2);
+            byte[] buffer = new byte[4096];
+            while (!deflater.finished()) {
+                out.write(buffer, 0, deflater.deflate(buffer));
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static byte[] inflate(byte[] payload) throws IOException {
+        if (payload.length < 5) {
+            throw new IOException("Truncated item payload");
+        }
+
+        int rawLength = ((payload[1] & 0xFF) << 24) | ((payload[2] & 0xFF) << 16)
+                | ((payload[3] & 0xFF) << 8) | (payload[4] & 0xFF);
+        if (rawLength < 0 || rawLength > MAX_RAW_LENGTH) {
+            throw new IOException("Corrupt compressed item payload length " + rawLength);
+        }
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(payload, 5, payload.length - 5);
+            byte[] raw = new byte[rawLength];
+            int read = 0;
+            while (read < rawLength && !inflater.finished()) {
+                int n = inflater.inflate(raw, read, rawLength - read);
+                if (n == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    break;
+                }
+                read += n;
+            }
+            if (read != rawLength) {
+                throw new IOException("Truncated compressed item payload");
+            }
+            return raw;
+        } catch (DataFormatException e) {
+            throw new IOException("Corrupt compressed item payload", e);
+        } finally {
+            inflater.end();
+        }
+    }
+}
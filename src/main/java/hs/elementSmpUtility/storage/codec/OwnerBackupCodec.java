@@ -0,0 +1,120 @@
+package hs.elementSmpUtility.storage.codec;
+
+import hs.elementSmpUtility.storage.pedestal.PedestalJournal.PedestalKey;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Binary format of the pedestal owner backup file.
+ * <p>
+ * Layout: int magic, byte version, world name palette, owner palette (two longs each),
+ * then entries of (varint world index, int x, int y, int z, varint owner index).
+ */
+public final class OwnerBackupCodec {
+
+    private static final int MAGIC = 0x50444F57; // "PDOW"
+    private static final int VERSION = 1;
+
+    private OwnerBackupCodec() {
+    }
+
+    public static byte[] encode(Map<PedestalKey, UUID> owners) {
+        List<String> worlds = new ArrayList<>();
+        Map<String, Integer> worldIndex = new HashMap<>();
+        List<UUID> palette = new ArrayList<>();
+        Map<UUID, Integer> paletteIndex = new HashMap<>();
+
+        for (Map.Entry<PedestalKey, UUID> entry : owners.entrySet()) {
+            worldIndex.computeIfAbsent(entry.getKey().world(), world -> {
+                worlds.add(world);
+                return worlds.size() - 1;
+            });
+            paletteIndex.computeIfAbsent(entry.getValue(), owner -> {
+                palette.add(owner);
+                return palette.size() - 1;
+            });
+        }
+
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(32 + owners.size() * 16);
+            DataOutputStream out = new DataOutputStream(bytes);
+
+            out.writeInt(MAGIC);
+            out.writeByte(VERSION);
+
+            ChunkEntriesDataType.writeVarInt(out, worlds.size());
+            for (String world : worlds) {
+                ChunkEntriesDataType.writeString(out, world);
+            }
+
+            ChunkEntriesDataType.writeVarInt(out, palette.size());
+            for (UUID owner : palette) {
+                out.writeLong(owner.getMostSignificantBits());
+                out.writeLong(owner.getLeastSignificantBits());
+            }
+
+            ChunkEntriesDataType.writeVarInt(out, owners.size());
+            for (Map.Entry<PedestalKey, UUID> entry : owners.entrySet()) {
+                PedestalKey key = entry.getKey();
+                ChunkEntriesDataType.writeVarInt(out, worldIndex.get(key.world()));
+                out.writeInt(key.x());
+                out.writeInt(key.y());
+                out.writeInt(key.z());
+                ChunkEntriesDataType.writeVarInt(out, paletteIndex.get(entry.getValue()));
+            }
+
+            out.flush();
+            return bytes.toByteArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public static Map<PedestalKey, UUID> decode(byte[] data) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(data));
+        if (in.readInt() != MAGIC) {
+            throw new IOException("Not a pedestal owner backup");
+        }
+
+        int version = in.readUnsignedByte();
+        if (version > VERSION) {
+            throw new IOException("Unsupported owner backup version " + version);
+        }
+
+        // Counts are checked against the remaining bytes so corrupt data fails as IOException
+        int worldCount = ChunkEntriesDataType.readCount(in, 1);
+        String[] worlds = new String[worldCount];
+        for (int i = 0; i < worldCount; i++) {
+            worlds[i] = ChunkEntriesDataType.readString(in);
+        }
+
+        int paletteSize = ChunkEntriesDataType.readCount(in, 16);
+        UUID[] palette = new UUID[paletteSize];
+        for (int i = 0; i < paletteSize; i++) {
+            palette[i] = new UUID(in.readLong(), in.readLong());
+        }
+
+        int entryCount = ChunkEntriesDataType.readCount(in, 14);
+        Map<PedestalKey, UUID> owners = new HashMap<>(Math.max(16, entryCount * 4 / 3 + 1));
+        try {
+            for (int i = 0; i < entryCount; i++) {
+                String world = worlds[ChunkEntriesDataType.readVarInt(in)];
+                PedestalKey key = new PedestalKey(world, in.readInt(), in.readInt(), in.readInt());
+                owners.put(key, palette[ChunkEntriesDataType.readVarInt(in)]);
+            }
+        } catch (ArrayIndexOutOfBoundsException e) {
+            throw new IOException("Corrupt owner backup", e);
+        }
+        return owners;
+    }
+}
@@ -0,0 +1,153 @@
+package hs.elementSmpUtility.storage.codec;
+
+import hs.elementSmpUtility.storage.pedestal.PedestalRecord;
+import hs.elementSmpUtility.storage.pedestal.StoredItem;
+
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Chunk entries whose values are whole pedestal records.
+ * The chunk's distinct owners are written once (two longs each) ahead of the records; each record is
+ * a flags byte followed by a varint owner index and the item payload, when present.
+ * Version 1 wrote the owner inline in every record.
+ */
+public final class PedestalRecordEntriesDataType extends ChunkEntriesDataType<PedestalRecord> {
+
+    public static final PedestalRecordEntriesDataType INSTANCE = new PedestalRecordEntriesDataType();
+
+    private static final int OWNER_PALETTE_VERSION = 2;
+
+    private static final int HAS_OWNER = 1;
+    private static final int HAS_ITEM = 2;
+
+    private PedestalRecordEntriesDataType() {
+    }
+
+    @Override
+    protected int formatVersion() {
+        return OWNER_PALETTE_VERSION;
+    }
+
+    @Override
+    protected Object writeShared(DataOutput out, List<PedestalRecord> palette) throws IOException {
+        Map<UUID, Integer> owners = new HashMap<>();
+        List<UUID> ordered = new ArrayList<>();
+        for (PedestalRecord record : palette) {
+            UUID owner = record.getOwner();
+            if (owner != null && owners.putIfAbsent(owner, ordered.size()) == null) {
+                ordered.add(owner);
+            }
+        }
+
+        writeVarInt(out, ordered.size());
+        for (UUID owner : ordered) {
+            out.writeLong(owner.getMostSignificantBits());
+            out.writeLong(owner.getLeastSignificantBits());
+        }
+        return owners;
+    }
+
+    @Override
+    protected Object readShared(DataInputStream in, int version) throws IOException {
+        if (version < OWNER_PALETTE_VERSION) {
+            return null;
+        }
+
+        UUID[] owners = new UUID[readCount(in, 16)];
+        for (int i = 0; i < owners.length; i++) {
+            owners[i] = new UUID(in.readLong(), in.readLong());
+        }
+        return owners;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    protected void writeValue(DataOutput out, PedestalRecord value, Object shared) throws IOException {
+        UUID owner = value.getOwner();
+        StoredItem item = value.getItem();
+        out.writeByte((owner != null ? HAS_OWNER : 0) | (item != null ? HAS_ITEM : 0));
+
+        if (owner != null) {
+            writeVarInt(out, ((Map<UUID, Integer>) shared).get(owner));
+        }
+        if (item != null) {
+            writeItem(out, item);
+        }
+    }
+
+    @Override
+    protected void writeValue(DataOutput out, PedestalRecord value) {
+        throw new UnsupportedOperationException("Pedestal records are written against the chunk's owner palette");
+    }
+
+    @Override
+    protected PedestalRecord readValue(DataInput in, int version, Object shared) throws IOException {
+        if (shared == null) {
+            return readValue(in, version);
+        }
+
+        UUID[] owners = (UUID[]) shared;
+        int flags = in.readUnsignedByte();
+
+        UUID owner = null;
+        if ((flags & HAS_OWNER) != 0) {
+            int index = readVarInt(in);
+            if (index < 0 || index >= owners.length) {
+                throw new IOException("Owner index " + index + " out of range " + owners.length);
+            }
+            owner = owners[index];
+        }
+
+        StoredItem item = (flags & HAS_ITEM) != 0 ? readItem(in) : null;
+        return new PedestalRecord(owner, item);
+    }
+
+    /**
+     * Read a version 1 record with its owner inline
+     */
+    @Override
+    protected PedestalRecord readValue(DataInput in, int version) throws IOException {
+        int flags = in.readUnsignedByte();
+
+        UUID owner = null;
+        if ((flags & HAS_OWNER) != 0) {
+            owner = new UUID(in.readLong(), in.readLong());
+        }
+
+        StoredItem item = (flags & HAS_ITEM) != 0 ? readItem(in) : null;
+        return new PedestalRecord(owner, item);
+    }
+
+    @Override
+    protected Object paletteKey(PedestalRecord value) {
+        StoredItem item = value.getItem();
+        return new RecordKey(value.getOwner(), item != null ? ByteBuffer.wrap(item.getPayload()) : null);
+    }
+
+    private static void writeItem(DataOutput out, StoredItem item) throws IOException {
+        byte[] payload = item.getPayload();
+        writeVarInt(out, payload.length);
+        out.write(payload);
+    }
+
+    private static StoredItem readItem(DataInput in) throws IOException {
+        byte[] payload = new byte[readLength(in)];
+        in.readFully(payload);
+        return new StoredItem(payload);
+    }
+
+    /**
+     * Owner and item payload compared by content
+     */
+    private record RecordKey(UUID owner, ByteBuffer item) {
+    }
+}
@@ -0,0 +1,26 @@
+package hs.elementSmpUtility.storage.codec;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Chunk entries whose values are plain strings (block ids, serialized values)
+ */
+public final class StringEntriesDataType extends ChunkEntriesDataType<String> {
+
+    public static final StringEntriesDataType INSTANCE = new StringEntriesDataType();
+
+    private StringEntriesDataType() {
+    }
+
+    @Override
+    protected void writeValue(DataOutput out, String value) throws IOException {
+        writeString(out, value);
+    }
+
+    @Override
+    protected String readValue(DataInput in, int version) throws IOException {
+        return readString(in);
+    }
+}
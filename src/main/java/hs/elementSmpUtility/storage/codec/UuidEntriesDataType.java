@@ -0,0 +1,45 @@
+package hs.elementSmpUtility.storage.codec;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.UUID;
+
+/**
+ * Chunk entries whose values are UUIDs (pedestal owners).
+ * Each distinct owner is written once in the chunk palette as two longs;
+ * version 1 stored them as strings and is converted while decoding.
+ */
+public final class UuidEntriesDataType extends ChunkEntriesDataType<UUID> {
+
+    public static final UuidEntriesDataType INSTANCE = new UuidEntriesDataType();
+
+    private static final int BINARY_UUID_VERSION = 2;
+
+    private UuidEntriesDataType() {
+    }
+
+    @Override
+    protected int formatVersion() {
+        return BINARY_UUID_VERSION;
+    }
+
+    @Override
+    protected void writeValue(DataOutput out, UUID value) throws IOException {
+        out.writeLong(value.getMostSignificantBits());
+        out.writeLong(value.getLeastSignificantBits());
+    }
+
+    @Override
+    protected UUID readValue(DataInput in, int version) throws IOException {
+        if (version < BINARY_UUID_VERSION) {
+            try {
+                return UUID.fromString(readString(in));
+            } catch (IllegalArgumentException e) {
+                throw new IOException("Invalid UUID in chunk data", e);
+            }
+        }
+
+        return new UUID(in.readLong(), in.readLong());
+    }
+}
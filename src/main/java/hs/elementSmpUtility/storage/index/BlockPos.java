@@ -0,0 +1,106 @@
+package hs.elementSmpUtility.storage.index;
+
+import org.bukkit.Location;
+import org.bukkit.block.Block;
+
+/**
+ * Packs block coordinates into a single long (same layout as vanilla BlockPos)
+ * x: 26 bits, z: 26 bits, y: 12 bits
+ */
+public final class BlockPos {
+
+    /**
+     * Never produced by a real block position (x is beyond the world border)
+     */
+    public static final long INVALID = Long.MIN_VALUE;
+
+    private static final int XZ_BITS = 26;
+    private static final int Y_BITS = 12;
+
+    private static final long XZ_MASK = (1L << XZ_BITS) - 1L;
+    private static final long Y_MASK = (1L << Y_BITS) - 1L;
+
+    private static final int X_SHIFT = XZ_BITS + Y_BITS;
+    private static final int Z_SHIFT = Y_BITS;
+
+    private BlockPos() {
+    }
+
+    public static long pack(int x, int y, int z) {
+        return ((x & XZ_MASK) << X_SHIFT) | ((z & XZ_MASK) << Z_SHIFT) | (y & Y_MASK);
+    }
+
+    public static long pack(Location location) {
+        return pack(location.getBlockX(), location.getBlockY(), location.getBlockZ());
+    }
+
+    public static long pack(Block block) {
+        return pack(block.getX(), block.getY(), block.getZ());
+    }
+
+    public static int x(long packed) {
+        return (int) (packed >> X_SHIFT);
+    }
+
+    public static int y(long packed) {
+        return (int) (packed << (64 - Y_BITS) >> (64 - Y_BITS));
+    }
+
+    public static int z(long packed) {
+        return (int) (packed << (64 - X_SHIFT) >> (64 - XZ_BITS));
+    }
+
+    /**
+     * Pack chunk coordinates into a single long
+     */
+    public static long chunkKey(int chunkX, int chunkZ) {
+        return ((long) chunkX << 32) | (chunkZ & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Chunk key of the chunk containing a packed block position
+     */
+    public static long chunkKeyOf(long packed) {
+        return chunkKey(x(packed) >> 4, z(packed) >> 4);
+    }
+
+    public static long chunkKeyOf(Location location) {
+        return chunkKey(location.getBlockX() >> 4, location.getBlockZ() >> 4);
+    }
+
+    /**
+     * Parse the packed position out of a legacy "world,x,y,z" key
+     */
+    public static long fromLocationKey(String locationKey) {
+        String[] coords = locationKey.split(",");
+        if (coords.length < 4) {
+            return INVALID;
+        }
+
+        try {
+            int length = coords.length;
+            return pack(
+                    Integer.parseInt(coords[length - 3]),
+                    Integer.parseInt(coords[length - 2]),
+                    Integer.parseInt(coords[length - 1])
+            );
+        } catch (NumberFormatException e) {
+            return INVALID;
+        }
+    }
+
+    /**
+     * Rebuild an absolute packed position from a chunk and a chunk-relative position
+     */
+    public static long fromLocal(int chunkX, int chunkZ, int localX, int y, int localZ) {
+        return pack((chunkX << 4) | localX, y, (chunkZ << 4) | localZ);
+    }
+
+    public static int chunkX(long chunkKey) {
+        return (int) (chunkKey >> 32);
+    }
+
+    public static int chunkZ(long chunkKey) {
+        return (int) chunkKey;
+    }
+}
@@ -0,0 +1,119 @@
+package hs.elementSmpUtility.storage.index;
+
+import org.bukkit.Chunk;
+import org.bukkit.Location;
+import org.bukkit.World;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Cache buckets grouped by world and then by packed chunk key.
+ * Loading or unloading a chunk attaches or drops exactly one bucket.
+ */
+public final class ChunkBuckets<B> {
+
+    private final Map<UUID, LongObjectHashMap<B>> worlds;
+    private final Supplier<B> bucketFactory;
+
+    public ChunkBuckets(Supplier<B> bucketFactory) {
+        this.worlds = new HashMap<>();
+        this.bucketFactory = bucketFactory;
+    }
+
+    /**
+     * Get the bucket for a chunk, or null if none is attached
+     */
+    public B get(UUID worldId, long chunkKey) {
+        LongObjectHashMap<B> chunks = worlds.get(worldId);
+        return chunks == null ? null : chunks.get(chunkKey);
+    }
+
+    public B get(Chunk chunk) {
+        return get(chunk.getWorld().getUID(), BlockPos.chunkKey(chunk.getX(), chunk.getZ()));
+    }
+
+    public B get(Location location) {
+        return get(location.getWorld().getUID(), BlockPos.chunkKeyOf(location));
+    }
+
+    /**
+     * Get the bucket for a chunk, attaching an empty one if needed
+     */
+    public B getOrCreate(UUID worldId, long chunkKey) {
+        LongObjectHashMap<B> chunks = worlds.computeIfAbsent(worldId, id -> new LongObjectHashMap<>());
+        B bucket = chunks.get(chunkKey);
+        if (bucket == null) {
+            bucket = bucketFactory.get();
+            chunks.put(chunkKey, bucket);
+        }
+        return bucket;
+    }
+
+    public B getOrCreate(Chunk chunk) {
+        return getOrCreate(chunk.getWorld().getUID(), BlockPos.chunkKey(chunk.getX(), chunk.getZ()));
+    }
+
+    public B getOrCreate(Location location) {
+        return getOrCreate(location.getWorld().getUID(), BlockPos.chunkKeyOf(location));
+    }
+
+    /**
+     * Attach a bucket to a chunk, replacing any existing one
+     */
+    public void put(Chunk chunk, B bucket) {
+        worlds.computeIfAbsent(chunk.getWorld().getUID(), id -> new LongObjectHashMap<>())
+                .put(BlockPos.chunkKey(chunk.getX(), chunk.getZ()), bucket);
+    }
+
+    /**
+     * Drop the bucket for a chunk, returning it (or null)
+     */
+    public B remove(Chunk chunk) {
+        LongObjectHashMap<B> chunks = worlds.get(chunk.getWorld().getUID());
+        if (chunks == null) {
+            return null;
+        }
+
+        B removed = chunks.remove(BlockPos.chunkKey(chunk.getX(), chunk.getZ()));
+        if (chunks.isEmpty()) {
+            worlds.remove(chunk.getWorld().getUID());
+        }
+        return removed;
+    }
+
+    /**
+     * Drop every bucket belonging to a world
+     */
+    public void removeWorld(World world) {
+        worlds.remove(world.getUID());
+    }
+
+    /**
+     * Number of attached chunk buckets across all worlds
+     */
+    public int bucketCount() {
+        int count = 0;
+        for (LongObjectHashMap<B> chunks : worlds.values()) {
+            count += chunks.size();
+        }
+        return count;
+    }
+
+    /**
+     * Visit every attached bucket
+     */
+    public void forEach(BucketConsumer<? super B> consumer) {
+        for (Map.Entry<UUID, LongObjectHashMap<B>> entry : worlds.entrySet()) {
+            UUID worldId = entry.getKey();
+            entry.getValue().forEach((chunkKey, bucket) -> consumer.accept(worldId, chunkKey, bucket));
+        }
+    }
+
+    @FunctionalInterface
+    public interface BucketConsumer<B> {
+        void accept(UUID worldId, long chunkKey, B bucket);
+    }
+}
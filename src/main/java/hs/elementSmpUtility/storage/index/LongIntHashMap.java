@@ -0,0 +1,216 @@
+package hs.elementSmpUtility.storage.index;
+
+import java.util.Arrays;
+
+/**
+ * Open-addressing hash map from primitive long keys to primitive int values.
+ * Avoids boxing and per-entry objects on hot lookup paths.
+ */
+public final class LongIntHashMap {
+
+    public static final int NO_VALUE = -1;
+
+    private static final long EMPTY_KEY = 0L;
+    private static final float LOAD_FACTOR = 0.6f;
+
+    private long[] keys;
+    private int[] values;
+    private int mask;
+    private int size;
+    private int resizeAt;
+
+    // Key 0 is the empty-slot marker, so its value lives outside the table
+    private boolean hasZeroKey;
+    private int zeroValue;
+
+    public LongIntHashMap() {
+        this(16);
+    }
+
+    public LongIntHashMap(int expectedSize) {
+        allocate(tableSizeFor(expectedSize));
+    }
+
+    /**
+     * Get the value for a key, or {@link #NO_VALUE} if absent
+     */
+    public int get(long key) {
+        if (key == EMPTY_KEY) {
+            return hasZeroKey ? zeroValue : NO_VALUE;
+        }
+
+        int slot = mix(key) & mask;
+        long existing;
+        while ((existing = keys[slot]) != EMPTY_KEY) {
+            if (existing == key) {
+                return values[slot];
+            }
+            slot = (slot + 1) & mask;
+        }
+        return NO_VALUE;
+    }
+
+    public boolean containsKey(long key) {
+        if (key == EMPTY_KEY) {
+            return hasZeroKey;
+        }
+        return get(key) != NO_VALUE;
+    }
+
+    /**
+     * Put a value, returning the previous value or {@link #NO_VALUE}
+     */
+    public int put(long key, int value) {
+        if (key == EMPTY_KEY) {
+            int previous = hasZeroKey ? zeroValue : NO_VALUE;
+            if (!hasZeroKey) {
+                hasZeroKey = true;
+                size++;
+            }
+            zeroValue = value;
+            return previous;
+        }
+
+        int slot = mix(key) & mask;
+        long existing;
+        while ((existing = keys[slot]) != EMPTY_KEY) {
+            if (existing == key) {
+                int previous = values[slot];
+                values[slot] = value;
+                return previous;
+            }
+            slot = (slot + 1) & mask;
+        }
+
+        keys[slot] = key;
+        values[slot] = value;
+        if (++size >= resizeAt) {
+            rehash(keys.length << 1);
+        }
+        return NO_VALUE;
+    }
+
+    /**
+     * Remove a key, returning the previous value or {@link #NO_VALUE}
+     */
+    public int remove(long key) {
+        if (key == EMPTY_KEY) {
+            if (!hasZeroKey) {
+                return NO_VALUE;
+            }
+            hasZeroKey = false;
+            size--;
+            return zeroValue;
+        }
+
+        int slot = mix(key) & mask;
+        long existing;
+        while ((existing = keys[slot]) != EMPTY_KEY) {
+            if (existing == key) {
+                int previous = values[slot];
+                shiftConflictingKeys(slot);
+                size--;
+                return previous;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return NO_VALUE;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        Arrays.fill(keys, EMPTY_KEY);
+        hasZeroKey = false;
+        size = 0;
+    }
+
+    /**
+     * Visit every entry (order is unspecified)
+     */
+    public void forEach(EntryConsumer consumer) {
+        if (hasZeroKey) {
+            consumer.accept(EMPTY_KEY, zeroValue);
+        }
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != EMPTY_KEY) {
+                consumer.accept(keys[i], values[i]);
+            }
+        }
+    }
+
+    /**
+     * Approximate heap footprint of the backing arrays in bytes
+     */
+    public long estimateBytes() {
+        return (long) keys.length * Long.BYTES + (long) values.length * Integer.BYTES;
+    }
+
+    /**
+     * Backward-shift deletion keeps probe chains intact without tombstones
+     */
+    private void shiftConflictingKeys(int gap) {
+        int slot = gap;
+        while (true) {
+            slot = (slot + 1) & mask;
+            long key = keys[slot];
+            if (key == EMPTY_KEY) {
+                break;
+            }
+
+            int ideal = mix(key) & mask;
+            if (((slot - ideal) & mask) >= ((slot - gap) & mask)) {
+                keys[gap] = key;
+                values[gap] = values[slot];
+                gap = slot;
+            }
+        }
+        keys[gap] = EMPTY_KEY;
+    }
+
+    private void rehash(int newCapacity) {
+        long[] oldKeys = keys;
+        int[] oldValues = values;
+        allocate(newCapacity);
+
+        for (int i = 0; i < oldKeys.length; i++) {
+            long key = oldKeys[i];
+            if (key != EMPTY_KEY) {
+                int slot = mix(key) & mask;
+                while (keys[slot] != EMPTY_KEY) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = key;
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new int[capacity];
+        mask = capacity - 1;
+        resizeAt = Math.max(1, (int) (capacity * LOAD_FACTOR));
+    }
+
+    private static int tableSizeFor(int expectedSize) {
+        int needed = (int) Math.ceil(Math.max(expectedSize, 2) / LOAD_FACTOR);
+        return Math.max(4, Integer.highestOneBit(needed - 1) << 1);
+    }
+
+    private static int mix(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    @FunctionalInterface
+    public interface EntryConsumer {
+        void accept(long key, int value);
+    }
+}
@@ -0,0 +1,209 @@
+package hs.elementSmpUtility.storage.index;
+
+import java.util.Arrays;
+
+/**
+ * Open-addressing hash map from primitive long keys to object values.
+ * Null values are not supported (null means "absent").
+ */
+public final class LongObjectHashMap<V> {
+
+    private static final long EMPTY_KEY = 0L;
+    private static final float LOAD_FACTOR = 0.6f;
+
+    private long[] keys;
+    private Object[] values;
+    private int mask;
+    private int size;
+    private int resizeAt;
+
+    // Key 0 is the empty-slot marker, so its value lives outside the table
+    private V zeroValue;
+
+    public LongObjectHashMap() {
+        this(16);
+    }
+
+    public LongObjectHashMap(int expectedSize) {
+        allocate(tableSizeFor(expectedSize));
+    }
+
+    @SuppressWarnings("unchecked")
+    public V get(long key) {
+        if (key == EMPTY_KEY) {
+            return zeroValue;
+        }
+
+        int slot = mix(key) & mask;
+        long existing;
+        while ((existing = keys[slot]) != EMPTY_KEY) {
+            if (existing == key) {
+                return (V) values[slot];
+            }
+            slot = (slot + 1) & mask;
+        }
+        return null;
+    }
+
+    public boolean containsKey(long key) {
+        return get(key) != null;
+    }
+
+    /**
+     * Put a non-null value, returning the previous value or null
+     */
+    @SuppressWarnings("unchecked")
+    public V put(long key, V value) {
+        if (value == null) {
+            throw new IllegalArgumentException("Null values are not supported");
+        }
+
+        if (key == EMPTY_KEY) {
+            V previous = zeroValue;
+            if (previous == null) {
+                size++;
+            }
+            zeroValue = value;
+            return previous;
+        }
+
+        int slot = mix(key) & mask;
+        long existing;
+        while ((existing = keys[slot]) != EMPTY_KEY) {
+            if (existing == key) {
+                V previous = (V) values[slot];
+                values[slot] = value;
+                return previous;
+            }
+            slot = (slot + 1) & mask;
+        }
+
+        keys[slot] = key;
+        values[slot] = value;
+        if (++size >= resizeAt) {
+            rehash(keys.length << 1);
+        }
+        return null;
+    }
+
+    /**
+     * Remove a key, returning the previous value or null
+     */
+    @SuppressWarnings("unchecked")
+    public V remove(long key) {
+        if (key == EMPTY_KEY) {
+            V previous = zeroValue;
+            if (previous != null) {
+                zeroValue = null;
+                size--;
+            }
+            return previous;
+        }
+
+        int slot = mix(key) & mask;
+        long existing;
+        while ((existing = keys[slot]) != EMPTY_KEY) {
+            if (existing == key) {
+                V previous = (V) values[slot];
+                shiftConflictingKeys(slot);
+                size--;
+                return previous;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return null;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        Arrays.fill(keys, EMPTY_KEY);
+        Arrays.fill(values, null);
+        zeroValue = null;
+        size = 0;
+    }
+
+    /**
+     * Visit every entry (order is unspecified, do not modify the map while iterating)
+     */
+    @SuppressWarnings("unchecked")
+    public void forEach(EntryConsumer<? super V> consumer) {
+        if (zeroValue != null) {
+            consumer.accept(EMPTY_KEY, zeroValue);
+        }
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != EMPTY_KEY) {
+                consumer.accept(keys[i], (V) values[i]);
+            }
+        }
+    }
+
+    /**
+     * Backward-shift deletion keeps probe chains intact without tombstones
+     */
+    private void shiftConflictingKeys(int gap) {
+        int slot = gap;
+        while (true) {
+            slot = (slot + 1) & mask;
+            long key = keys[slot];
+            if (key == EMPTY_KEY) {
+                break;
+            }
+
+            int ideal = mix(key) & mask;
+            if (((slot - ideal) & mask) >= ((slot - gap) & mask)) {
+                keys[gap] = key;
+                values[gap] = values[slot];
+                gap = slot;
+            }
+        }
+        keys[gap] = EMPTY_KEY;
+        values[gap] = null;
+    }
+
+    private void rehash(int newCapacity) {
+        long[] oldKeys = keys;
+        Object[] oldValues = values;
+        allocate(newCapacity);
+
+        for (int i = 0; i < oldKeys.length; i++) {
+            long key = oldKeys[i];
+            if (key != EMPTY_KEY) {
+                int slot = mix(key) & mask;
+                while (keys[slot] != EMPTY_KEY) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = key;
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new Object[capacity];
+        mask = capacity - 1;
+        resizeAt = Math.max(1, (int) (capacity * LOAD_FACTOR));
+    }
+
+    private static int tableSizeFor(int expectedSize) {
+        int needed = (int) Math.ceil(Math.max(expectedSize, 2) / LOAD_FACTOR);
+        return Math.max(4, Integer.highestOneBit(needed - 1) << 1);
+    }
+
+    private static int mix(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    @FunctionalInterface
+    public interface EntryConsumer<V> {
+        void accept(long key, V value);
+    }
+}
@@ -0,0 +1,41 @@
+package hs.elementSmpUtility.storage.index;
+
+import org.bukkit.Chunk;
+import org.bukkit.ChunkSnapshot;
+import org.bukkit.Material;
+import org.bukkit.block.data.BlockData;
+
+/**
+ * Palette checks that rule out chunks and sections before scanning them for pedestal bases.
+ * Lodestone has no block states, so one BlockData covers every placed lodestone.
+ */
+public final class PaletteFilter {
+
+    private static final BlockData LODESTONE = Material.LODESTONE.createBlockData();
+
+    private PaletteFilter() {
+    }
+
+    /**
+     * Whether any section palette of the snapshot holds a lodestone
+     */
+    public static boolean mayContainPedestal(ChunkSnapshot snapshot) {
+        return snapshot.contains(LODESTONE);
+    }
+
+    /**
+     * Whether any section palette of the loaded chunk holds a lodestone (main thread)
+     */
+    public static boolean mayContainPedestal(Chunk chunk) {
+        return chunk.contains(LODESTONE);
+    }
+
+    /**
+     * Whether the 16-block section starting at sectionMinY is all air and can be skipped.
+     * Bukkit exposes no per-section palette lookup, so this is the only section-level check available;
+     * {@link ChunkSnapshot#contains(BlockData)} always covers the whole chunk.
+     */
+    public static boolean isSectionEmpty(ChunkSnapshot snapshot, int worldMinY, int sectionMinY) {
+        return snapshot.isSectionEmpty((sectionMinY - worldMinY) >> 4);
+    }
+}
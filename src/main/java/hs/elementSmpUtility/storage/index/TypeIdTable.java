@@ -0,0 +1,41 @@
+package hs.elementSmpUtility.storage.index;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Small-int ids for block type names, used by the block index instead of strings.
+ * Ids are assigned on first use and never reused, so stored data for unregistered types still round-trips.
+ */
+public final class TypeIdTable {
+
+    private final Map<String, Integer> ids = new HashMap<>();
+    private final List<String> names = new ArrayList<>();
+
+    /**
+     * Get the id for a type name, assigning one if needed
+     */
+    public int getId(String name) {
+        Integer id = ids.get(name);
+        if (id != null) {
+            return id;
+        }
+
+        int newId = names.size();
+        names.add(name);
+        ids.put(name, newId);
+        return newId;
+    }
+
+    /**
+     * Get the type name for an id, or null if unknown
+     */
+    public String getName(int id) {
+        if (id < 0 || id >= names.size()) {
+            return null;
+        }
+        return names.get(id);
+    }
+}
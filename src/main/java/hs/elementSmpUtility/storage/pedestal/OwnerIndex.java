@@ -0,0 +1,52 @@
+package hs.elementSmpUtility.storage.pedestal;
+
+import hs.elementSmpUtility.storage.pedestal.PedestalJournal.PedestalKey;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Reverse index from owner UUID to the pedestals they own.
+ * Written on the main thread, safe to read from async query tasks.
+ */
+public class OwnerIndex {
+
+    private final Map<UUID, Set<PedestalKey>> pedestalsByOwner = new ConcurrentHashMap<>();
+
+    public void add(UUID owner, PedestalKey pedestal) {
+        pedestalsByOwner.computeIfAbsent(owner, id -> ConcurrentHashMap.newKeySet()).add(pedestal);
+    }
+
+    public void remove(UUID owner, PedestalKey pedestal) {
+        pedestalsByOwner.computeIfPresent(owner, (id, pedestals) -> {
+            pedestals.remove(pedestal);
+            return pedestals.isEmpty() ? null : pedestals;
+        });
+    }
+
+    /**
+     * Copy of one owner's pedestals
+     */
+    public List<PedestalKey> getPedestals(UUID owner) {
+        Set<PedestalKey> pedestals = pedestalsByOwner.get(owner);
+        return pedestals != null ? new ArrayList<>(pedestals) : Collections.emptyList();
+    }
+
+    public int getPedestalCount(UUID owner) {
+        Set<PedestalKey> pedestals = pedestalsByOwner.get(owner);
+        return pedestals != null ? pedestals.size() : 0;
+    }
+
+    public Set<UUID> getOwners() {
+        return Collections.unmodifiableSet(pedestalsByOwner.keySet());
+    }
+
+    public void clear() {
+        pedestalsByOwner.clear();
+    }
+}
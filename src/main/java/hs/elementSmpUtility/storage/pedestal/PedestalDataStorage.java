@@ -1,129 +1,76 @@
 package hs.elementSmpUtility.storage.pedestal;
 
+import hs.elementSmpUtility.storage.codec.ItemPayloadCodec;
 import org.bukkit.Chunk;
 import org.bukkit.Location;
-import org.bukkit.NamespacedKey;
+import org.bukkit.World;
 import org.bukkit.inventory.ItemStack;
-import org.bukkit.persistence.PersistentDataContainer;
-import org.bukkit.persistence.PersistentDataType;
 import org.bukkit.plugin.java.JavaPlugin;
-import org.bukkit.util.io.BukkitObjectInputStream;
-import org.bukkit.util.io.BukkitObjectOutputStream;
 
-import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
-import java.util.Base64;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Manages storage of pedestal item data
- * Uses DUAL storage: Chunk PDC (primary) + YAML file (backup)
+ * Uses DUAL storage: pedestal records in chunk PDC (primary) + journal file (backup)
  */
 public class PedestalDataStorage {
 
     private final JavaPlugin plugin;
-    private final NamespacedKey pedestalKey;
-    private final Map<String, ItemStack> pedestalCache;
+    private final PedestalRecordStore records;
     private final PedestalYmlStorage ymlStorage;
 
-    public PedestalDataStorage(JavaPlugin plugin) {
+    public PedestalDataStorage(JavaPlugin plugin, PedestalRecordStore records) {
         this.plugin = plugin;
-        this.pedestalKey = new NamespacedKey(plugin, "pedestal_items");
-        this.pedestalCache = new HashMap<>();
+        this.records = records;
         this.ymlStorage = new PedestalYmlStorage(plugin);
 
         // Log storage initialization
-        plugin.getLogger().info("Pedestal storage initialized (PDC + YAML backup)");
-        plugin.getLogger().info("Found " + ymlStorage.getPedestalCount() + " pedestals in YAML backup");
+        plugin.getLogger().info("Pedestal storage initialized (PDC + journal backup)");
+        plugin.getLogger().info("Found " + ymlStorage.getPedestalCount() + " pedestals in backup journal");
     }
 
     /**
-     * Save item data for a pedestal (DUAL SAVE: PDC + YAML)
+     * Save item data for a pedestal (DUAL SAVE: PDC + journal)
      */
     public void savePedestalItem(Location location, ItemStack item) {
-        String locationKey = getLocationKey(location);
-
         if (item == null || item.getType().isAir()) {
-            pedestalCache.remove(locationKey);
-            removePedestalFromChunk(location);
+            records.update(location, record -> record.withItem(null));
             ymlStorage.removePedestal(location);
             return;
         }
 
-        // Save to cache
-        pedestalCache.put(locationKey, item.clone());
-
-        // Save to Chunk PDC
-        saveToChunkPDC(location, item);
-
-        // Save to YAML backup
-        ymlStorage.savePedestal(location, item);
-    }
-
-    /**
-     * Save to Chunk PDC
-     */
-    private void saveToChunkPDC(Location location, ItemStack item) {
-        String locationKey = getLocationKey(location);
-        Chunk chunk = location.getChunk();
-        PersistentDataContainer pdc = chunk.getPersistentDataContainer();
-
-        String existingData = pdc.getOrDefault(pedestalKey, PersistentDataType.STRING, "");
-        String serializedItem = serializeItem(item);
-        String newEntry = locationKey + ":" + serializedItem;
-
-        // Update or add entry
-        StringBuilder newData = new StringBuilder();
-        boolean found = false;
-
-        if (!existingData.isEmpty()) {
-            for (String entry : existingData.split(";")) {
-                if (entry.isEmpty()) continue;
-
-                String[] parts = entry.split(":", 2);
-                if (parts.length == 2) {
-                    if (parts[0].equals(locationKey)) {
-                        newData.append(newEntry);
-                        found = true;
-                    } else {
-                        newData.append(entry);
-                    }
-                    newData.append(";");
-                }
-            }
+        byte[] payload = serializeItem(item);
+        if (payload == null) {
+            return;
         }
 
-        if (!found) {
-            newData.append(newEntry).append(";");
-        }
+        // Save to the pedestal record (cache + chunk PDC)
+        StoredItem stored = new StoredItem(payload, item.clone());
+        records.update(location, record -> record.withItem(stored));
 
-        pdc.set(pedestalKey, PersistentDataType.STRING, newData.toString());
+        // Save to journal backup (same payload, no second serialization)
+        ymlStorage.savePedestal(location, stored);
     }
 
     /**
-     * Get item data for a pedestal (tries cache → PDC → YAML)
+     * Get item data for a pedestal (tries record → journal)
      */
     public ItemStack getPedestalItem(Location location) {
-        String locationKey = getLocationKey(location);
-
-        // Try cache first
-        if (pedestalCache.containsKey(locationKey)) {
-            return pedestalCache.get(locationKey);
-        }
-
-        // Try PDC
-        ItemStack fromPDC = loadFromChunkPDC(location);
-        if (fromPDC != null) {
-            pedestalCache.put(locationKey, fromPDC);
-            return fromPDC;
+        // Records are cached per chunk (materializes the item on first use)
+        PedestalRecord record = records.get(location);
+        if (record != null && record.getItem() != null) {
+            return materialize(record.getItem());
         }
 
-        // Try YAML backup as last resort
+        // Try journal backup as last resort
         ItemStack fromYML = ymlStorage.loadPedestal(location);
         if (fromYML != null) {
-            pedestalCache.put(locationKey, fromYML);
-            plugin.getLogger().info("Restored pedestal from YAML backup at " +
+            byte[] payload = serializeItem(fromYML);
+            if (payload != null) {
+                StoredItem stored = new StoredItem(payload, fromYML);
+                records.update(location, current -> current.withItem(stored));
+            }
+            plugin.getLogger().info("Restored pedestal from backup journal at " +
                     location.getBlockX() + "," + location.getBlockY() + "," + location.getBlockZ());
         }
 
@@ -131,118 +78,74 @@ public class PedestalDataStorage {
     }
 
     /**
-     * Load from Chunk PDC
+     * Load chunk data into cache (item and owner records share one record per pedestal)
      */
-    private ItemStack loadFromChunkPDC(Location location) {
-        String locationKey = getLocationKey(location);
-        Chunk chunk = location.getChunk();
-        PersistentDataContainer pdc = chunk.getPersistentDataContainer();
-        String data = pdc.getOrDefault(pedestalKey, PersistentDataType.STRING, "");
-
-        if (data.isEmpty()) {
-            return null;
-        }
-
-        for (String entry : data.split(";")) {
-            if (entry.isEmpty()) continue;
-
-            String[] parts = entry.split(":", 2);
-            if (parts.length == 2 && parts[0].equals(locationKey)) {
-                return deserializeItem(parts[1]);
-            }
-        }
-
-        return null;
+    public CompletableFuture<Void> loadChunk(Chunk chunk) {
+        return records.loadChunk(chunk);
     }
 
     /**
-     * Remove pedestal data
+     * Unload chunk data from cache
      */
-    private void removePedestalFromChunk(Location location) {
-        String locationKey = getLocationKey(location);
-        Chunk chunk = location.getChunk();
-        PersistentDataContainer pdc = chunk.getPersistentDataContainer();
-        String data = pdc.getOrDefault(pedestalKey, PersistentDataType.STRING, "");
-
-        if (data.isEmpty()) {
-            return;
-        }
-
-        StringBuilder newData = new StringBuilder();
-        for (String entry : data.split(";")) {
-            if (entry.isEmpty()) continue;
+    public void unloadChunk(Chunk chunk) {
+        records.unloadChunk(chunk);
+    }
 
-            String[] parts = entry.split(":", 2);
-            if (parts.length == 2 && !parts[0].equals(locationKey)) {
-                newData.append(entry).append(";");
+    /**
+     * Count cached items as {total, materialized}
+     */
+    public int[] getItemCacheCounts() {
+        int[] counts = new int[2];
+        records.forEach((pos, record) -> {
+            if (record.getItem() != null) {
+                counts[0]++;
+                if (record.getItem().isMaterialized()) {
+                    counts[1]++;
+                }
             }
-        }
-
-        if (newData.length() == 0) {
-            pdc.remove(pedestalKey);
-        } else {
-            pdc.set(pedestalKey, PersistentDataType.STRING, newData.toString());
-        }
+        });
+        return counts;
     }
 
     /**
-     * Load chunk data into cache (also syncs with YAML)
+     * Drop all cached data for a world
      */
-    public void loadChunk(Chunk chunk) {
-        PersistentDataContainer pdc = chunk.getPersistentDataContainer();
-        String data = pdc.getOrDefault(pedestalKey, PersistentDataType.STRING, "");
-
-        if (data.isEmpty()) {
-            return;
-        }
-
-        for (String entry : data.split(";")) {
-            if (entry.isEmpty()) continue;
+    public void unloadWorld(World world) {
+        records.unloadWorld(world);
+    }
 
-            String[] parts = entry.split(":", 2);
-            if (parts.length == 2) {
-                ItemStack item = deserializeItem(parts[1]);
-                if (item != null) {
-                    pedestalCache.put(parts[0], item);
-                }
-            }
-        }
+    /**
+     * Number of cached pedestal records in a chunk
+     */
+    public int getCachedPedestalCount(Chunk chunk) {
+        return records.getRecordCount(chunk);
     }
 
     /**
-     * Unload chunk data from cache
+     * Number of chunks currently held in the cache
      */
-    public void unloadChunk(Chunk chunk) {
-        String chunkKey = chunk.getWorld().getName() + "," + chunk.getX() + "," + chunk.getZ();
-        pedestalCache.entrySet().removeIf(entry -> entry.getKey().startsWith(chunkKey));
+    public int getCachedChunkCount() {
+        return records.getCachedChunkCount();
     }
 
     /**
-     * Serialize ItemStack to Base64 string
+     * Serialize ItemStack to Paper item bytes (compressed when large)
      */
-    private String serializeItem(ItemStack item) {
+    private byte[] serializeItem(ItemStack item) {
         try {
-            ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-            BukkitObjectOutputStream dataOutput = new BukkitObjectOutputStream(outputStream);
-            dataOutput.writeObject(item);
-            dataOutput.close();
-            return Base64.getEncoder().encodeToString(outputStream.toByteArray());
+            return ItemPayloadCodec.encode(item);
         } catch (Exception e) {
             plugin.getLogger().warning("Failed to serialize item: " + e.getMessage());
-            return "";
+            return null;
         }
     }
 
     /**
-     * Deserialize ItemStack from Base64 string
+     * Get the ItemStack of a cached entry, deserializing it if needed
      */
-    private ItemStack deserializeItem(String data) {
+    private ItemStack materialize(StoredItem stored) {
         try {
-            ByteArrayInputStream inputStream = new ByteArrayInputStream(Base64.getDecoder().decode(data));
-            BukkitObjectInputStream dataInput = new BukkitObjectInputStream(inputStream);
-            ItemStack item = (ItemStack) dataInput.readObject();
-            dataInput.close();
-            return item;
+            return stored.materialize();
         } catch (Exception e) {
             plugin.getLogger().warning("Failed to deserialize item: " + e.getMessage());
             return null;
@@ -250,17 +153,21 @@ public class PedestalDataStorage {
     }
 
     /**
-     * Create a unique location key
+     * Write pending backup changes in the background
+     */
+    public void flush() {
+        ymlStorage.flush();
+    }
+
+    /**
+     * Stop background flushing and write pending backup changes now
      */
-    private String getLocationKey(Location loc) {
-        return loc.getWorld().getName() + "," +
-                loc.getBlockX() + "," +
-                loc.getBlockY() + "," +
-                loc.getBlockZ();
+    public void shutdown() {
+        ymlStorage.shutdown();
     }
 
     /**
-     * Get YAML storage for direct access
+     * Get backup storage for direct access
      */
     public PedestalYmlStorage getYmlStorage() {
         return ymlStorage;
@@ -0,0 +1,385 @@
+package hs.elementSmpUtility.storage.pedestal;
+
+import hs.elementSmpUtility.metrics.Metrics;
+import hs.elementSmpUtility.metrics.jfr.BackupFlushEvent;
+import org.bukkit.Location;
+import org.bukkit.plugin.Plugin;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only binary journal of pedestal put/remove records with a compacted snapshot.
+ * <p>
+ * Record layout: int payload length, int CRC32 of payload, payload
+ * (byte op, UTF world, int x, int y, int z, and for puts int length + item bytes).
+ * All file IO happens on one writer thread, in submission order. Appends are fsynced in
+ * batches; once the journal passes the size threshold a snapshot of the current state is
+ * written in the background and the journal is truncated.
+ */
+public class PedestalJournal {
+
+    private static final byte OP_PUT = 1;
+    private static final byte OP_REMOVE = 2;
+    private static final int MAX_RECORD_BYTES = 16 * 1024 * 1024;
+
+    private final Plugin plugin;
+    private final Path journalPath;
+    private final Path snapshotPath;
+    private final long compactThresholdBytes;
+    private final Map<PedestalKey, byte[]> entries;
+    private final ScheduledExecutorService writer;
+
+    private volatile FileChannel journal;
+    private long journalBytes;
+    private volatile boolean compactionQueued;
+
+    // Only touched on the writer thread
+    private boolean unsynced;
+
+    public PedestalJournal(Plugin plugin, File directory, String baseName,
+                           long compactThresholdBytes, long syncIntervalMillis) {
+        this.plugin = plugin;
+        this.journalPath = new File(directory, baseName + ".journal").toPath();
+        this.snapshotPath = new File(directory, baseName + ".snapshot").toPath();
+        this.compactThresholdBytes = compactThresholdBytes;
+        this.entries = new HashMap<>();
+        this.writer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "ElementSmpUtility-PedestalJournal");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        open();
+        writer.scheduleWithFixedDelay(this::syncOnWriter, syncIntervalMillis, syncIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Whether there was nothing on disk at startup (used for one-time migrations)
+     */
+    public boolean isEmptyOnDisk() {
+        return !Files.exists(snapshotPath) && journalBytes == 0;
+    }
+
+    public byte[] get(PedestalKey key) {
+        return entries.get(key);
+    }
+
+    public Map<PedestalKey, byte[]> getAll() {
+        return entries;
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Record a put (main thread)
+     */
+    public void put(PedestalKey key, byte[] itemBytes) {
+        entries.put(key, itemBytes);
+        append(encodeRecord(OP_PUT, key, itemBytes));
+    }
+
+    /**
+     * Record a remove (main thread)
+     */
+    public void remove(PedestalKey key) {
+        if (entries.remove(key) != null) {
+            append(encodeRecord(OP_REMOVE, key, null));
+        }
+    }
+
+    /**
+     * Request an fsync of everything appended so far
+     */
+    public void sync() {
+        writer.execute(this::syncOnWriter);
+    }
+
+    /**
+     * Write a snapshot right away and truncate the journal
+     */
+    public void compact() {
+        Map<PedestalKey, byte[]> snapshot = new HashMap<>(entries);
+        compactionQueued = true;
+        journalBytes = 0;
+        writer.execute(() -> compactOnWriter(snapshot));
+    }
+
+    /**
+     * Drain pending writes, fsync and close the files
+     */
+    public void close() {
+        writer.execute(this::syncOnWriter);
+        writer.shutdown();
+        try {
+            if (!writer.awaitTermination(30, TimeUnit.SECONDS)) {
+                plugin.getLogger().severe("Timed out waiting for the pedestal journal to flush!");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        try {
+            journal.close();
+        } catch (IOException e) {
+            plugin.getLogger().severe("Could not close pedestal journal: " + e.getMessage());
+        }
+    }
+
+    private void append(byte[] record) {
+        journalBytes += record.length;
+        writer.execute(() -> {
+            try {
+                ByteBuffer buffer = ByteBuffer.wrap(record);
+                while (buffer.hasRemaining()) {
+                    journal.write(buffer);
+                }
+                unsynced = true;
+            } catch (IOException e) {
+                plugin.getLogger().severe("Could not append to pedestal journal: " + e.getMessage());
+            }
+        });
+
+        if (!compactionQueued && journalBytes >= compactThresholdBytes) {
+            compact();
+        }
+    }
+
+    private void syncOnWriter() {
+        if (!unsynced) {
+            return;
+        }
+
+        try {
+            long start = System.nanoTime();
+            BackupFlushEvent event = new BackupFlushEvent();
+            event.begin();
+
+            journal.force(false);
+            unsynced = false;
+            Metrics.JOURNAL_SYNC.recordSince(start);
+
+            if (event.shouldCommit()) {
+                event.file = journalPath.getFileName().toString();
+                event.operation = "sync";
+                event.bytes = journal.size();
+                event.commit();
+            }
+        } catch (IOException e) {
+            plugin.getLogger().severe("Could not sync pedestal journal: " + e.getMessage());
+        }
+    }
+
+    private void compactOnWriter(Map<PedestalKey, byte[]> snapshot) {
+        long start = System.nanoTime();
+        BackupFlushEvent event = new BackupFlushEvent();
+        event.begin();
+        Path temp = snapshotPath.resolveSibling(snapshotPath.getFileName() + ".tmp");
+        try (FileChannel out = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            for (Map.Entry<PedestalKey, byte[]> entry : snapshot.entrySet()) {
+                ByteBuffer buffer = ByteBuffer.wrap(encodeRecord(OP_PUT, entry.getKey(), entry.getValue()));
+                while (buffer.hasRemaining()) {
+                    out.write(buffer);
+                }
+            }
+            out.force(true);
+        } catch (IOException e) {
+            plugin.getLogger().severe("Could not write pedestal snapshot: " + e.getMessage());
+            compactionQueued = false;
+            return;
+        }
+
+        try {
+            moveAtomically(temp, snapshotPath);
+
+            // The snapshot now covers everything in the journal. If we crash before the
+            // truncate, replaying the old journal over the snapshot ends in the same state.
+            journal.truncate(0);
+            journal.force(true);
+            unsynced = false;
+            Metrics.JOURNAL_COMPACT.recordSince(start);
+
+            if (event.shouldCommit()) {
+                event.file = snapshotPath.getFileName().toString();
+                event.operation = "compact";
+                event.bytes = Files.size(snapshotPath);
+                event.entries = snapshot.size();
+                event.commit();
+            }
+        } catch (IOException e) {
+            plugin.getLogger().severe("Could not finish pedestal journal compaction: " + e.getMessage());
+        }
+
+        compactionQueued = false;
+    }
+
+    /**
+     * Replay snapshot + journal and open the journal for appending
+     */
+    private void open() {
+        entries.clear();
+
+        try {
+            Files.createDirectories(journalPath.getParent());
+
+            if (Files.exists(snapshotPath)) {
+                replay(snapshotPath, false);
+            }
+
+            long validLength = Files.exists(journalPath) ? replay(journalPath, true) : 0;
+
+            journal = FileChannel.open(journalPath, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+            if (journal.size() > validLength) {
+                plugin.getLogger().warning("Pedestal journal had a torn tail, truncating " +
+                        (journal.size() - validLength) + " bytes");
+                journal.truncate(validLength);
+                journal.force(true);
+            }
+            journal.position(validLength);
+            journalBytes = validLength;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not open pedestal journal", e);
+        }
+    }
+
+    /**
+     * Re-read everything from disk
+     */
+    public void reload() {
+        try {
+            writer.submit(this::syncOnWriter).get();
+            journal.close();
+        } catch (Exception e) {
+            plugin.getLogger().severe("Could not sync pedestal journal before reload: " + e.getMessage());
+        }
+        open();
+    }
+
+    /**
+     * Apply all valid records of a file, returning the byte length of the valid prefix
+     */
+    private long replay(Path path, boolean tolerateTornTail) throws IOException {
+        long valid = 0;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+            while (true) {
+                int length;
+                try {
+                    length = in.readInt();
+                } catch (EOFException e) {
+                    break;
+                }
+
+                if (length <= 0 || length > MAX_RECORD_BYTES) {
+                    break;
+                }
+
+                int checksum;
+                byte[] payload = new byte[length];
+                try {
+                    checksum = in.readInt();
+                    in.readFully(payload);
+                } catch (EOFException e) {
+                    break;
+                }
+
+                CRC32 crc = new CRC32();
+                crc.update(payload);
+                if ((int) crc.getValue() != checksum) {
+                    break;
+                }
+
+                applyRecord(payload);
+                valid += 8L + length;
+            }
+        }
+
+        if (!tolerateTornTail && valid != Files.size(path)) {
+            plugin.getLogger().warning("Pedestal snapshot " + path.getFileName() + " is damaged after byte " + valid);
+        }
+        return valid;
+    }
+
+    private void applyRecord(byte[] payload) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload));
+        byte op = in.readByte();
+        PedestalKey key = new PedestalKey(in.readUTF(), in.readInt(), in.readInt(), in.readInt());
+
+        if (op == OP_PUT) {
+            byte[] item = new byte[in.readInt()];
+            in.readFully(item);
+            entries.put(key, item);
+        } else if (op == OP_REMOVE) {
+            entries.remove(key);
+        }
+    }
+
+    private static byte[] encodeRecord(byte op, PedestalKey key, byte[] itemBytes) {
+        try {
+            ByteArrayOutputStream payloadBytes = new ByteArrayOutputStream(32 + (itemBytes != null ? itemBytes.length : 0));
+            DataOutputStream payload = new DataOutputStream(payloadBytes);
+            payload.writeByte(op);
+            payload.writeUTF(key.world());
+            payload.writeInt(key.x());
+            payload.writeInt(key.y());
+            payload.writeInt(key.z());
+            if (op == OP_PUT) {
+                payload.writeInt(itemBytes.length);
+                payload.write(itemBytes);
+            }
+
+            byte[] body = payloadBytes.toByteArray();
+            CRC32 crc = new CRC32();
+            crc.update(body);
+
+            ByteBuffer record = ByteBuffer.allocate(8 + body.length);
+            record.putInt(body.length);
+            record.putInt((int) crc.getValue());
+            record.put(body);
+            return record.array();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void moveAtomically(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * Identifies a pedestal by world name and block coordinates
+     */
+    public record PedestalKey(String world, int x, int y, int z) {
+
+        public static PedestalKey of(Location location) {
+            return new PedestalKey(location.getWorld().getName(),
+                    location.getBlockX(), location.getBlockY(), location.getBlockZ());
+        }
+    }
+}
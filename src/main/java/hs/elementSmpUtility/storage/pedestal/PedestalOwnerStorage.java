@@ -1,102 +1,157 @@
 package hs.elementSmpUtility.storage.pedestal;
 
-import org.bukkit.Bukkit;
+import hs.elementSmpUtility.storage.FileWriteBehind;
+import hs.elementSmpUtility.storage.PlayerNameCache;
+import hs.elementSmpUtility.storage.codec.OwnerBackupCodec;
+import hs.elementSmpUtility.storage.index.BlockPos;
+import hs.elementSmpUtility.storage.pedestal.PedestalJournal.PedestalKey;
 import org.bukkit.Chunk;
 import org.bukkit.Location;
-import org.bukkit.NamespacedKey;
 import org.bukkit.configuration.file.FileConfiguration;
 import org.bukkit.configuration.file.YamlConfiguration;
-import org.bukkit.persistence.PersistentDataContainer;
-import org.bukkit.persistence.PersistentDataType;
 import org.bukkit.plugin.java.JavaPlugin;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 
 /**
- * Manages pedestal ownership using DUAL storage: Chunk PDC + YAML backup
+ * Manages pedestal ownership using DUAL storage: Chunk PDC + binary backup file.
+ * Owners are stored as two longs; an existing pedestal_owners.yml is migrated once on first start.
  */
 public class PedestalOwnerStorage {
 
     private final JavaPlugin plugin;
-    private final NamespacedKey ownerKey;
-    private final Map<String, UUID> ownerCache;
+    private final PedestalRecordStore records;
+    private final OwnerIndex ownerIndex;
+    private final PlayerNameCache nameCache;
     private final File ownerFile;
-    private FileConfiguration ownerConfig;
+    private final File legacyFile;
+    private final FileWriteBehind writeBehind;
+    private final Map<PedestalKey, UUID> backup = new HashMap<>();
 
-    public PedestalOwnerStorage(JavaPlugin plugin) {
+    public PedestalOwnerStorage(JavaPlugin plugin, PedestalRecordStore records, PlayerNameCache nameCache) {
         this.plugin = plugin;
-        this.ownerKey = new NamespacedKey(plugin, "pedestal_owners");
-        this.ownerCache = new HashMap<>();
-        this.ownerFile = new File(plugin.getDataFolder(), "pedestal_owners.yml");
-
-        loadOwnerConfig();
+        this.records = records;
+        this.nameCache = nameCache;
+        this.ownerIndex = new OwnerIndex();
+        this.ownerFile = new File(plugin.getDataFolder(), "pedestal_owners.dat");
+        this.legacyFile = new File(plugin.getDataFolder(), "pedestal_owners.yml");
+        this.writeBehind = new FileWriteBehind(plugin, ownerFile, () -> OwnerBackupCodec.encode(backup));
+
+        loadBackup();
+        rebuildOwnerIndex();
+        writeBehind.start(plugin.getConfig().getLong("storage.flush-interval-seconds", 5L));
         plugin.getLogger().info("Pedestal owner storage initialized");
     }
 
-    private void loadOwnerConfig() {
+    private void loadBackup() {
+        backup.clear();
         if (!ownerFile.exists()) {
+            migrateLegacyYaml();
+            return;
+        }
+
+        try {
+            backup.putAll(OwnerBackupCodec.decode(Files.readAllBytes(ownerFile.toPath())));
+        } catch (IOException e) {
+            // Keep the unreadable file, the next flush would replace it with an empty backup
+            File corruptFile = new File(ownerFile.getParentFile(),
+                    "pedestal_owners.dat.corrupt-" + System.currentTimeMillis());
             try {
-                ownerFile.getParentFile().mkdirs();
-                ownerFile.createNewFile();
-            } catch (IOException e) {
-                plugin.getLogger().severe("Could not create pedestal_owners.yml: " + e.getMessage());
+                Files.copy(ownerFile.toPath(), corruptFile.toPath());
+            } catch (IOException copyError) {
+                plugin.getLogger().severe("Could not back up pedestal_owners.dat: " + copyError.getMessage());
             }
+            plugin.getLogger().severe("Could not read pedestal_owners.dat, kept a copy as " +
+                    corruptFile.getName() + ": " + e.getMessage());
         }
-        ownerConfig = YamlConfiguration.loadConfiguration(ownerFile);
     }
 
     /**
-     * Set the owner of a pedestal (DUAL SAVE: PDC + YAML)
+     * One-time import of the old pedestal_owners.yml into the binary backup
      */
-    public void setOwner(Location location, UUID ownerUUID) {
-        String locationKey = getLocationKey(location);
-
-        if (ownerUUID == null) {
-            ownerCache.remove(locationKey);
-            removeFromChunkPDC(location);
-            removeFromYAML(location);
+    private void migrateLegacyYaml() {
+        if (!legacyFile.exists()) {
             return;
         }
 
-        // Save to cache
-        ownerCache.put(locationKey, ownerUUID);
+        FileConfiguration config = YamlConfiguration.loadConfiguration(legacyFile);
+        for (String key : config.getKeys(false)) {
+            String[] parts = key.split(",");
+            String uuidString = config.getString(key);
+            if (parts.length != 4 || uuidString == null) {
+                continue;
+            }
+
+            try {
+                backup.put(new PedestalKey(parts[0], Integer.parseInt(parts[1]),
+                        Integer.parseInt(parts[2]), Integer.parseInt(parts[3])), UUID.fromString(uuidString));
+            } catch (IllegalArgumentException e) {
+                plugin.getLogger().warning("Skipping invalid owner entry: " + key);
+            }
+        }
 
-        // Save to Chunk PDC
-        saveToChunkPDC(location, ownerUUID);
+        writeBehind.markDirty();
+        writeBehind.flushNow();
 
-        // Save to YAML backup
-        saveToYAML(location, ownerUUID);
+        File migratedFile = new File(legacyFile.getParentFile(), "pedestal_owners.yml.migrated");
+        if (!legacyFile.renameTo(migratedFile)) {
+            plugin.getLogger().warning("Could not rename pedestal_owners.yml after migration");
+        }
+        plugin.getLogger().info("Migrated " + backup.size() + " pedestal owners from pedestal_owners.yml to pedestal_owners.dat");
     }
 
     /**
-     * Get the owner UUID of a pedestal (tries cache → PDC → YAML)
+     * Rebuild the owner -> pedestals index from the backup, which holds every owned pedestal
      */
-    public UUID getOwner(Location location) {
-        String locationKey = getLocationKey(location);
+    private void rebuildOwnerIndex() {
+        ownerIndex.clear();
+        backup.forEach((pedestal, owner) -> ownerIndex.add(owner, pedestal));
+    }
 
-        // Try cache first
-        if (ownerCache.containsKey(locationKey)) {
-            return ownerCache.get(locationKey);
+    /**
+     * Set the owner of a pedestal (DUAL SAVE: PDC + backup)
+     */
+    public void setOwner(Location location, UUID ownerUUID) {
+        // Keep the reverse index in step with the forward mapping
+        PedestalKey pedestal = PedestalKey.of(location);
+        UUID previousOwner = getOwner(location);
+        if (previousOwner != null) {
+            ownerIndex.remove(previousOwner, pedestal);
         }
 
-        // Try PDC
-        UUID fromPDC = loadFromChunkPDC(location);
-        if (fromPDC != null) {
-            ownerCache.put(locationKey, fromPDC);
-            return fromPDC;
+        // Save to the pedestal record (cache + chunk PDC)
+        records.update(location, record -> record.withOwner(ownerUUID));
+
+        if (ownerUUID == null) {
+            removeFromBackup(pedestal);
+            return;
         }
 
-        // Try YAML backup
-        UUID fromYAML = loadFromYAML(location);
-        if (fromYAML != null) {
-            ownerCache.put(locationKey, fromYAML);
+        ownerIndex.add(ownerUUID, pedestal);
+
+        // Save to backup file
+        saveToBackup(pedestal, ownerUUID);
+    }
+
+    /**
+     * Get the owner UUID of a pedestal (tries record → backup, never writes)
+     */
+    public UUID getOwner(Location location) {
+        // Records are cached per chunk
+        PedestalRecord record = records.get(location);
+        if (record != null && record.getOwner() != null) {
+            return record.getOwner();
         }
 
-        return fromYAML;
+        // Try backup file; indexChunk repairs records that lost their owner
+        return backup.get(PedestalKey.of(location));
     }
 
     /**
@@ -115,195 +170,88 @@ public class PedestalOwnerStorage {
     }
 
     /**
-     * Save to Chunk PDC
+     * Save to backup
      */
-    private void saveToChunkPDC(Location location, UUID ownerUUID) {
-        String locationKey = getLocationKey(location);
-        Chunk chunk = location.getChunk();
-        PersistentDataContainer pdc = chunk.getPersistentDataContainer();
-
-        String existingData = pdc.getOrDefault(ownerKey, PersistentDataType.STRING, "");
-        String newEntry = locationKey + ":" + ownerUUID.toString();
-
-        StringBuilder newData = new StringBuilder();
-        boolean found = false;
-
-        if (!existingData.isEmpty()) {
-            for (String entry : existingData.split(";")) {
-                if (entry.isEmpty()) continue;
-
-                String[] parts = entry.split(":", 2);
-                if (parts.length == 2) {
-                    if (parts[0].equals(locationKey)) {
-                        newData.append(newEntry);
-                        found = true;
-                    } else {
-                        newData.append(entry);
-                    }
-                    newData.append(";");
-                }
-            }
-        }
-
-        if (!found) {
-            newData.append(newEntry).append(";");
-        }
-
-        pdc.set(ownerKey, PersistentDataType.STRING, newData.toString());
+    private void saveToBackup(PedestalKey pedestal, UUID ownerUUID) {
+        backup.put(pedestal, ownerUUID);
+        writeBehind.markDirty();
     }
 
     /**
-     * Load from Chunk PDC
+     * Remove from backup
      */
-    private UUID loadFromChunkPDC(Location location) {
-        String locationKey = getLocationKey(location);
-        Chunk chunk = location.getChunk();
-        PersistentDataContainer pdc = chunk.getPersistentDataContainer();
-        String data = pdc.getOrDefault(ownerKey, PersistentDataType.STRING, "");
-
-        if (data.isEmpty()) {
-            return null;
-        }
-
-        for (String entry : data.split(";")) {
-            if (entry.isEmpty()) continue;
-
-            String[] parts = entry.split(":", 2);
-            if (parts.length == 2 && parts[0].equals(locationKey)) {
-                try {
-                    return UUID.fromString(parts[1]);
-                } catch (IllegalArgumentException e) {
-                    plugin.getLogger().warning("Invalid UUID in pedestal owner data: " + parts[1]);
-                }
-            }
+    private void removeFromBackup(PedestalKey pedestal) {
+        if (backup.remove(pedestal) != null) {
+            writeBehind.markDirty();
         }
-
-        return null;
     }
 
     /**
-     * Remove from Chunk PDC
+     * Write pending backup changes in the background
      */
-    private void removeFromChunkPDC(Location location) {
-        String locationKey = getLocationKey(location);
-        Chunk chunk = location.getChunk();
-        PersistentDataContainer pdc = chunk.getPersistentDataContainer();
-        String data = pdc.getOrDefault(ownerKey, PersistentDataType.STRING, "");
-
-        if (data.isEmpty()) {
-            return;
-        }
-
-        StringBuilder newData = new StringBuilder();
-        for (String entry : data.split(";")) {
-            if (entry.isEmpty()) continue;
-
-            String[] parts = entry.split(":", 2);
-            if (parts.length == 2 && !parts[0].equals(locationKey)) {
-                newData.append(entry).append(";");
-            }
-        }
-
-        if (newData.length() == 0) {
-            pdc.remove(ownerKey);
-        } else {
-            pdc.set(ownerKey, PersistentDataType.STRING, newData.toString());
-        }
+    public void flush() {
+        writeBehind.flush();
     }
 
     /**
-     * Save to YAML
+     * Stop background flushing and write pending backup changes now
      */
-    private void saveToYAML(Location location, UUID ownerUUID) {
-        String key = getLocationKey(location);
-        ownerConfig.set(key, ownerUUID.toString());
-        saveYAMLConfig();
+    public void shutdown() {
+        writeBehind.shutdown();
     }
 
     /**
-     * Load from YAML
+     * Add the owners of a loaded chunk's records to the owner index,
+     * restoring owners from the backup into records that lost theirs
      */
-    private UUID loadFromYAML(Location location) {
-        String key = getLocationKey(location);
-        String uuidString = ownerConfig.getString(key);
-
-        if (uuidString != null) {
-            try {
-                return UUID.fromString(uuidString);
-            } catch (IllegalArgumentException e) {
-                plugin.getLogger().warning("Invalid UUID in YAML: " + uuidString);
+    public void indexChunk(Chunk chunk) {
+        String worldName = chunk.getWorld().getName();
+        List<Location> repaired = new ArrayList<>();
+        List<UUID> repairedOwners = new ArrayList<>();
+
+        // Picks up owners that only exist in chunk data
+        records.forEachInChunk(chunk, (pos, record) -> {
+            PedestalKey pedestal = new PedestalKey(worldName, BlockPos.x(pos), BlockPos.y(pos), BlockPos.z(pos));
+            UUID owner = record.getOwner();
+            if (owner != null) {
+                // The chunk record wins over the backup; drop the entry the backup seeded, as setOwner does
+                UUID previous = backup.get(pedestal);
+                if (previous != null && !previous.equals(owner)) {
+                    ownerIndex.remove(previous, pedestal);
+                    saveToBackup(pedestal, owner);
+                }
+                ownerIndex.add(owner, pedestal);
+                return;
             }
-        }
-
-        return null;
-    }
-
-    /**
-     * Remove from YAML
-     */
-    private void removeFromYAML(Location location) {
-        String key = getLocationKey(location);
-        ownerConfig.set(key, null);
-        saveYAMLConfig();
-    }
-
-    /**
-     * Save YAML config
-     */
-    private void saveYAMLConfig() {
-        try {
-            ownerConfig.save(ownerFile);
-        } catch (IOException e) {
-            plugin.getLogger().severe("Could not save pedestal_owners.yml: " + e.getMessage());
-        }
-    }
-
-    /**
-     * Load chunk data into cache
-     */
-    public void loadChunk(Chunk chunk) {
-        PersistentDataContainer pdc = chunk.getPersistentDataContainer();
-        String data = pdc.getOrDefault(ownerKey, PersistentDataType.STRING, "");
-
-        if (data.isEmpty()) {
-            return;
-        }
 
-        for (String entry : data.split(";")) {
-            if (entry.isEmpty()) continue;
-
-            String[] parts = entry.split(":", 2);
-            if (parts.length == 2) {
-                try {
-                    UUID owner = UUID.fromString(parts[1]);
-                    ownerCache.put(parts[0], owner);
-                } catch (IllegalArgumentException e) {
-                    plugin.getLogger().warning("Invalid UUID in chunk data: " + parts[1]);
-                }
+            UUID fromBackup = backup.get(pedestal);
+            if (fromBackup != null) {
+                repaired.add(new Location(chunk.getWorld(), pedestal.x(), pedestal.y(), pedestal.z()));
+                repairedOwners.add(fromBackup);
             }
+        });
+
+        // Written after the visit so the chunk's records are not changed while iterating
+        for (int i = 0; i < repaired.size(); i++) {
+            UUID owner = repairedOwners.get(i);
+            records.update(repaired.get(i), current -> current.withOwner(owner));
         }
     }
 
     /**
-     * Unload chunk data from cache
+     * Whether the pedestal records of a chunk are loaded, starting a load if needed.
+     * Ownership changes in a chunk that is still loading would be lost.
      */
-    public void unloadChunk(Chunk chunk) {
-        String chunkKey = chunk.getWorld().getName() + "," + chunk.getX() + "," + chunk.getZ();
-        ownerCache.entrySet().removeIf(entry -> entry.getKey().startsWith(chunkKey));
+    public boolean ensureLoaded(Chunk chunk) {
+        return records.ensureLoaded(chunk);
     }
 
-    /**
-     * Create location key
-     */
-    private String getLocationKey(Location loc) {
-        return loc.getWorld().getName() + "," +
-                loc.getBlockX() + "," +
-                loc.getBlockY() + "," +
-                loc.getBlockZ();
+    public OwnerIndex getOwnerIndex() {
+        return ownerIndex;
     }
 
     /**
-     * Get owner name (for display purposes)
+     * Get owner name (for display purposes, never blocks on a name lookup)
      */
     public String getOwnerName(Location location) {
         UUID owner = getOwner(location);
@@ -311,6 +259,6 @@ public class PedestalOwnerStorage {
             return "Unknown";
         }
 
-        return Bukkit.getOfflinePlayer(owner).getName();
+        return nameCache.getName(owner);
     }
 }
\ No newline at end of file
@@ -0,0 +1,43 @@
+package hs.elementSmpUtility.storage.pedestal;
+
+import java.util.UUID;
+
+/**
+ * Stored state of one pedestal (owner and displayed item), kept as a single chunk entry.
+ * Records are immutable; changes produce a new record.
+ */
+public final class PedestalRecord {
+
+    public static final PedestalRecord EMPTY = new PedestalRecord(null, null);
+
+    private final UUID owner;
+    private final StoredItem item;
+
+    public PedestalRecord(UUID owner, StoredItem item) {
+        this.owner = owner;
+        this.item = item;
+    }
+
+    public UUID getOwner() {
+        return owner;
+    }
+
+    public StoredItem getItem() {
+        return item;
+    }
+
+    public PedestalRecord withOwner(UUID owner) {
+        return new PedestalRecord(owner, item);
+    }
+
+    public PedestalRecord withItem(StoredItem item) {
+        return new PedestalRecord(owner, item);
+    }
+
+    /**
+     * Whether nothing is stored (the entry can be dropped)
+     */
+    public boolean isEmpty() {
+        return owner == null && item == null;
+    }
+}
@@ -0,0 +1,179 @@
+package hs.elementSmpUtility.storage.pedestal;
+
+import hs.elementSmpUtility.storage.backend.PedestalStore;
+import hs.elementSmpUtility.storage.index.BlockPos;
+import hs.elementSmpUtility.storage.index.ChunkBuckets;
+import hs.elementSmpUtility.storage.index.LongObjectHashMap;
+import org.bukkit.Chunk;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.plugin.Plugin;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.UnaryOperator;
+
+/**
+ * Cache of pedestal records with one entry per pedestal, backed by the configured {@link PedestalStore}.
+ * <p>
+ * A chunk's bucket only exists once all of its records are loaded, so a miss in an attached
+ * bucket means "nothing stored". While a chunk's read is still in flight nothing is attached;
+ * callers that modify records check {@link #ensureLoaded} first.
+ */
+public class PedestalRecordStore {
+
+    private final Plugin plugin;
+    private final PedestalStore store;
+    private final ChunkBuckets<LongObjectHashMap<PedestalRecord>> cache;
+
+    // Store reads still in flight; a chunk is in here or in cache, never both
+    private final ChunkBuckets<CompletableFuture<Void>> loading;
+
+    public PedestalRecordStore(Plugin plugin, PedestalStore store) {
+        this.plugin = plugin;
+        this.store = store;
+        this.cache = new ChunkBuckets<>(() -> new LongObjectHashMap<>(4));
+        this.loading = new ChunkBuckets<>(CompletableFuture::new);
+    }
+
+    /**
+     * Get the record of a pedestal, or null if nothing is stored (or the chunk is still loading)
+     */
+    public PedestalRecord get(Location location) {
+        LongObjectHashMap<PedestalRecord> records = recordsFor(location.getChunk());
+        return records != null ? records.get(BlockPos.pack(location)) : null;
+    }
+
+    /**
+     * Replace the record of a pedestal and persist it; an empty result removes the entry
+     */
+    public void update(Location location, UnaryOperator<PedestalRecord> change) {
+        Chunk chunk = location.getChunk();
+        LongObjectHashMap<PedestalRecord> records = recordsFor(chunk);
+        if (records == null) {
+            // The change depends on the current record, which has not arrived yet
+            plugin.getLogger().warning("Ignored a pedestal change at " + location.getBlockX() + "," +
+                    location.getBlockY() + "," + location.getBlockZ() + " while its chunk is still loading");
+            return;
+        }
+        long pos = BlockPos.pack(location);
+
+        PedestalRecord current = records.get(pos);
+        PedestalRecord updated = change.apply(current != null ? current : PedestalRecord.EMPTY);
+
+        if (updated == null || updated.isEmpty()) {
+            if (records.remove(pos) != null) {
+                store.remove(chunk, pos);
+            }
+        } else {
+            records.put(pos, updated);
+            store.put(chunk, pos, updated);
+        }
+    }
+
+    /**
+     * Load all records of a chunk into the cache.
+     * The future completes on the main thread once the records are attached; a failed read
+     * attaches nothing, so the next access retries instead of trusting an empty chunk.
+     */
+    public CompletableFuture<Void> loadChunk(Chunk chunk) {
+        if (cache.get(chunk) != null) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        CompletableFuture<Void> inFlight = loading.get(chunk);
+        if (inFlight != null && !inFlight.isCompletedExceptionally()) {
+            return inFlight;
+        }
+
+        CompletableFuture<Void> attach = new CompletableFuture<>();
+        loading.put(chunk, attach);
+        store.loadChunk(chunk).whenComplete((loaded, error) -> {
+            if (error != null) {
+                plugin.getLogger().severe("Could not load pedestals of chunk " +
+                        chunk.getX() + "," + chunk.getZ() + ": " + error.getMessage());
+                attach.completeExceptionally(error);
+            } else if (loading.get(chunk) == attach) {
+                // Still the current load: the chunk was not unloaded meanwhile
+                loading.remove(chunk);
+                cache.put(chunk, loaded);
+                attach.complete(null);
+            }
+        });
+        return attach;
+    }
+
+    /**
+     * Whether the chunk's records are attached, starting a load if none is in flight
+     */
+    public boolean ensureLoaded(Chunk chunk) {
+        return recordsFor(chunk) != null;
+    }
+
+    /**
+     * Visit the records of a chunk (nothing while the chunk is still loading)
+     */
+    public void forEachInChunk(Chunk chunk, LongObjectHashMap.EntryConsumer<? super PedestalRecord> consumer) {
+        LongObjectHashMap<PedestalRecord> records = recordsFor(chunk);
+        if (records != null) {
+            records.forEach(consumer);
+        }
+    }
+
+    /**
+     * Visit every cached record
+     */
+    public void forEach(LongObjectHashMap.EntryConsumer<? super PedestalRecord> consumer) {
+        cache.forEach((worldId, chunkKey, records) -> records.forEach(consumer));
+    }
+
+    /**
+     * Unload chunk data from cache
+     */
+    public void unloadChunk(Chunk chunk) {
+        cache.remove(chunk);
+        loading.remove(chunk);
+    }
+
+    /**
+     * Drop all cached data for a world
+     */
+    public void unloadWorld(World world) {
+        cache.removeWorld(world);
+        loading.removeWorld(world);
+    }
+
+    /**
+     * Number of cached records in a chunk (0 if the chunk is not loaded)
+     */
+    public int getRecordCount(Chunk chunk) {
+        LongObjectHashMap<PedestalRecord> records = cache.get(chunk);
+        return records != null ? records.size() : 0;
+    }
+
+    /**
+     * Number of chunks currently held in the cache
+     */
+    public int getCachedChunkCount() {
+        return cache.bucketCount();
+    }
+
+    /**
+     * Number of chunks whose store read is still in flight
+     */
+    public int getLoadingChunkCount() {
+        return loading.bucketCount();
+    }
+
+    /**
+     * Get the complete records of a chunk, or null while its store read is still in flight
+     */
+    private LongObjectHashMap<PedestalRecord> recordsFor(Chunk chunk) {
+        LongObjectHashMap<PedestalRecord> records = cache.get(chunk);
+        if (records == null) {
+            // Stores that read on the main thread attach the records right away
+            loadChunk(chunk);
+            records = cache.get(chunk);
+        }
+        return records;
+    }
+}
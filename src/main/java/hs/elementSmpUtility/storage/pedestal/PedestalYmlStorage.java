@@ -1,5 +1,7 @@
 package hs.elementSmpUtility.storage.pedestal;
 
+import hs.elementSmpUtility.storage.codec.ItemPayloadCodec;
+import hs.elementSmpUtility.storage.pedestal.PedestalJournal.PedestalKey;
 import org.bukkit.Bukkit;
 import org.bukkit.Location;
 import org.bukkit.World;
@@ -13,100 +15,116 @@ import java.io.File;
 import java.io.IOException;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.Set;
 
 /**
- * YAML-based backup storage for pedestals
- * Provides redundancy alongside chunk PDC storage
+ * Backup storage for pedestals, kept alongside chunk PDC storage for redundancy.
+ * Backed by an append-only journal (pedestals.journal + pedestals.snapshot);
+ * an existing pedestals.yml is migrated once on first start.
  */
 public class PedestalYmlStorage {
 
     private final JavaPlugin plugin;
-    private final File dataFile;
-    private FileConfiguration config;
+    private final File legacyFile;
+    private final PedestalJournal journal;
 
     public PedestalYmlStorage(JavaPlugin plugin) {
         this.plugin = plugin;
-        this.dataFile = new File(plugin.getDataFolder(), "pedestals.yml");
-        loadConfig();
+        this.legacyFile = new File(plugin.getDataFolder(), "pedestals.yml");
+        this.journal = new PedestalJournal(
+                plugin,
+                plugin.getDataFolder(),
+                "pedestals",
+                plugin.getConfig().getLong("storage.journal-compact-threshold-kb", 4096L) * 1024L,
+                plugin.getConfig().getLong("storage.flush-interval-seconds", 5L) * 1000L
+        );
+
+        migrateLegacyYaml();
     }
 
-    private void loadConfig() {
-        if (!dataFile.exists()) {
-            try {
-                dataFile.getParentFile().mkdirs();
-                dataFile.createNewFile();
-            } catch (IOException e) {
-                plugin.getLogger().severe("Could not create pedestals.yml: " + e.getMessage());
-            }
+    /**
+     * One-time import of the old pedestals.yml into the journal
+     */
+    private void migrateLegacyYaml() {
+        if (!legacyFile.exists() || !journal.isEmptyOnDisk()) {
+            return;
+        }
+
+        FileConfiguration config = YamlConfiguration.loadConfiguration(legacyFile);
+        int migrated = 0;
+
+        for (String key : config.getKeys(false)) {
+            ConfigurationSection section = config.getConfigurationSection(key);
+            if (section == null) continue;
+
+            ItemStack item = section.getItemStack("item");
+            String worldName = section.getString("world");
+            if (item == null || worldName == null || item.getType().isAir()) continue;
+
+            journal.put(new PedestalKey(worldName, section.getInt("x"), section.getInt("y"), section.getInt("z")),
+                    item.serializeAsBytes());
+            migrated++;
+        }
+
+        journal.compact();
+
+        File migratedFile = new File(legacyFile.getParentFile(), "pedestals.yml.migrated");
+        if (!legacyFile.renameTo(migratedFile)) {
+            plugin.getLogger().warning("Could not rename pedestals.yml after migration");
         }
-        config = YamlConfiguration.loadConfiguration(dataFile);
+        plugin.getLogger().info("Migrated " + migrated + " pedestals from pedestals.yml to the journal");
     }
 
     /**
-     * Save pedestal data to YAML
+     * Save pedestal data to the backup, reusing the payload already encoded for the record
      */
-    public void savePedestal(Location location, ItemStack item) {
-        String key = getLocationKey(location);
-
-        if (item == null || item.getType().isAir()) {
-            config.set(key, null);
-        } else {
-            config.set(key + ".item", item);
-            config.set(key + ".world", location.getWorld().getName());
-            config.set(key + ".x", location.getBlockX());
-            config.set(key + ".y", location.getBlockY());
-            config.set(key + ".z", location.getBlockZ());
+    public void savePedestal(Location location, StoredItem item) {
+        try {
+            journal.put(PedestalKey.of(location), ItemPayloadCodec.unwrap(item.getPayload()));
+        } catch (IOException e) {
+            plugin.getLogger().warning("Failed to back up pedestal item: " + e.getMessage());
         }
-
-        saveConfig();
     }
 
     /**
-     * Load pedestal data from YAML
+     * Load pedestal data from the backup
      */
     public ItemStack loadPedestal(Location location) {
-        String key = getLocationKey(location);
-
-        if (!config.contains(key + ".item")) {
+        byte[] data = journal.get(PedestalKey.of(location));
+        if (data == null) {
             return null;
         }
 
-        return config.getItemStack(key + ".item");
+        try {
+            return ItemStack.deserializeBytes(data);
+        } catch (Exception e) {
+            plugin.getLogger().warning("Failed to deserialize backup item: " + e.getMessage());
+            return null;
+        }
     }
 
     /**
-     * Remove pedestal from YAML
+     * Remove pedestal from the backup
      */
     public void removePedestal(Location location) {
-        String key = getLocationKey(location);
-        config.set(key, null);
-        saveConfig();
+        journal.remove(PedestalKey.of(location));
     }
 
     /**
-     * Get all pedestal locations from YAML
+     * Get all pedestal locations from the backup
      */
     public Map<Location, ItemStack> getAllPedestals() {
         Map<Location, ItemStack> pedestals = new HashMap<>();
 
-        Set<String> keys = config.getKeys(false);
-        for (String key : keys) {
-            ConfigurationSection section = config.getConfigurationSection(key);
-            if (section != null) {
-                String worldName = section.getString("world");
-                World world = Bukkit.getWorld(worldName);
-
-                if (world != null) {
-                    int x = section.getInt("x");
-                    int y = section.getInt("y");
-                    int z = section.getInt("z");
-                    Location loc = new Location(world, x, y, z);
-
-                    ItemStack item = section.getItemStack("item");
-                    if (item != null) {
-                        pedestals.put(loc, item);
-                    }
+        for (Map.Entry<PedestalKey, byte[]> entry : journal.getAll().entrySet()) {
+            PedestalKey key = entry.getKey();
+            World world = Bukkit.getWorld(key.world());
+
+            if (world != null) {
+                try {
+                    pedestals.put(new Location(world, key.x(), key.y(), key.z()),
+                            ItemStack.deserializeBytes(entry.getValue()));
+                } catch (Exception e) {
+                    plugin.getLogger().warning("Failed to deserialize backup item: " + e.getMessage());
                 }
             }
         }
@@ -115,37 +133,30 @@ public class PedestalYmlStorage {
     }
 
     /**
-     * Save config to file
+     * Request an fsync of pending journal records
      */
-    private void saveConfig() {
-        try {
-            config.save(dataFile);
-        } catch (IOException e) {
-            plugin.getLogger().severe("Could not save pedestals.yml: " + e.getMessage());
-        }
+    public void flush() {
+        journal.sync();
     }
 
     /**
-     * Create location key
+     * Write pending records and close the journal
      */
-    private String getLocationKey(Location loc) {
-        return loc.getWorld().getName() + "_" +
-                loc.getBlockX() + "_" +
-                loc.getBlockY() + "_" +
-                loc.getBlockZ();
+    public void shutdown() {
+        journal.close();
     }
 
     /**
-     * Reload config from file
+     * Reload data from disk
      */
     public void reload() {
-        config = YamlConfiguration.loadConfiguration(dataFile);
+        journal.reload();
     }
 
     /**
      * Get count of stored pedestals
      */
     public int getPedestalCount() {
-        return config.getKeys(false).size();
+        return journal.size();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,46 @@
+package hs.elementSmpUtility.storage.pedestal;
+
+import hs.elementSmpUtility.storage.codec.ItemPayloadCodec;
+import org.bukkit.inventory.ItemStack;
+
+import java.io.IOException;
+import java.lang.ref.SoftReference;
+
+/**
+ * A cached pedestal item kept as its serialized payload.
+ * The ItemStack is only built when needed and held softly, so the JVM can drop it again under memory pressure.
+ */
+public final class StoredItem {
+
+    private final byte[] payload;
+    private SoftReference<ItemStack> materialized;
+
+    public StoredItem(byte[] payload) {
+        this.payload = payload;
+    }
+
+    public StoredItem(byte[] payload, ItemStack item) {
+        this.payload = payload;
+        this.materialized = new SoftReference<>(item);
+    }
+
+    public byte[] getPayload() {
+        return payload;
+    }
+
+    /**
+     * Get the ItemStack, decoding the payload if it is not materialized
+     */
+    public ItemStack materialize() throws IOException {
+        ItemStack item = materialized != null ? materialized.get() : null;
+        if (item == null) {
+            item = ItemPayloadCodec.decode(payload);
+            materialized = new SoftReference<>(item);
+        }
+        return item;
+    }
+
+    public boolean isMaterialized() {
+        return materialized != null && materialized.get() != null;
+    }
+}
@@ -0,0 +1,148 @@
+package hs.elementSmpUtility.tasks;
+
+import hs.elementSmpUtility.storage.index.BlockPos;
+import org.bukkit.Bukkit;
+import org.bukkit.Chunk;
+import org.bukkit.plugin.java.JavaPlugin;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Single queue of chunks waiting for pedestal display restoration.
+ * Drained by one repeating task under a per-tick time budget, so chunk-load bursts
+ * (elytra flight, teleports) are spread over several ticks instead of one.
+ */
+public class DisplayRestoreQueue {
+
+    private final JavaPlugin plugin;
+    private final long tickBudgetNanos;
+
+    // Insertion-ordered and keyed by chunk, so re-queued chunks are de-duplicated
+    private final Map<ChunkId, Chunk> queue;
+
+    private Consumer<Chunk> restorer;
+    private BukkitTask task;
+
+    // Metrics
+    private long processedCount;
+    private long droppedCount;
+    private long lastTickNanos;
+    private long maxTickNanos;
+    private long totalTickNanos;
+    private long busyTicks;
+
+    public DisplayRestoreQueue(JavaPlugin plugin, double tickBudgetMillis) {
+        this.plugin = plugin;
+        this.tickBudgetNanos = (long) (Math.max(0.1, tickBudgetMillis) * 1_000_000L);
+        this.queue = new LinkedHashMap<>();
+    }
+
+    /**
+     * Start draining the queue every tick
+     */
+    public void start(Consumer<Chunk> restorer) {
+        this.restorer = restorer;
+        if (task == null) {
+            task = Bukkit.getScheduler().runTaskTimer(plugin, this::drain, 1L, 1L);
+        }
+    }
+
+    /**
+     * Stop the drain task and drop any pending work
+     */
+    public void stop() {
+        if (task != null) {
+            task.cancel();
+            task = null;
+        }
+        queue.clear();
+    }
+
+    /**
+     * Queue a chunk for restoration (no-op if it is already queued)
+     */
+    public void enqueue(Chunk chunk) {
+        queue.putIfAbsent(ChunkId.of(chunk), chunk);
+    }
+
+    /**
+     * Drop queued work for a chunk that unloaded before it was processed
+     */
+    public void cancel(Chunk chunk) {
+        if (queue.remove(ChunkId.of(chunk)) != null) {
+            droppedCount++;
+        }
+    }
+
+    private void drain() {
+        if (queue.isEmpty() || restorer == null) {
+            lastTickNanos = 0L;
+            return;
+        }
+
+        long start = System.nanoTime();
+        long elapsed = 0L;
+        Iterator<Chunk> iterator = queue.values().iterator();
+
+        while (iterator.hasNext() && elapsed < tickBudgetNanos) {
+            Chunk chunk = iterator.next();
+            iterator.remove();
+
+            if (chunk.isLoaded()) {
+                restorer.accept(chunk);
+                processedCount++;
+            } else {
+                droppedCount++;
+            }
+
+            elapsed = System.nanoTime() - start;
+        }
+
+        lastTickNanos = elapsed;
+        maxTickNanos = Math.max(maxTickNanos, elapsed);
+        totalTickNanos += elapsed;
+        busyTicks++;
+    }
+
+    public int getQueueDepth() {
+        return queue.size();
+    }
+
+    public long getProcessedCount() {
+        return processedCount;
+    }
+
+    public long getDroppedCount() {
+        return droppedCount;
+    }
+
+    public long getLastTickNanos() {
+        return lastTickNanos;
+    }
+
+    public long getMaxTickNanos() {
+        return maxTickNanos;
+    }
+
+    /**
+     * Average time spent per tick that had queued work
+     */
+    public long getAverageTickNanos() {
+        return busyTicks == 0 ? 0L : totalTickNanos / busyTicks;
+    }
+
+    public long getTickBudgetNanos() {
+        return tickBudgetNanos;
+    }
+
+    private record ChunkId(UUID worldId, long chunkKey) {
+        static ChunkId of(Chunk chunk) {
+            return new ChunkId(chunk.getWorld().getUID(), BlockPos.chunkKey(chunk.getX(), chunk.getZ()));
+        }
+    }
+}
@@ -0,0 +1,406 @@
+package hs.elementSmpUtility.tasks;
+
+import hs.elementSmpUtility.blocks.custom.PedestalBlock;
+import hs.elementSmpUtility.storage.BlockDataStorage;
+import hs.elementSmpUtility.storage.index.BlockPos;
+import hs.elementSmpUtility.storage.index.LongIntHashMap;
+import hs.elementSmpUtility.storage.index.PaletteFilter;
+import org.bukkit.Bukkit;
+import org.bukkit.Chunk;
+import org.bukkit.ChunkSnapshot;
+import org.bukkit.Location;
+import org.bukkit.Material;
+import org.bukkit.World;
+import org.bukkit.entity.Entity;
+import org.bukkit.plugin.java.JavaPlugin;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * One-shot audit of the chunks that were loaded when the plugin enabled.
+ * <p>
+ * The main thread only captures a ChunkSnapshot plus the candidate display entities of each
+ * chunk. Worker threads in a fork-join pool scan the snapshots for lodestones and decide which
+ * displays are orphaned; the resulting entity removals are applied back on the main thread
+ * in bounded batches per tick.
+ */
+public class StartupAudit {
+
+    private static final int CHUNKS_PER_TASK = 4;
+
+    public enum State { IDLE, SCANNING, REMOVING, DONE }
+
+    private final JavaPlugin plugin;
+    private final BlockDataStorage storage;
+    private final int removalsPerTick;
+
+    private final AtomicInteger scannedChunks = new AtomicInteger();
+    private volatile State state = State.IDLE;
+    private volatile int totalChunks;
+    private volatile long scanNanos;
+    private volatile int lodestones;
+    private volatile int staleEntries;
+    private volatile int rejectedChunks;
+    private volatile int skippedSections;
+    private volatile long savedScanNanos;
+    private int removed;
+    private int pendingRemovals;
+    private ForkJoinPool pool;
+    private BukkitTask removalTask;
+
+    public StartupAudit(JavaPlugin plugin, BlockDataStorage storage, int removalsPerTick) {
+        this.plugin = plugin;
+        this.storage = storage;
+        this.removalsPerTick = Math.max(1, removalsPerTick);
+    }
+
+    /**
+     * Capture all loaded chunks and start the parallel scan (main thread)
+     */
+    public void start() {
+        if (state != State.IDLE) {
+            return;
+        }
+
+        List<ChunkWork> work = new ArrayList<>();
+        for (World world : Bukkit.getWorlds()) {
+            for (Chunk chunk : world.getLoadedChunks()) {
+                // Without its pedestal index every display of the chunk would look orphaned
+                if (storage.ensureLoaded(chunk)) {
+                    work.add(capture(chunk));
+                }
+            }
+        }
+
+        totalChunks = work.size();
+        state = State.SCANNING;
+
+        int threads = Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+        plugin.getLogger().info("Auditing " + totalChunks + " loaded chunks for orphaned pedestal displays on " +
+                threads + " worker threads...");
+
+        ForkJoinPool scanPool = new ForkJoinPool(threads);
+        pool = scanPool;
+        long startNanos = System.nanoTime();
+        CompletableFuture.supplyAsync(() -> new ScanTask(work, 0, work.size()).invoke(), scanPool)
+                .whenComplete((result, error) -> {
+                    scanPool.shutdown();
+                    if (state != State.SCANNING) {
+                        return; // stopped while scanning
+                    }
+                    if (error != null) {
+                        plugin.getLogger().severe("Pedestal display audit failed: " + error.getMessage());
+                        state = State.DONE;
+                        return;
+                    }
+
+                    scanNanos = System.nanoTime() - startNanos;
+                    lodestones = result.lodestones;
+                    staleEntries = result.staleEntries;
+                    rejectedChunks = result.rejectedChunks;
+                    skippedSections = result.skippedSections;
+                    // Estimated from the measured cost of the sections that were scanned
+                    if (result.scannedSections > 0) {
+                        savedScanNanos = result.sectionScanNanos / result.scannedSections
+                                * (result.skippedSections + result.rejectedSections);
+                    }
+                    if (plugin.isEnabled()) {
+                        Bukkit.getScheduler().runTask(plugin, () -> beginRemovals(result.orphans));
+                    }
+                });
+    }
+
+    /**
+     * Abort the scan and any pending removals (plugin disable)
+     */
+    public void stop() {
+        state = State.DONE;
+        if (pool != null) {
+            pool.shutdownNow();
+            pool = null;
+        }
+        if (removalTask != null) {
+            removalTask.cancel();
+            removalTask = null;
+        }
+    }
+
+    /**
+     * Snapshot the blocks, indexed pedestals and candidate displays of one chunk
+     */
+    private ChunkWork capture(Chunk chunk) {
+        List<Location> pedestals = storage.getCachedBlocksInChunk(chunk, "pedestal");
+        long[] pedestalPositions = new long[pedestals.size()];
+        for (int i = 0; i < pedestalPositions.length; i++) {
+            pedestalPositions[i] = BlockPos.pack(pedestals.get(i));
+        }
+
+        List<Candidate> candidates = new ArrayList<>();
+        for (Entity entity : chunk.getEntities()) {
+            long taggedPos = PedestalBlock.getTaggedPosition(entity);
+            if (taggedPos != BlockPos.INVALID || PedestalBlock.isLegacyDisplay(entity)) {
+                candidates.add(new Candidate(entity.getUniqueId(), BlockPos.pack(entity.getLocation()), taggedPos));
+            }
+        }
+
+        World world = chunk.getWorld();
+        return new ChunkWork(chunk.getX(), chunk.getZ(), world.getMinHeight(), world.getMaxHeight(),
+                chunk.getChunkSnapshot(false, false, false), pedestalPositions, candidates);
+    }
+
+    private void beginRemovals(List<UUID> orphans) {
+        plugin.getLogger().info(String.format(
+                "Pedestal display audit scanned %d chunks in %.1f ms: %d lodestones, %d stale pedestal entries, %d orphaned displays",
+                totalChunks, scanNanos / 1_000_000.0, lodestones, staleEntries, orphans.size()));
+        plugin.getLogger().info(String.format(
+                "Palette check rejected %d/%d chunks without lodestone and skipped %d empty or unreferenced sections, saving about %.1f ms of block scanning",
+                rejectedChunks, totalChunks, skippedSections, savedScanNanos / 1_000_000.0));
+
+        if (orphans.isEmpty()) {
+            state = State.DONE;
+            return;
+        }
+
+        state = State.REMOVING;
+        Deque<UUID> queue = new ArrayDeque<>(orphans);
+        pendingRemovals = queue.size();
+
+        removalTask = Bukkit.getScheduler().runTaskTimer(plugin, () -> {
+            for (int i = 0; i < removalsPerTick && !queue.isEmpty(); i++) {
+                Entity entity = Bukkit.getEntity(queue.poll());
+                if (entity != null && entity.isValid()) {
+                    entity.remove();
+                    removed++;
+                }
+            }
+            pendingRemovals = queue.size();
+
+            if (queue.isEmpty()) {
+                removalTask.cancel();
+                removalTask = null;
+                state = State.DONE;
+                plugin.getLogger().info("Pedestal display audit removed " + removed + " orphaned displays");
+            }
+        }, 1L, 1L);
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    public int getScannedChunks() {
+        return scannedChunks.get();
+    }
+
+    public int getTotalChunks() {
+        return totalChunks;
+    }
+
+    public long getScanNanos() {
+        return scanNanos;
+    }
+
+    public int getLodestones() {
+        return lodestones;
+    }
+
+    public int getStaleEntries() {
+        return staleEntries;
+    }
+
+    public int getRejectedChunks() {
+        return rejectedChunks;
+    }
+
+    public int getSkippedSections() {
+        return skippedSections;
+    }
+
+    /**
+     * Block scanning time the palette checks avoided, estimated from the sections that were scanned
+     */
+    public long getSavedScanNanos() {
+        return savedScanNanos;
+    }
+
+    public int getRemoved() {
+        return removed;
+    }
+
+    public int getPendingRemovals() {
+        return pendingRemovals;
+    }
+
+    /**
+     * Scans one chunk snapshot (worker thread)
+     */
+    private AuditResult scan(ChunkWork work) {
+        AuditResult result = new AuditResult();
+        ChunkSnapshot snapshot = work.snapshot();
+        int baseX = work.chunkX() << 4;
+        int baseZ = work.chunkZ() << 4;
+
+        // Used as a set of lodestone positions
+        LongIntHashMap lodestonePositions = new LongIntHashMap(16);
+
+        // Skip the block scan entirely when no section palette holds a lodestone
+        if (PaletteFilter.mayContainPedestal(snapshot)) {
+            boolean[] referenced = referencedSections(work);
+            for (int sectionY = work.minY(); sectionY < work.maxY(); sectionY += 16) {
+                // Lodestones only matter where an indexed pedestal or a display could refer to them
+                if (!referenced[(sectionY - work.minY()) >> 4]
+                        || PaletteFilter.isSectionEmpty(snapshot, work.minY(), sectionY)) {
+                    result.skippedSections++;
+                    continue;
+                }
+
+                long sectionStart = System.nanoTime();
+                int sectionMaxY = Math.min(sectionY + 16, work.maxY());
+                for (int x = 0; x < 16; x++) {
+                    for (int z = 0; z < 16; z++) {
+                        for (int y = sectionY; y < sectionMaxY; y++) {
+                            if (snapshot.getBlockType(x, y, z) == Material.LODESTONE) {
+                                lodestonePositions.put(BlockPos.pack(baseX + x, y, baseZ + z), 1);
+                            }
+                        }
+                    }
+                }
+                result.sectionScanNanos += System.nanoTime() - sectionStart;
+                result.scannedSections++;
+            }
+        } else {
+            result.rejectedChunks++;
+            result.rejectedSections += (work.maxY() - work.minY() + 15) >> 4;
+        }
+        result.lodestones = lodestonePositions.size();
+
+        // Indexed pedestals whose block is no longer a lodestone
+        LongIntHashMap pedestals = new LongIntHashMap(Math.max(4, work.pedestals().length));
+        for (long pos : work.pedestals()) {
+            pedestals.put(pos, 1);
+            if (!lodestonePositions.containsKey(pos)) {
+                result.staleEntries++;
+            }
+        }
+
+        for (Candidate candidate : work.candidates()) {
+            boolean orphan;
+            if (candidate.taggedPos() != BlockPos.INVALID) {
+                // Tagged displays must belong to an indexed pedestal that is still a lodestone
+                orphan = !pedestals.containsKey(candidate.taggedPos())
+                        || !lodestonePositions.containsKey(candidate.taggedPos());
+            } else {
+                // Untagged legacy stands inside a lodestone are always replaced by tagged displays
+                orphan = lodestonePositions.containsKey(candidate.blockPos());
+            }
+
+            if (orphan) {
+                result.orphans.add(candidate.entityId());
+            }
+        }
+
+        int scanned = scannedChunks.incrementAndGet();
+        int step = Math.max(1, totalChunks / 4);
+        if (scanned % step == 0 && scanned < totalChunks) {
+            plugin.getLogger().info("Pedestal display audit: " + scanned + "/" + totalChunks + " chunks scanned");
+        }
+        return result;
+    }
+
+    /**
+     * Sections holding an indexed pedestal, a display or a display's tagged pedestal.
+     * Bukkit has no per-section palette lookup, so this stands in for a per-section lodestone check.
+     */
+    private static boolean[] referencedSections(ChunkWork work) {
+        boolean[] referenced = new boolean[(work.maxY() - work.minY() + 15) >> 4];
+        for (long pos : work.pedestals()) {
+            markSection(referenced, work.minY(), pos);
+        }
+        for (Candidate candidate : work.candidates()) {
+            markSection(referenced, work.minY(), candidate.blockPos());
+            if (candidate.taggedPos() != BlockPos.INVALID) {
+                markSection(referenced, work.minY(), candidate.taggedPos());
+            }
+        }
+        return referenced;
+    }
+
+    private static void markSection(boolean[] referenced, int minY, long pos) {
+        int section = (BlockPos.y(pos) - minY) >> 4;
+        if (section >= 0 && section < referenced.length) {
+            referenced[section] = true;
+        }
+    }
+
+    /**
+     * Splits the chunk list until each task holds a few chunks
+     */
+    private final class ScanTask extends RecursiveTask<AuditResult> {
+
+        private final List<ChunkWork> work;
+        private final int from;
+        private final int to;
+
+        private ScanTask(List<ChunkWork> work, int from, int to) {
+            this.work = work;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected AuditResult compute() {
+            if (to - from <= CHUNKS_PER_TASK) {
+                AuditResult result = new AuditResult();
+                for (int i = from; i < to; i++) {
+                    result.merge(scan(work.get(i)));
+                }
+                return result;
+            }
+
+            int mid = (from + to) >>> 1;
+            ScanTask left = new ScanTask(work, from, mid);
+            left.fork();
+            AuditResult result = new ScanTask(work, mid, to).compute();
+            result.merge(left.join());
+            return result;
+        }
+    }
+
+    private static final class AuditResult {
+        private final List<UUID> orphans = new ArrayList<>();
+        private int lodestones;
+        private int staleEntries;
+        private int rejectedChunks;
+        private int skippedSections;
+        private int rejectedSections;
+        private int scannedSections;
+        private long sectionScanNanos;
+
+        private void merge(AuditResult other) {
+            orphans.addAll(other.orphans);
+            lodestones += other.lodestones;
+            staleEntries += other.staleEntries;
+            rejectedChunks += other.rejectedChunks;
+            skippedSections += other.skippedSections;
+            rejectedSections += other.rejectedSections;
+            scannedSections += other.scannedSections;
+            sectionScanNanos += other.sectionScanNanos;
+        }
+    }
+
+    private record ChunkWork(int chunkX, int chunkZ, int minY, int maxY, ChunkSnapshot snapshot,
+                             long[] pedestals, List<Candidate> candidates) {
+    }
+
+    private record Candidate(UUID entityId, long blockPos, long taggedPos) {
+    }
+}
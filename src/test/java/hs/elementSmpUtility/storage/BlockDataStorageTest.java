@@ -0,0 +1,80 @@
+package hs.elementSmpUtility.storage;
+
+import hs.elementSmpUtility.storage.backend.PdcStorageBackend;
+import hs.elementSmpUtility.storage.index.TypeIdTable;
+import hs.elementSmpUtility.testutil.Fakes;
+import org.bukkit.Chunk;
+import org.bukkit.World;
+import org.bukkit.block.Block;
+import org.bukkit.plugin.Plugin;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Chunks without custom blocks share one empty index; writes must never reach it
+ */
+class BlockDataStorageTest {
+
+    private static final Plugin PLUGIN = Fakes.plugin("elementsmputility");
+
+    private World world;
+    private BlockDataStorage storage;
+
+    @BeforeEach
+    void createStorage() {
+        world = Fakes.world("world");
+        storage = new BlockDataStorage(PLUGIN, new TypeIdTable(), new PdcStorageBackend(PLUGIN).getCustomBlockStore());
+    }
+
+    @Test
+    void placingInAnEmptyChunkLeavesOtherEmptyChunksEmpty() {
+        Chunk first = Fakes.chunk(world, 0, 0);
+        Chunk second = Fakes.chunk(world, 1, 0);
+        storage.loadChunk(first);
+        storage.loadChunk(second);
+
+        storage.saveCustomBlock(Fakes.block(first, 3, 64, 5), "pedestal");
+
+        assertEquals(1, storage.getCachedBlockCount(first));
+        assertEquals(0, storage.getCachedBlockCount(second));
+        assertNull(storage.getCustomBlockId(Fakes.block(second, 19, 64, 5)));
+        assertEquals("pedestal", storage.getCustomBlockId(Fakes.block(first, 3, 64, 5)));
+
+        Chunk third = Fakes.chunk(world, 2, 0);
+        assertTrue(storage.ensureLoaded(third));
+        assertEquals(0, storage.getCachedBlockCount(third));
+        assertNull(storage.getCustomBlockId(Fakes.block(third, 35, 64, 5)));
+    }
+
+    @Test
+    void removingFromAnEmptyChunkIsHarmless() {
+        Chunk chunk = Fakes.chunk(world, 0, 0);
+        Chunk other = Fakes.chunk(world, 0, 1);
+        storage.loadChunk(chunk);
+        storage.loadChunk(other);
+
+        storage.removeCustomBlock(Fakes.block(chunk, 0, 0, 0));
+
+        assertEquals(0, storage.getCachedBlockCount(chunk));
+        assertEquals(0, storage.getCachedBlockCount(other));
+        assertEquals(2, storage.getCachedChunkCount());
+    }
+
+    @Test
+    void chunkEmptiedAgainStaysLoaded() {
+        Chunk chunk = Fakes.chunk(world, -1, -1);
+        storage.loadChunk(chunk);
+        Block block = Fakes.block(chunk, -3, 70, -9);
+
+        storage.saveCustomBlock(block, "pedestal");
+        storage.removeCustomBlock(block);
+        storage.saveCustomBlock(block, "element_altar");
+
+        assertEquals("element_altar", storage.getCustomBlockId(block));
+        assertEquals(1, storage.getCachedChunkCount());
+    }
+}
@@ -0,0 +1,216 @@
+package hs.elementSmpUtility.storage;
+
+import hs.elementSmpUtility.storage.backend.CustomBlockStore;
+import hs.elementSmpUtility.storage.backend.PdcStorageBackend;
+import hs.elementSmpUtility.storage.backend.PedestalStore;
+import hs.elementSmpUtility.storage.index.BlockPos;
+import hs.elementSmpUtility.storage.index.LongObjectHashMap;
+import hs.elementSmpUtility.storage.index.TypeIdTable;
+import hs.elementSmpUtility.storage.pedestal.PedestalRecord;
+import hs.elementSmpUtility.storage.pedestal.PedestalRecordStore;
+import hs.elementSmpUtility.storage.pedestal.StoredItem;
+import hs.elementSmpUtility.testutil.Fakes;
+import org.bukkit.Chunk;
+import org.bukkit.World;
+import org.bukkit.plugin.Plugin;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Loads and unloads 50k chunks through the real block and pedestal caches and checks that
+ * nothing is left behind: no cached chunks, no reads still marked in flight.
+ */
+class ChunkUnloadStressTest {
+
+    private static final Plugin PLUGIN = Fakes.plugin("elementsmputility");
+    private static final int CHUNKS = 50_000;
+    private static final int SIDE = 224; // 224 x 224 > 50k, centred on 0,0 so chunk key 0 is included
+    private static final int WINDOW = 1_000;
+    private static final UUID OWNER = UUID.fromString("3f1c2a5e-8d4b-4c1e-9a7f-0b6d5e4c3a21");
+
+    private World world;
+    private Chunk[] chunks;
+    private PdcStorageBackend backend;
+
+    @BeforeEach
+    void createChunks() {
+        world = Fakes.world("world");
+        backend = new PdcStorageBackend(PLUGIN);
+        chunks = new Chunk[CHUNKS];
+        for (int i = 0; i < CHUNKS; i++) {
+            chunks[i] = Fakes.chunk(world, i % SIDE - SIDE / 2, i / SIDE - SIDE / 2);
+            if (hasPedestal(i)) {
+                long pos = pedestalPos(chunks[i]);
+                backend.getCustomBlockStore().put(chunks[i], pos, "pedestal");
+                backend.getPedestalStore().put(chunks[i], pos, new PedestalRecord(OWNER, new StoredItem(new byte[]{1})));
+            }
+        }
+    }
+
+    @Test
+    void slidingWindowLeavesNothingCached() {
+        BlockDataStorage blocks = new BlockDataStorage(PLUGIN, new TypeIdTable(), backend.getCustomBlockStore());
+        PedestalRecordStore records = new PedestalRecordStore(PLUGIN, backend.getPedestalStore());
+
+        for (int round = 0; round < 2; round++) {
+            for (int i = 0; i < CHUNKS; i++) {
+                blocks.loadChunk(chunks[i]);
+                records.loadChunk(chunks[i]);
+                int expected = hasPedestal(i) ? 1 : 0;
+                assertEquals(expected, blocks.getCachedBlockCount(chunks[i]), "blocks of chunk " + i);
+                assertEquals(expected, records.getRecordCount(chunks[i]), "records of chunk " + i);
+
+                if (i >= WINDOW) {
+                    blocks.unloadChunk(chunks[i - WINDOW]);
+                    records.unloadChunk(chunks[i - WINDOW]);
+                }
+                assertTrue(blocks.getCachedChunkCount() <= WINDOW, "block cache grew past the loaded window");
+                assertTrue(records.getCachedChunkCount() <= WINDOW, "record cache grew past the loaded window");
+            }
+            for (int i = CHUNKS - WINDOW; i < CHUNKS; i++) {
+                blocks.unloadChunk(chunks[i]);
+                records.unloadChunk(chunks[i]);
+            }
+
+            assertEquals(0, blocks.getCachedChunkCount(), "round " + round + " leaked block chunks");
+            assertEquals(0, records.getCachedChunkCount(), "round " + round + " leaked record chunks");
+            assertEquals(0, blocks.getLoadingChunkCount());
+            assertEquals(0, records.getLoadingChunkCount());
+        }
+    }
+
+    @Test
+    void unloadBeforeReadCompletesAttachesNothing() {
+        DeferredBlockStore blockStore = new DeferredBlockStore(backend.getCustomBlockStore());
+        DeferredPedestalStore pedestalStore = new DeferredPedestalStore(backend.getPedestalStore());
+        BlockDataStorage blocks = new BlockDataStorage(PLUGIN, new TypeIdTable(), blockStore);
+        PedestalRecordStore records = new PedestalRecordStore(PLUGIN, pedestalStore);
+
+        for (Chunk chunk : chunks) {
+            blocks.loadChunk(chunk);
+            records.loadChunk(chunk);
+        }
+        assertEquals(CHUNKS, blocks.getLoadingChunkCount());
+        assertEquals(CHUNKS, records.getLoadingChunkCount());
+        assertEquals(0, blocks.getCachedChunkCount());
+
+        for (Chunk chunk : chunks) {
+            blocks.unloadChunk(chunk);
+            records.unloadChunk(chunk);
+        }
+        assertEquals(0, blocks.getLoadingChunkCount());
+        assertEquals(0, records.getLoadingChunkCount());
+
+        // Reads for chunks that are gone must not bring them back
+        blockStore.completeAll();
+        pedestalStore.completeAll();
+        assertEquals(0, blocks.getCachedChunkCount());
+        assertEquals(0, records.getCachedChunkCount());
+        assertEquals(0, blocks.getLoadingChunkCount());
+        assertEquals(0, records.getLoadingChunkCount());
+    }
+
+    @Test
+    void unloadWorldDropsEveryChunk() {
+        BlockDataStorage blocks = new BlockDataStorage(PLUGIN, new TypeIdTable(), backend.getCustomBlockStore());
+        PedestalRecordStore records = new PedestalRecordStore(PLUGIN, backend.getPedestalStore());
+        for (Chunk chunk : chunks) {
+            blocks.loadChunk(chunk);
+            records.loadChunk(chunk);
+        }
+        assertEquals(CHUNKS, blocks.getCachedChunkCount());
+        assertEquals(CHUNKS, records.getCachedChunkCount());
+
+        blocks.unloadWorld(world);
+        records.unloadWorld(world);
+
+        assertEquals(0, blocks.getCachedChunkCount());
+        assertEquals(0, records.getCachedChunkCount());
+        assertEquals(0, blocks.getLoadingChunkCount());
+        assertEquals(0, records.getLoadingChunkCount());
+    }
+
+    private static boolean hasPedestal(int i) {
+        return i % 7 == 0;
+    }
+
+    private static long pedestalPos(Chunk chunk) {
+        return BlockPos.pack((chunk.getX() << 4) + 3, 64, (chunk.getZ() << 4) + 5);
+    }
+
+    /**
+     * Reads the wrapped store right away but only completes the futures when told to,
+     * like a database answering after the chunk has already unloaded
+     */
+    private static final class DeferredBlockStore implements CustomBlockStore {
+        private final CustomBlockStore delegate;
+        private final List<Runnable> pending = new ArrayList<>();
+
+        DeferredBlockStore(CustomBlockStore delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public CompletableFuture<LongObjectHashMap<String>> loadChunk(Chunk chunk) {
+            LongObjectHashMap<String> rows = delegate.loadChunk(chunk).join();
+            CompletableFuture<LongObjectHashMap<String>> future = new CompletableFuture<>();
+            pending.add(() -> future.complete(rows));
+            return future;
+        }
+
+        @Override
+        public void put(Chunk chunk, long pos, String blockId) {
+            delegate.put(chunk, pos, blockId);
+        }
+
+        @Override
+        public void remove(Chunk chunk, long pos) {
+            delegate.remove(chunk, pos);
+        }
+
+        void completeAll() {
+            pending.forEach(Runnable::run);
+            pending.clear();
+        }
+    }
+
+    private static final class DeferredPedestalStore implements PedestalStore {
+        private final PedestalStore delegate;
+        private final List<Runnable> pending = new ArrayList<>();
+
+        DeferredPedestalStore(PedestalStore delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public CompletableFuture<LongObjectHashMap<PedestalRecord>> loadChunk(Chunk chunk) {
+            LongObjectHashMap<PedestalRecord> rows = delegate.loadChunk(chunk).join();
+            CompletableFuture<LongObjectHashMap<PedestalRecord>> future = new CompletableFuture<>();
+            pending.add(() -> future.complete(rows));
+            return future;
+        }
+
+        @Override
+        public void put(Chunk chunk, long pos, PedestalRecord record) {
+            delegate.put(chunk, pos, record);
+        }
+
+        @Override
+        public void remove(Chunk chunk, long pos) {
+            delegate.remove(chunk, pos);
+        }
+
+        void completeAll() {
+            pending.forEach(Runnable::run);
+            pending.clear();
+        }
+    }
+}
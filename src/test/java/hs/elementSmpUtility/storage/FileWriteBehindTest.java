@@ -0,0 +1,160 @@
+package hs.elementSmpUtility.storage;
+
+import hs.elementSmpUtility.testutil.Fakes;
+import org.bukkit.plugin.Plugin;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Simulated shutdowns must leave the file holding the last state, whatever happened
+ * to the background writes before them.
+ */
+class FileWriteBehindTest {
+
+    private static final Plugin PLUGIN = Fakes.plugin("elementsmputility");
+
+    @TempDir
+    Path dataFolder;
+
+    private File file;
+    private final List<String> state = new ArrayList<>();
+    private final List<Runnable> pendingWrites = new ArrayList<>();
+
+    @BeforeEach
+    void createFile() {
+        file = dataFolder.resolve("backup.dat").toFile();
+    }
+
+    /**
+     * Background writes are only queued and run when the test says so (or never)
+     */
+    private FileWriteBehind create() {
+        return new FileWriteBehind(PLUGIN, file, this::snapshot, pendingWrites::add);
+    }
+
+    private byte[] snapshot() {
+        return String.join("\n", state).getBytes(StandardCharsets.UTF_8);
+    }
+
+    private String onDisk() throws Exception {
+        return Files.readString(file.toPath(), StandardCharsets.UTF_8);
+    }
+
+    private void change(FileWriteBehind writeBehind, String entry) {
+        state.add(entry);
+        writeBehind.markDirty();
+    }
+
+    @Test
+    void shutdownWritesPendingChanges() throws Exception {
+        FileWriteBehind writeBehind = create();
+        change(writeBehind, "a");
+        change(writeBehind, "b");
+
+        writeBehind.shutdown();
+
+        assertEquals("a\nb", onDisk());
+        assertFalse(writeBehind.isDirty());
+    }
+
+    @Test
+    void shutdownWithoutChangesWritesNothing() {
+        create().shutdown();
+
+        assertFalse(file.exists());
+    }
+
+    @Test
+    void backgroundWriteCancelledAtShutdownIsNotLost() throws Exception {
+        FileWriteBehind writeBehind = create();
+        change(writeBehind, "a");
+        writeBehind.flush();
+        assertFalse(writeBehind.isDirty());
+
+        // The server cancels the queued async task when the plugin disables
+        writeBehind.shutdown();
+        pendingWrites.clear();
+
+        assertEquals("a", onDisk());
+    }
+
+    @Test
+    void lateBackgroundWriteDoesNotOverwriteShutdownState() throws Exception {
+        FileWriteBehind writeBehind = create();
+        change(writeBehind, "a");
+        writeBehind.flush();
+        change(writeBehind, "b");
+
+        writeBehind.shutdown();
+        pendingWrites.forEach(Runnable::run);
+
+        assertEquals("a\nb", onDisk());
+    }
+
+    @Test
+    void changesAfterAFlushAreWrittenOnShutdown() throws Exception {
+        FileWriteBehind writeBehind = create();
+        change(writeBehind, "a");
+        writeBehind.flush();
+        pendingWrites.forEach(Runnable::run);
+        pendingWrites.clear();
+        assertEquals("a", onDisk());
+
+        change(writeBehind, "b");
+        writeBehind.shutdown();
+
+        assertEquals("a\nb", onDisk());
+    }
+
+    @Test
+    void failedWriteIsRetriedOnShutdown() throws Exception {
+        // A regular file where the directory should be makes every write fail
+        Path blocked = dataFolder.resolve("blocked");
+        Files.writeString(blocked, "not a directory");
+        file = blocked.resolve("backup.dat").toFile();
+
+        FileWriteBehind writeBehind = create();
+        change(writeBehind, "a");
+        writeBehind.flushNow();
+        assertTrue(writeBehind.isDirty());
+
+        Files.delete(blocked);
+        writeBehind.shutdown();
+
+        assertEquals("a", onDisk());
+        assertFalse(Files.exists(blocked.resolve("backup.dat.tmp")));
+    }
+
+    @Test
+    void concurrentBackgroundWritesEndInTheLastState() throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        FileWriteBehind writeBehind = new FileWriteBehind(PLUGIN, file, this::snapshot, pool);
+
+        for (int i = 0; i < 200; i++) {
+            change(writeBehind, Integer.toString(i));
+            writeBehind.flush();
+        }
+        change(writeBehind, "last");
+        writeBehind.shutdown();
+
+        // Stale snapshots finishing after shutdown must be skipped
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(10, TimeUnit.SECONDS));
+        assertEquals(new String(snapshot(), StandardCharsets.UTF_8), onDisk());
+    }
+}
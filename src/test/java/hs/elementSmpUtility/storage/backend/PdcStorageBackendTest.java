@@ -0,0 +1,28 @@
+package hs.elementSmpUtility.storage.backend;
+
+import org.bukkit.NamespacedKey;
+import org.bukkit.persistence.PersistentDataContainer;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PdcStorageBackendTest extends StorageBackendConformanceTest {
+
+    @Override
+    protected StorageBackend create() {
+        // All state lives in the chunk PDC, so every instance sees the same data
+        return new PdcStorageBackend(PLUGIN);
+    }
+
+    @Test
+    void legacyPedestalKeysAreMergedIntoRecords() throws Exception {
+        writeLegacyPdc(chunk);
+        assertLegacyData(open());
+
+        PersistentDataContainer pdc = chunk.getPersistentDataContainer();
+        assertTrue(pdc.has(new NamespacedKey(PLUGIN, "pedestals")));
+        assertFalse(pdc.has(new NamespacedKey(PLUGIN, "pedestal_owners")));
+        assertFalse(pdc.has(new NamespacedKey(PLUGIN, "pedestal_items")));
+    }
+}
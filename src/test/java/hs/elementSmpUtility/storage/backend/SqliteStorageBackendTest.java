@@ -0,0 +1,54 @@
+package hs.elementSmpUtility.storage.backend;
+
+import hs.elementSmpUtility.testutil.Fakes;
+import org.bukkit.NamespacedKey;
+import org.bukkit.persistence.PersistentDataContainer;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutionException;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SqliteStorageBackendTest extends StorageBackendConformanceTest {
+
+    @Override
+    protected StorageBackend create() throws Exception {
+        // Results are handed over on the writer thread instead of the server thread
+        return new SqliteStorageBackend(PLUGIN, dataFolder.resolve("storage.db").toFile(), Runnable::run);
+    }
+
+    @Test
+    void importClearsThePdcAfterCommit() throws Exception {
+        writeLegacyPdc(chunk);
+        assertLegacyData(open());
+
+        PersistentDataContainer pdc = chunk.getPersistentDataContainer();
+        assertFalse(pdc.has(new NamespacedKey(PLUGIN, "custom_blocks")));
+        assertFalse(pdc.has(new NamespacedKey(PLUGIN, "pedestal_owners")));
+        assertFalse(pdc.has(new NamespacedKey(PLUGIN, "pedestal_items")));
+    }
+
+    @Test
+    void unloadedChunkKeepsItsPdcData() throws Exception {
+        writeLegacyPdc(chunk);
+        StorageBackend backend = open();
+        Fakes.setLoaded(chunk, false);
+
+        await(backend.getCustomBlockStore().loadChunk(chunk));
+
+        assertTrue(chunk.getPersistentDataContainer().has(new NamespacedKey(PLUGIN, "custom_blocks")));
+    }
+
+    @Test
+    void loadAfterCloseFails() throws Exception {
+        StorageBackend backend = open();
+        backend.close();
+
+        ExecutionException error = assertThrows(ExecutionException.class,
+                () -> await(backend.getPedestalStore().loadChunk(chunk)));
+        assertInstanceOf(IllegalStateException.class, error.getCause());
+    }
+}
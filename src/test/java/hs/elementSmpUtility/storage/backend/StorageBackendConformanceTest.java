@@ -0,0 +1,250 @@
+package hs.elementSmpUtility.storage.backend;
+
+import hs.elementSmpUtility.storage.codec.ChunkEntries;
+import hs.elementSmpUtility.storage.codec.ItemEntriesDataType;
+import hs.elementSmpUtility.storage.index.BlockPos;
+import hs.elementSmpUtility.storage.index.LongObjectHashMap;
+import hs.elementSmpUtility.storage.pedestal.PedestalRecord;
+import hs.elementSmpUtility.storage.pedestal.StoredItem;
+import hs.elementSmpUtility.testutil.Fakes;
+import org.bukkit.Chunk;
+import org.bukkit.NamespacedKey;
+import org.bukkit.World;
+import org.bukkit.persistence.PersistentDataContainer;
+import org.bukkit.persistence.PersistentDataType;
+import org.bukkit.plugin.Plugin;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Behaviour every {@link StorageBackend} must share, run once per implementation.
+ * Positions are placed in chunk (2,-3) so negative coordinates are covered too.
+ */
+abstract class StorageBackendConformanceTest {
+
+    protected static final Plugin PLUGIN = Fakes.plugin("elementsmputility");
+    protected static final int CHUNK_X = 2;
+    protected static final int CHUNK_Z = -3;
+
+    protected static final long POS_A = BlockPos.pack(33, 64, -43);
+    protected static final long POS_B = BlockPos.pack(47, -12, -33);
+    protected static final UUID OWNER = UUID.fromString("3f1c2a5e-8d4b-4c1e-9a7f-0b6d5e4c3a21");
+
+    @TempDir
+    protected Path dataFolder;
+
+    protected World world;
+    protected Chunk chunk;
+    private final List<StorageBackend> opened = new ArrayList<>();
+
+    /**
+     * Create a backend over the persistent state shared by every backend of the current test
+     */
+    protected abstract StorageBackend create() throws Exception;
+
+    protected StorageBackend open() throws Exception {
+        StorageBackend backend = create();
+        opened.add(backend);
+        return backend;
+    }
+
+    @BeforeEach
+    void createChunk() {
+        world = Fakes.world("world");
+        chunk = Fakes.chunk(world, CHUNK_X, CHUNK_Z);
+    }
+
+    @AfterEach
+    void closeBackends() {
+        opened.forEach(StorageBackend::close);
+    }
+
+    protected static <T> T await(CompletableFuture<T> future) throws Exception {
+        return future.get(10, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void emptyChunkLoadsNothing() throws Exception {
+        StorageBackend backend = open();
+
+        assertTrue(await(backend.getCustomBlockStore().loadChunk(chunk)).isEmpty());
+        assertTrue(await(backend.getPedestalStore().loadChunk(chunk)).isEmpty());
+    }
+
+    @Test
+    void blocksRoundTrip() throws Exception {
+        CustomBlockStore blocks = open().getCustomBlockStore();
+        blocks.put(chunk, POS_A, "pedestal");
+        blocks.put(chunk, POS_B, "element_altar");
+
+        LongObjectHashMap<String> loaded = await(blocks.loadChunk(chunk));
+        assertEquals(2, loaded.size());
+        assertEquals("pedestal", loaded.get(POS_A));
+        assertEquals("element_altar", loaded.get(POS_B));
+    }
+
+    @Test
+    void blockPutReplacesAndRemoveDeletes() throws Exception {
+        CustomBlockStore blocks = open().getCustomBlockStore();
+        blocks.put(chunk, POS_A, "pedestal");
+        blocks.put(chunk, POS_A, "element_altar");
+        blocks.put(chunk, POS_B, "pedestal");
+        blocks.remove(chunk, POS_B);
+
+        LongObjectHashMap<String> loaded = await(blocks.loadChunk(chunk));
+        assertEquals(1, loaded.size());
+        assertEquals("element_altar", loaded.get(POS_A));
+    }
+
+    @Test
+    void removingAMissingBlockIsHarmless() throws Exception {
+        CustomBlockStore blocks = open().getCustomBlockStore();
+        blocks.remove(chunk, POS_A);
+
+        assertTrue(await(blocks.loadChunk(chunk)).isEmpty());
+    }
+
+    @Test
+    void chunksDoNotSeeEachOthersBlocks() throws Exception {
+        CustomBlockStore blocks = open().getCustomBlockStore();
+        Chunk neighbour = Fakes.chunk(world, CHUNK_X + 1, CHUNK_Z);
+        long neighbourPos = BlockPos.pack(48, 64, -43);
+        blocks.put(chunk, POS_A, "pedestal");
+        blocks.put(neighbour, neighbourPos, "pedestal");
+
+        LongObjectHashMap<String> loaded = await(blocks.loadChunk(chunk));
+        assertEquals(1, loaded.size());
+        assertNull(loaded.get(neighbourPos));
+    }
+
+    @Test
+    void pedestalRecordsRoundTrip() throws Exception {
+        PedestalStore pedestals = open().getPedestalStore();
+        byte[] payload = {1, 2, 3, 4, 5};
+        long ownerOnly = BlockPos.pack(40, 100, -40);
+        pedestals.put(chunk, POS_A, new PedestalRecord(OWNER, new StoredItem(payload)));
+        pedestals.put(chunk, POS_B, new PedestalRecord(null, new StoredItem(payload)));
+        pedestals.put(chunk, ownerOnly, new PedestalRecord(OWNER, null));
+
+        LongObjectHashMap<PedestalRecord> loaded = await(pedestals.loadChunk(chunk));
+        assertEquals(3, loaded.size());
+        assertEquals(OWNER, loaded.get(POS_A).getOwner());
+        assertArrayEquals(payload, loaded.get(POS_A).getItem().getPayload());
+        assertNull(loaded.get(POS_B).getOwner());
+        assertArrayEquals(payload, loaded.get(POS_B).getItem().getPayload());
+        assertEquals(OWNER, loaded.get(ownerOnly).getOwner());
+        assertNull(loaded.get(ownerOnly).getItem());
+    }
+
+    @Test
+    void pedestalPutReplacesAndRemoveDeletes() throws Exception {
+        PedestalStore pedestals = open().getPedestalStore();
+        pedestals.put(chunk, POS_A, new PedestalRecord(OWNER, null));
+        pedestals.put(chunk, POS_A, new PedestalRecord(null, new StoredItem(new byte[]{9})));
+        pedestals.put(chunk, POS_B, new PedestalRecord(OWNER, null));
+        pedestals.remove(chunk, POS_B);
+
+        LongObjectHashMap<PedestalRecord> loaded = await(pedestals.loadChunk(chunk));
+        assertEquals(1, loaded.size());
+        assertNull(loaded.get(POS_A).getOwner());
+        assertArrayEquals(new byte[]{9}, loaded.get(POS_A).getItem().getPayload());
+    }
+
+    @Test
+    void legacyPdcDataIsImported() throws Exception {
+        writeLegacyPdc(chunk);
+        StorageBackend backend = open();
+
+        assertLegacyData(backend);
+        // The import must not depend on the PDC keys it may have cleared
+        assertLegacyData(backend);
+    }
+
+    @Test
+    void importedLegacyDataSurvivesReopen() throws Exception {
+        writeLegacyPdc(chunk);
+        StorageBackend first = open();
+        assertLegacyData(first);
+        first.close();
+
+        assertLegacyData(open());
+    }
+
+    @Test
+    void writesSurviveClose() throws Exception {
+        StorageBackend first = open();
+        first.getCustomBlockStore().put(chunk, POS_A, "pedestal");
+        first.getPedestalStore().put(chunk, POS_A, new PedestalRecord(OWNER, null));
+        first.close();
+
+        StorageBackend second = open();
+        assertEquals("pedestal", await(second.getCustomBlockStore().loadChunk(chunk)).get(POS_A));
+        assertEquals(OWNER, await(second.getPedestalStore().loadChunk(chunk)).get(POS_A).getOwner());
+    }
+
+    @Test
+    void useAfterCloseNeitherThrowsNorHangs() throws Exception {
+        StorageBackend backend = open();
+        backend.close();
+
+        assertDoesNotThrow(() -> backend.getCustomBlockStore().put(chunk, POS_A, "pedestal"));
+        assertDoesNotThrow(() -> backend.getPedestalStore().remove(chunk, POS_A));
+
+        // Loads either answer or fail, but always complete
+        CompletableFuture<LongObjectHashMap<String>> load = backend.getCustomBlockStore().loadChunk(chunk);
+        assertNotNull(load);
+        await(load.handle((rows, error) -> null));
+    }
+
+    @Test
+    void closeIsIdempotent() throws Exception {
+        StorageBackend backend = open();
+        backend.close();
+
+        assertDoesNotThrow(backend::close);
+    }
+
+    /**
+     * Blocks as a legacy "world,x,y,z:id" string, and pedestals split over the old
+     * pedestal_owners (string) and pedestal_items (binary) keys
+     */
+    protected static void writeLegacyPdc(Chunk chunk) {
+        PersistentDataContainer pdc = chunk.getPersistentDataContainer();
+        pdc.set(new NamespacedKey(PLUGIN, "custom_blocks"), PersistentDataType.STRING,
+                "world,33,64,-43:pedestal;world,47,-12,-33:element_altar");
+        pdc.set(new NamespacedKey(PLUGIN, "pedestal_owners"), PersistentDataType.STRING,
+                "world,33,64,-43:" + OWNER);
+
+        ChunkEntries<byte[]> items = new ChunkEntries<>();
+        items.put(ChunkEntries.local(BlockPos.x(POS_A), BlockPos.y(POS_A), BlockPos.z(POS_A)), new byte[]{7, 7});
+        pdc.set(new NamespacedKey(PLUGIN, "pedestal_items"), ItemEntriesDataType.INSTANCE, items);
+    }
+
+    protected void assertLegacyData(StorageBackend backend) throws Exception {
+        LongObjectHashMap<String> blocks = await(backend.getCustomBlockStore().loadChunk(chunk));
+        assertEquals(2, blocks.size());
+        assertEquals("pedestal", blocks.get(POS_A));
+        assertEquals("element_altar", blocks.get(POS_B));
+
+        LongObjectHashMap<PedestalRecord> pedestals = await(backend.getPedestalStore().loadChunk(chunk));
+        assertEquals(1, pedestals.size());
+        assertEquals(OWNER, pedestals.get(POS_A).getOwner());
+        assertArrayEquals(new byte[]{7, 7}, pedestals.get(POS_A).getItem().getPayload());
+    }
+}
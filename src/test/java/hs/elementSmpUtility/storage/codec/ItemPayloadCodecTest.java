@@ -0,0 +1,113 @@
+package hs.elementSmpUtility.storage.codec;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.zip.Deflater;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Payload framing only; item (de)serialization itself needs a running server
+ */
+class ItemPayloadCodecTest {
+
+    @Test
+    void rawPayloadUnwraps() throws IOException {
+        assertArrayEquals(new byte[]{4, 5, 6}, ItemPayloadCodec.unwrap(new byte[]{0, 4, 5, 6}));
+    }
+
+    @Test
+    void deflatedPayloadUnwraps() throws IOException {
+        byte[] raw = new byte[4096];
+        Arrays.fill(raw, (byte) 42);
+
+        assertArrayEquals(raw, ItemPayloadCodec.unwrap(deflated(raw.length, raw)));
+    }
+
+    @Test
+    void largeCompressibleItemIsDeflated() throws IOException {
+        byte[] raw = new byte[4096];
+        Arrays.fill(raw, (byte) 42);
+
+        byte[] payload = ItemPayloadCodec.wrap(raw);
+
+        assertEquals(1, payload[0]);
+        assertArrayEquals(raw, ItemPayloadCodec.unwrap(payload));
+    }
+
+    @Test
+    void gzippedItemIsStoredRaw() throws IOException {
+        byte[] raw = new byte[4096];
+        raw[0] = (byte) 0x1F;
+        raw[1] = (byte) 0x8B;
+
+        byte[] payload = ItemPayloadCodec.wrap(raw);
+
+        assertEquals(0, payload[0]);
+        assertArrayEquals(raw, ItemPayloadCodec.unwrap(payload));
+    }
+
+    @Test
+    void emptyAndUnknownPayloadsAreRejected() {
+        assertThrows(IOException.class, () -> ItemPayloadCodec.unwrap(new byte[0]));
+        assertThrows(IOException.class, () -> ItemPayloadCodec.unwrap(new byte[]{7, 1, 2}));
+    }
+
+    @Test
+    void negativeRawLengthIsRejected() {
+        byte[] payload = deflated(-1, new byte[]{1, 2, 3});
+
+        assertThrows(IOException.class, () -> ItemPayloadCodec.unwrap(payload));
+    }
+
+    @Test
+    void hugeRawLengthIsRejectedBeforeAllocating() {
+        byte[] payload = deflated(Integer.MAX_VALUE - 8, new byte[]{1, 2, 3});
+
+        assertThrows(IOException.class, () -> ItemPayloadCodec.unwrap(payload));
+        assertThrows(IOException.class,
+                () -> ItemPayloadCodec.unwrap(deflated(ItemPayloadCodec.MAX_RAW_LENGTH + 1, new byte[]{1})));
+    }
+
+    @Test
+    void truncatedDeflatedPayloadNeverYieldsPartialItems() {
+        byte[] raw = new byte[4096];
+        Arrays.fill(raw, (byte) 42);
+        byte[] payload = deflated(raw.length, raw);
+
+        // A cut in the stream trailer can still leave every item byte readable; anything else must fail
+        for (int length = 1; length < payload.length; length++) {
+            byte[] truncated = Arrays.copyOf(payload, length);
+            try {
+                assertArrayEquals(raw, ItemPayloadCodec.unwrap(truncated), "length " + length);
+            } catch (IOException expected) {
+                // Rejected as corrupt
+            }
+        }
+        assertThrows(IOException.class, () -> ItemPayloadCodec.unwrap(Arrays.copyOf(payload, 8)));
+    }
+
+    /**
+     * A deflate payload claiming the given raw length
+     */
+    private static byte[] deflated(int rawLength, byte[] raw) {
+        Deflater deflater = new Deflater();
+        deflater.setInput(raw);
+        deflater.finish();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buffer = new byte[1024];
+        while (!deflater.finished()) {
+            out.write(buffer, 0, deflater.deflate(buffer));
+        }
+        deflater.end();
+
+        byte[] compressed = out.toByteArray();
+        return ByteBuffer.allocate(5 + compressed.length).put((byte) 1).putInt(rawLength).put(compressed).array();
+    }
+}
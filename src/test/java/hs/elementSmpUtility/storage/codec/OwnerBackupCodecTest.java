@@ -0,0 +1,94 @@
+package hs.elementSmpUtility.storage.codec;
+
+import hs.elementSmpUtility.storage.pedestal.PedestalJournal.PedestalKey;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class OwnerBackupCodecTest {
+
+    @Test
+    void emptyBackupRoundTrips() throws IOException {
+        assertTrue(OwnerBackupCodec.decode(OwnerBackupCodec.encode(Map.of())).isEmpty());
+    }
+
+    @Test
+    void ownersRoundTripAcrossWorlds() throws IOException {
+        UUID alice = UUID.randomUUID();
+        UUID bob = UUID.randomUUID();
+        Map<PedestalKey, UUID> owners = new HashMap<>();
+        owners.put(new PedestalKey("world", 0, 64, 0), alice);
+        owners.put(new PedestalKey("world", -30_000_000, -64, 29_999_999), bob);
+        owners.put(new PedestalKey("world_nether", 12, 120, -8), alice);
+        owners.put(new PedestalKey("wörld_ünïcode", 1, 2, 3), bob);
+
+        assertEquals(owners, OwnerBackupCodec.decode(OwnerBackupCodec.encode(owners)));
+    }
+
+    @Test
+    void largeBackupRoundTripsAndSharesOwners() throws IOException {
+        Random random = new Random(42);
+        UUID[] players = new UUID[50];
+        for (int i = 0; i < players.length; i++) {
+            players[i] = new UUID(random.nextLong(), random.nextLong());
+        }
+
+        Map<PedestalKey, UUID> owners = new HashMap<>();
+        for (int i = 0; i < 10_000; i++) {
+            owners.put(new PedestalKey("world" + (i % 3), random.nextInt(), random.nextInt(384) - 64, random.nextInt()),
+                    players[random.nextInt(players.length)]);
+        }
+
+        byte[] encoded = OwnerBackupCodec.encode(owners);
+        assertEquals(owners, OwnerBackupCodec.decode(encoded));
+        // Owners come from the palette, so an entry costs far less than a full UUID
+        assertTrue(encoded.length < owners.size() * 16, "backup is " + encoded.length + " bytes");
+    }
+
+    @Test
+    void wrongMagicIsRejected() {
+        byte[] encoded = OwnerBackupCodec.encode(Map.of(new PedestalKey("world", 1, 2, 3), UUID.randomUUID()));
+        encoded[0] ^= 0x7F;
+
+        assertThrows(IOException.class, () -> OwnerBackupCodec.decode(encoded));
+    }
+
+    @Test
+    void newerVersionIsRejected() {
+        byte[] encoded = OwnerBackupCodec.encode(Map.of());
+        encoded[4] = 99;
+
+        assertThrows(IOException.class, () -> OwnerBackupCodec.decode(encoded));
+    }
+
+    @Test
+    void everyTruncationFailsAsIOException() {
+        byte[] encoded = OwnerBackupCodec.encode(Map.of(
+                new PedestalKey("world", 1, 2, 3), UUID.randomUUID(),
+                new PedestalKey("world_the_end", 4, 5, 6), UUID.randomUUID()));
+
+        for (int length = 0; length < encoded.length; length++) {
+            byte[] truncated = Arrays.copyOf(encoded, length);
+            assertThrows(IOException.class, () -> OwnerBackupCodec.decode(truncated), "length " + length);
+        }
+    }
+
+    @Test
+    void absurdCountsFailAsIOException() {
+        // Header followed by a world count of Integer.MAX_VALUE and nothing else
+        byte[] data = ByteBuffer.allocate(10).putInt(0x50444F57).put((byte) 1)
+                .put(new byte[]{(byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x07}).array();
+
+        assertThrows(IOException.class, () -> OwnerBackupCodec.decode(data));
+    }
+}
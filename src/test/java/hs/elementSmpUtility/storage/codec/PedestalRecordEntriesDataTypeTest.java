@@ -0,0 +1,94 @@
+package hs.elementSmpUtility.storage.codec;
+
+import hs.elementSmpUtility.storage.pedestal.PedestalRecord;
+import hs.elementSmpUtility.storage.pedestal.StoredItem;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PedestalRecordEntriesDataTypeTest {
+
+    private static final PedestalRecordEntriesDataType TYPE = PedestalRecordEntriesDataType.INSTANCE;
+    private static final UUID ALICE = UUID.fromString("3f1c2a5e-8d4b-4c1e-9a7f-0b6d5e4c3a21");
+    private static final UUID BOB = UUID.fromString("9b2e7d10-44aa-4f3b-8c21-6e5f4d3c2b1a");
+
+    @Test
+    void recordsRoundTrip() {
+        ChunkEntries<PedestalRecord> entries = new ChunkEntries<>();
+        entries.put(ChunkEntries.local(1, 64, 2), new PedestalRecord(ALICE, new StoredItem(new byte[]{0, 1, 2})));
+        entries.put(ChunkEntries.local(3, -60, 4), new PedestalRecord(null, new StoredItem(new byte[]{0, 9})));
+        entries.put(ChunkEntries.local(5, 300, 6), new PedestalRecord(BOB, null));
+
+        ChunkEntries<PedestalRecord> decoded = TYPE.fromPrimitive(TYPE.toPrimitive(entries, null), null);
+
+        assertEquals(3, decoded.size());
+        assertEquals(ALICE, decoded.get(ChunkEntries.local(1, 64, 2)).getOwner());
+        assertArrayEquals(new byte[]{0, 1, 2}, decoded.get(ChunkEntries.local(1, 64, 2)).getItem().getPayload());
+        assertNull(decoded.get(ChunkEntries.local(3, -60, 4)).getOwner());
+        assertEquals(BOB, decoded.get(ChunkEntries.local(5, 300, 6)).getOwner());
+        assertNull(decoded.get(ChunkEntries.local(5, 300, 6)).getItem());
+        assertFalse(decoded.isOutdated());
+    }
+
+    @Test
+    void ownerIsStoredOncePerChunk() {
+        ChunkEntries<PedestalRecord> single = new ChunkEntries<>();
+        single.put(0, new PedestalRecord(ALICE, new StoredItem(new byte[]{0, 0})));
+        int singleSize = TYPE.toPrimitive(single, null).length;
+
+        ChunkEntries<PedestalRecord> many = new ChunkEntries<>();
+        for (int i = 0; i < 100; i++) {
+            many.put(ChunkEntries.local(i & 15, i, 0), new PedestalRecord(ALICE, new StoredItem(new byte[]{0, (byte) i})));
+        }
+        int manySize = TYPE.toPrimitive(many, null).length;
+
+        // Each extra record costs its flags, owner index, item and entry, never another 16-byte owner
+        assertTrue(manySize - singleSize < 99 * 16, "100 records took " + manySize + " bytes");
+    }
+
+    @Test
+    void versionOneInlineOwnersAreRead() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeByte(1);
+        out.writeByte(1);                        // palette size
+        out.writeByte(3);                        // HAS_OWNER | HAS_ITEM
+        out.writeLong(ALICE.getMostSignificantBits());
+        out.writeLong(ALICE.getLeastSignificantBits());
+        out.writeByte(2);                        // payload length
+        out.write(new byte[]{0, 7});
+        out.writeByte(1);                        // entry count
+        out.writeByte((4 << 4) | 5);
+        out.writeShort(70);
+        out.writeByte(0);                        // palette index
+
+        ChunkEntries<PedestalRecord> decoded = TYPE.fromPrimitive(bytes.toByteArray(), null);
+
+        PedestalRecord record = decoded.get(ChunkEntries.local(4, 70, 5));
+        assertEquals(ALICE, record.getOwner());
+        assertArrayEquals(new byte[]{0, 7}, record.getItem().getPayload());
+        assertTrue(decoded.isOutdated());
+    }
+
+    @Test
+    void ownerIndexOutOfRangeIsCorrupt() {
+        ChunkEntries<PedestalRecord> entries = new ChunkEntries<>();
+        entries.put(0, new PedestalRecord(ALICE, null));
+        byte[] encoded = TYPE.toPrimitive(entries, null);
+
+        // version, owner count, owner (16), palette size, flags, then the owner index
+        encoded[1 + 1 + 16 + 1 + 1] = 5;
+
+        assertThrows(IllegalArgumentException.class, () -> TYPE.fromPrimitive(encoded, null));
+    }
+}
@@ -0,0 +1,85 @@
+package hs.elementSmpUtility.storage.index;
+
+import hs.elementSmpUtility.testutil.Fakes;
+import org.bukkit.Chunk;
+import org.bukkit.World;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Loads and unloads 50k chunks to check that the buckets do not grow and that lookups
+ * stay correct under churn. {@code ChunkUnloadStressTest} covers the storages built on them.
+ */
+class ChunkBucketsStressTest {
+
+    private static final int CHUNKS = 50_000;
+    private static final int SIDE = 224; // 224 x 224 > 50k, centred on 0,0 so chunk key 0 is included
+
+    private World world;
+    private Chunk[] chunks;
+
+    @BeforeEach
+    void createChunks() {
+        world = Fakes.world("world");
+        chunks = new Chunk[CHUNKS];
+        for (int i = 0; i < CHUNKS; i++) {
+            chunks[i] = Fakes.chunk(world, i % SIDE - SIDE / 2, i / SIDE - SIDE / 2);
+        }
+    }
+
+    @Test
+    void slidingWindowKeepsCacheFlat() {
+        ChunkBuckets<LongObjectHashMap<String>> buckets = new ChunkBuckets<>(LongObjectHashMap::new);
+        int window = 1_000;
+
+        for (int round = 0; round < 3; round++) {
+            for (int i = 0; i < CHUNKS; i++) {
+                load(buckets, chunks[i]);
+                if (i >= window) {
+                    buckets.remove(chunks[i - window]);
+                }
+                assertTrue(buckets.bucketCount() <= window, "cache grew past the loaded window");
+            }
+            for (int i = CHUNKS - window; i < CHUNKS; i++) {
+                buckets.remove(chunks[i]);
+            }
+            assertEquals(0, buckets.bucketCount(), "round " + round + " leaked buckets");
+        }
+    }
+
+    @Test
+    void churnKeepsLookupsCorrect() {
+        LongObjectHashMap<Integer> map = new LongObjectHashMap<>();
+        for (int round = 0; round < 4; round++) {
+            for (int i = 0; i < CHUNKS; i++) {
+                map.put(key(i), i);
+            }
+            // Drop every other chunk so probe chains have holes to close
+            for (int i = round % 2; i < CHUNKS; i += 2) {
+                assertEquals(Integer.valueOf(i), map.remove(key(i)));
+            }
+            for (int i = 0; i < CHUNKS; i++) {
+                if (i % 2 == round % 2) {
+                    assertNull(map.get(key(i)));
+                } else {
+                    assertEquals(Integer.valueOf(i), map.get(key(i)));
+                }
+            }
+            assertEquals(CHUNKS / 2, map.size());
+            map.clear();
+        }
+    }
+
+    private static void load(ChunkBuckets<LongObjectHashMap<String>> buckets, Chunk chunk) {
+        LongObjectHashMap<String> bucket = buckets.getOrCreate(chunk);
+        bucket.put(BlockPos.pack(chunk.getX() << 4, 64, chunk.getZ() << 4), "pedestal");
+    }
+
+    private long key(int i) {
+        return BlockPos.chunkKey(chunks[i].getX(), chunks[i].getZ());
+    }
+}
@@ -0,0 +1,181 @@
+package hs.elementSmpUtility.storage.pedestal;
+
+import hs.elementSmpUtility.storage.pedestal.PedestalJournal.PedestalKey;
+import hs.elementSmpUtility.testutil.Fakes;
+import org.bukkit.plugin.Plugin;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Replay of the pedestal journal after clean shutdowns, torn tails and corrupted records
+ */
+class PedestalJournalTest {
+
+    private static final Plugin PLUGIN = Fakes.plugin("elementsmputility");
+    private static final long NO_COMPACTION = 1L << 30;
+
+    private static final PedestalKey FIRST = new PedestalKey("world", 10, 64, -5);
+    private static final PedestalKey SECOND = new PedestalKey("world_nether", -300, 32, 7);
+    private static final PedestalKey THIRD = new PedestalKey("world", 0, -60, 0);
+
+    @TempDir
+    Path dataFolder;
+
+    private PedestalJournal journal;
+
+    @AfterEach
+    void closeJournal() {
+        if (journal != null) {
+            journal.close();
+        }
+    }
+
+    private PedestalJournal open() {
+        return open(NO_COMPACTION);
+    }
+
+    private PedestalJournal open(long compactThresholdBytes) {
+        if (journal != null) {
+            journal.close();
+        }
+        journal = new PedestalJournal(PLUGIN, dataFolder.toFile(), "pedestals", compactThresholdBytes, 50L);
+        return journal;
+    }
+
+    private Path journalFile() {
+        return dataFolder.resolve("pedestals.journal");
+    }
+
+    /**
+     * Close the journal and return the size of the file it left behind
+     */
+    private long closeAndMeasure() throws Exception {
+        journal.close();
+        journal = null;
+        return Files.size(journalFile());
+    }
+
+    @Test
+    void cleanShutdownReplaysPutsAndRemoves() {
+        PedestalJournal first = open();
+        assertTrue(first.isEmptyOnDisk());
+        first.put(FIRST, new byte[]{1});
+        first.put(SECOND, new byte[]{2, 2});
+        first.put(FIRST, new byte[]{3, 3, 3});
+        first.remove(SECOND);
+
+        PedestalJournal reopened = open();
+        assertEquals(1, reopened.size());
+        assertArrayEquals(new byte[]{3, 3, 3}, reopened.get(FIRST));
+        assertNull(reopened.get(SECOND));
+    }
+
+    @Test
+    void tornTailIsDroppedAndTruncated() throws Exception {
+        open().put(FIRST, new byte[]{1, 2, 3});
+        journal.put(SECOND, new byte[]{4});
+        long validLength = closeAndMeasure();
+
+        // A crash in the middle of an append leaves a partial record behind
+        byte[] partial = ByteBuffer.allocate(6).putInt(40).putShort((short) 0x1234).array();
+        Files.write(journalFile(), partial, StandardOpenOption.APPEND);
+
+        PedestalJournal reopened = open();
+        assertEquals(2, reopened.size());
+        assertArrayEquals(new byte[]{1, 2, 3}, reopened.get(FIRST));
+        assertArrayEquals(new byte[]{4}, reopened.get(SECOND));
+        assertEquals(validLength, Files.size(journalFile()));
+
+        // New appends continue after the valid prefix and replay cleanly
+        reopened.put(THIRD, new byte[]{5});
+        PedestalJournal again = open();
+        assertEquals(3, again.size());
+        assertArrayEquals(new byte[]{5}, again.get(THIRD));
+    }
+
+    @Test
+    void truncatedPayloadIsDropped() throws Exception {
+        open().put(FIRST, new byte[]{1});
+        long firstLength = closeAndMeasure();
+        open().put(SECOND, new byte[]{2, 2, 2, 2, 2, 2, 2, 2});
+        long fullLength = closeAndMeasure();
+
+        try (RandomAccessFile file = new RandomAccessFile(journalFile().toFile(), "rw")) {
+            file.setLength(fullLength - 3);
+        }
+
+        PedestalJournal reopened = open();
+        assertEquals(1, reopened.size());
+        assertArrayEquals(new byte[]{1}, reopened.get(FIRST));
+        assertEquals(firstLength, Files.size(journalFile()));
+    }
+
+    @Test
+    void checksumMismatchStopsReplayAtTheBadRecord() throws Exception {
+        open().put(FIRST, new byte[]{1});
+        long firstLength = closeAndMeasure();
+        open().put(SECOND, new byte[]{2, 2});
+        journal.put(THIRD, new byte[]{3});
+        closeAndMeasure();
+
+        // Flip one bit in the payload of the second record (after its length and CRC)
+        try (RandomAccessFile file = new RandomAccessFile(journalFile().toFile(), "rw")) {
+            long offset = firstLength + 8 + 1;
+            file.seek(offset);
+            int value = file.read();
+            file.seek(offset);
+            file.write(value ^ 0x01);
+        }
+
+        // Records after a damaged one cannot be trusted to follow it, so replay stops there
+        PedestalJournal reopened = open();
+        assertEquals(1, reopened.size());
+        assertArrayEquals(new byte[]{1}, reopened.get(FIRST));
+        assertNull(reopened.get(SECOND));
+        assertNull(reopened.get(THIRD));
+        assertEquals(firstLength, Files.size(journalFile()));
+    }
+
+    @Test
+    void impossibleRecordLengthIsTreatedAsTornTail() throws Exception {
+        open().put(FIRST, new byte[]{1});
+        long validLength = closeAndMeasure();
+
+        byte[] garbage = ByteBuffer.allocate(12).putInt(-1).putInt(0).putInt(0).array();
+        Files.write(journalFile(), garbage, StandardOpenOption.APPEND);
+
+        PedestalJournal reopened = open();
+        assertEquals(1, reopened.size());
+        assertEquals(validLength, Files.size(journalFile()));
+    }
+
+    @Test
+    void compactedSnapshotPlusJournalReplays() throws Exception {
+        PedestalJournal first = open(64);
+        for (int i = 0; i < 20; i++) {
+            first.put(new PedestalKey("world", i, 64, 0), new byte[]{(byte) i});
+        }
+        first.remove(new PedestalKey("world", 3, 64, 0));
+        first.put(FIRST, new byte[]{9});
+        closeAndMeasure();
+        assertTrue(Files.exists(dataFolder.resolve("pedestals.snapshot")));
+
+        PedestalJournal reopened = open(NO_COMPACTION);
+        assertEquals(20, reopened.size());
+        assertNull(reopened.get(new PedestalKey("world", 3, 64, 0)));
+        assertArrayEquals(new byte[]{19}, reopened.get(new PedestalKey("world", 19, 64, 0)));
+        assertArrayEquals(new byte[]{9}, reopened.get(FIRST));
+    }
+}
@@ -0,0 +1,180 @@
+package hs.elementSmpUtility.testutil;
+
+import org.bukkit.Chunk;
+import org.bukkit.NamespacedKey;
+import org.bukkit.World;
+import org.bukkit.block.Block;
+import org.bukkit.entity.Entity;
+import org.bukkit.persistence.PersistentDataContainer;
+import org.bukkit.persistence.PersistentDataType;
+import org.bukkit.plugin.Plugin;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.logging.Logger;
+
+/**
+ * Minimal Bukkit stand-ins built from dynamic proxies, enough for storage code that only
+ * touches block and chunk coordinates, world identity, entity UUIDs, the chunk PDC and the plugin logger.
+ * Any other method throws UnsupportedOperationException.
+ */
+public final class Fakes {
+
+    private Fakes() {
+    }
+
+    public static Plugin plugin(String name) {
+        Logger logger = Logger.getLogger(name);
+        return proxy(Plugin.class, name, (method, args) -> switch (method.getName()) {
+            case "getName" -> name;
+            case "getLogger" -> logger;
+            case "isEnabled" -> true;
+            default -> unsupported(method);
+        });
+    }
+
+    public static World world(String name) {
+        UUID uid = UUID.nameUUIDFromBytes(name.getBytes(StandardCharsets.UTF_8));
+        return proxy(World.class, "World " + name, (method, args) -> switch (method.getName()) {
+            case "getName" -> name;
+            case "getUID" -> uid;
+            default -> unsupported(method);
+        });
+    }
+
+    public static Chunk chunk(World world, int x, int z) {
+        PersistentDataContainer pdc = container();
+        ChunkState state = new ChunkState();
+        return proxy(Chunk.class, new ChunkDescription(state, world.getName() + " " + x + "," + z),
+                (method, args) -> switch (method.getName()) {
+                    case "getX" -> x;
+                    case "getZ" -> z;
+                    case "getWorld" -> world;
+                    case "getPersistentDataContainer" -> pdc;
+                    case "isLoaded" -> state.loaded;
+                    default -> unsupported(method);
+                });
+    }
+
+    public static Block block(Chunk chunk, int x, int y, int z) {
+        return proxy(Block.class, "Block " + x + "," + y + "," + z, (method, args) -> switch (method.getName()) {
+            case "getX" -> x;
+            case "getY" -> y;
+            case "getZ" -> z;
+            case "getChunk" -> chunk;
+            case "getWorld" -> chunk.getWorld();
+            default -> unsupported(method);
+        });
+    }
+
+    /**
+     * A live entity that only knows its UUID
+     */
+    public static Entity entity(UUID uid) {
+        return proxy(Entity.class, "Entity " + uid, (method, args) -> switch (method.getName()) {
+            case "getUniqueId" -> uid;
+            case "isValid" -> true;
+            default -> unsupported(method);
+        });
+    }
+
+    /**
+     * Mark a fake chunk as loaded or unloaded
+     */
+    public static void setLoaded(Chunk chunk, boolean loaded) {
+        Handler handler = (Handler) Proxy.getInvocationHandler(chunk);
+        ((ChunkDescription) handler.description).state.loaded = loaded;
+    }
+
+    /**
+     * A container that keeps primitives in a map, like the server's NBT-backed one
+     */
+    public static PersistentDataContainer container() {
+        Map<NamespacedKey, Object> values = new HashMap<>();
+        return proxy(PersistentDataContainer.class, "PersistentDataContainer", (method, args) -> {
+            switch (method.getName()) {
+                case "has" -> {
+                    Object value = values.get((NamespacedKey) args[0]);
+                    return value != null && (args.length == 1
+                            || ((PersistentDataType<?, ?>) args[1]).getPrimitiveType().isInstance(value));
+                }
+                case "get" -> {
+                    Object value = values.get((NamespacedKey) args[0]);
+                    return value != null ? fromPrimitive((PersistentDataType<?, ?>) args[1], value) : null;
+                }
+                case "set" -> {
+                    values.put((NamespacedKey) args[0], toPrimitive((PersistentDataType<?, ?>) args[1], args[2]));
+                    return null;
+                }
+                case "remove" -> {
+                    values.remove((NamespacedKey) args[0]);
+                    return null;
+                }
+                case "getKeys" -> {
+                    return Map.copyOf(values).keySet();
+                }
+                case "isEmpty" -> {
+                    return values.isEmpty();
+                }
+                case "getAdapterContext" -> {
+                    return null;
+                }
+                default -> {
+                    return unsupported(method);
+                }
+            }
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <P, C> Object toPrimitive(PersistentDataType<P, C> type, Object complex) {
+        return type.toPrimitive((C) complex, null);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <P, C> Object fromPrimitive(PersistentDataType<P, C> type, Object primitive) {
+        return type.fromPrimitive((P) primitive, null);
+    }
+
+    private static Object unsupported(Method method) {
+        throw new UnsupportedOperationException(method.getDeclaringClass().getSimpleName() + "." + method.getName());
+    }
+
+    private static <T> T proxy(Class<T> type, Object description, Answer answer) {
+        return type.cast(Proxy.newProxyInstance(Fakes.class.getClassLoader(), new Class<?>[]{type},
+                new Handler(description, answer)));
+    }
+
+    @FunctionalInterface
+    private interface Answer {
+        Object answer(Method method, Object[] args);
+    }
+
+    private static final class ChunkState {
+        private volatile boolean loaded = true;
+    }
+
+    private record ChunkDescription(ChunkState state, String name) {
+        @Override
+        public String toString() {
+            return "Chunk " + name;
+        }
+    }
+
+    private record Handler(Object description, Answer answer) implements InvocationHandler {
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) {
+            return switch (method.getName()) {
+                case "equals" -> args.length == 1 && proxy == args[0];
+                case "hashCode" -> System.identityHashCode(proxy);
+                case "toString" -> description.toString();
+                default -> answer.answer(method, args != null ? args : new Object[0]);
+            };
+        }
+    }
+}